@@ -0,0 +1,80 @@
+package com.thalesians.nanotemporals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the contention on a {@link HybridLogicalClock} shared by 1 to 8 threads, following the system clock or a
+ * stalled clock, on which every timestamp takes the logical path, against reading the {@link SystemNanoClock} it
+ * follows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClockBenchmark {
+
+	@Param({"SYSTEM", "STALLED"})
+	public String physicalClock;
+
+	private HybridLogicalClock clock;
+
+	@Setup
+	public void setUp() {
+		clock = new HybridLogicalClock("SYSTEM".equals(physicalClock) ? NanoClock.system() : new NanoClock() {
+			@Override public long nowNanos() {
+				return 1558464307000000000L;
+			}
+		});
+	}
+
+	@Benchmark
+	@Threads(1)
+	public long hybridLogical1() {
+		return clock.nowNanos();
+	}
+
+	@Benchmark
+	@Threads(2)
+	public long hybridLogical2() {
+		return clock.nowNanos();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public long hybridLogical4() {
+		return clock.nowNanos();
+	}
+
+	@Benchmark
+	@Threads(8)
+	public long hybridLogical8() {
+		return clock.nowNanos();
+	}
+
+	@Benchmark
+	@Threads(1)
+	public long system1() {
+		return NanoClock.system().nowNanos();
+	}
+
+	@Benchmark
+	@Threads(8)
+	public long system8() {
+		return NanoClock.system().nowNanos();
+	}
+}
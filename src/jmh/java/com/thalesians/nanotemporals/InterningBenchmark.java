@@ -0,0 +1,70 @@
+package com.thalesians.nanotemporals;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the throughput and, through the {@code gc} profiler configured in build.gradle, the allocation rate of the
+ * {@link InterningStrategy}s under multi-threaded load.
+ * <p/>
+ * {@code sequential} creates a fresh timestamp on every call, as a tick stream does; {@code repeating} draws from a
+ * small working set, the case in which interning can pay for itself.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class InterningBenchmark {
+	
+	private static final long START = 1517417643357000000L;
+	private static final int WORKING_SET = 1024;
+	
+	@Param({"NONE", "DIRECT_MAPPED", "BOUNDED_CACHE"})
+	public InterningStrategy strategy;
+	
+	@Setup
+	public void setUp() {
+		NanoDateTime.setInterningStrategy(strategy);
+		NanoDate.setInterningStrategy(strategy);
+	}
+	
+	@State(Scope.Thread)
+	public static class ThreadState {
+		long nanos = START + ThreadLocalRandom.current().nextLong(TemporalUnit.DAY.getWholeNanoseconds());
+		int index;
+	}
+	
+	@Benchmark
+	public NanoDateTime sequential(ThreadState state) {
+		state.nanos += 1000L;
+		return NanoDateTime.fromNanosecondsSinceEpoch(state.nanos);
+	}
+	
+	@Benchmark
+	public NanoDateTime repeating(ThreadState state) {
+		state.index = (state.index + 1) & (WORKING_SET - 1);
+		return NanoDateTime.fromNanosecondsSinceEpoch(START + state.index);
+	}
+	
+	@Benchmark
+	public NanoDate dates(ThreadState state) {
+		state.nanos += TemporalUnit.MINUTE.getWholeNanoseconds();
+		return NanoDate.fromNanosecondsSinceEpoch(state.nanos);
+	}
+}
@@ -0,0 +1,94 @@
+package com.thalesians.nanotemporals;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares parsing {@link NanoDateTimeFormat#DEFAULT_DATETIME_PATTERN} timestamps through the fixed-width parser
+ * (from {@code String}s and from bytes), through the general compiled parser, to which the fixed-width parser falls
+ * back on timestamps that do not match exactly (here, with a space before the year), and through
+ * {@link NanoDateTimeFormat#parseObject(String)}, against parsing their millisecond counterparts with a
+ * {@link SimpleDateFormat}, as {@link NanoDateTimeFormat} used to.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParseBenchmark {
+
+	private static final int TIMESTAMPS = 1024;
+
+	private final NanoDateTimeFormat format =
+			NanoDateTimeFormat.of(TemporalArithmetics.UTC, NanoDateTimeFormat.DEFAULT_DATETIME_PATTERN, false);
+	private final SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy.MM.dd'T'HH:mm:ss.SSS", Locale.US);
+	private final ParseCursor cursor = new ParseCursor();
+
+	private final String[] texts = new String[TIMESTAMPS];
+	private final String[] spacedTexts = new String[TIMESTAMPS];
+	private final byte[][] bytes = new byte[TIMESTAMPS][];
+	private final String[] millisecondTexts = new String[TIMESTAMPS];
+	private int index;
+
+	@Setup
+	public void setUp() {
+		simpleDateFormat.setTimeZone(TimeZone.getTimeZone(TemporalArithmetics.UTC));
+		Random random = new Random(17L);
+		for (int i = 0; i < TIMESTAMPS; ++i) {
+			NanoDateTime dateTime = NanoDateTime.fromNanosecondsSinceEpoch(
+					1500000000000000000L + (long) (random.nextDouble() * 100000000000000000L));
+			texts[i] = format.format(dateTime);
+			spacedTexts[i] = " " + texts[i];
+			bytes[i] = texts[i].getBytes(StandardCharsets.US_ASCII);
+			millisecondTexts[i] = simpleDateFormat.format(new java.util.Date(dateTime.getMillisecondsSinceEpoch()));
+		}
+	}
+
+	private int next() {
+		index = (index + 1) & (TIMESTAMPS - 1);
+		return index;
+	}
+
+	@Benchmark
+	public long fixedWidthFromString() {
+		return format.parseNanosecondsSinceEpoch(texts[next()], cursor.reset(0));
+	}
+
+	@Benchmark
+	public long fixedWidthFromBytes() {
+		byte[] text = bytes[next()];
+		return format.parseNanosecondsSinceEpoch(text, 0, text.length, cursor);
+	}
+
+	@Benchmark
+	public long general() {
+		return format.parseNanosecondsSinceEpoch(spacedTexts[next()], cursor.reset(0));
+	}
+
+	@Benchmark
+	public Object parseObject() throws ParseException {
+		return format.parseObject(texts[next()]);
+	}
+
+	@Benchmark
+	public java.util.Date simpleDateFormat() throws ParseException {
+		return simpleDateFormat.parse(millisecondTexts[next()]);
+	}
+}
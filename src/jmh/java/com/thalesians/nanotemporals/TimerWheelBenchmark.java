@@ -0,0 +1,79 @@
+package com.thalesians.nanotemporals;
+
+import java.util.Random;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures scheduling and cancelling a timer, among 100,000 others pending over a day, on a {@link TimerWheel} with a
+ * tick of a microsecond, against a {@link ScheduledThreadPoolExecutor} that removes cancelled tasks from its heap.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TimerWheelBenchmark {
+
+	private static final int PENDING = 100000;
+	private static final long DAY = TemporalUnit.DAY.getWholeNanoseconds();
+	private static final Runnable CALLBACK = new Runnable() {
+		@Override public void run() {
+		}
+	};
+
+	private final long[] delays = new long[1 << 12];
+	private int index;
+
+	private TimerWheel wheel;
+	private ScheduledThreadPoolExecutor executor;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(1L);
+		for (int i = 0; i < delays.length; ++i) {
+			delays[i] = 1L + (long) (random.nextDouble() * DAY);
+		}
+		wheel = TimerWheel.builder().clock(new SimulatedNanoClock(1558464307000000000L))
+				.tickDuration(NanoTimeDelta.fromMicroseconds(1L)).build();
+		executor = new ScheduledThreadPoolExecutor(1);
+		executor.setRemoveOnCancelPolicy(true);
+		for (int i = 0; i < PENDING; ++i) {
+			long delay = delays[i & (delays.length - 1)];
+			wheel.schedule(NanoTimeDelta.fromNanoseconds(delay), CALLBACK);
+			executor.schedule(CALLBACK, delay, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Benchmark
+	public boolean timerWheel() {
+		long delay = delays[index++ & (delays.length - 1)];
+		return wheel.schedule(NanoTimeDelta.fromNanoseconds(delay), CALLBACK).cancel();
+	}
+
+	@Benchmark
+	public boolean scheduledExecutor() {
+		long delay = delays[index++ & (delays.length - 1)];
+		ScheduledFuture<?> future = executor.schedule(CALLBACK, delay, TimeUnit.NANOSECONDS);
+		return future.cancel(false);
+	}
+}
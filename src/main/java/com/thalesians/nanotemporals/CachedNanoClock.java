@@ -0,0 +1,191 @@
+package com.thalesians.nanotemporals;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.Closeable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * A clock that reads another clock (the {@link NanoClock#system() system clock} by default) on a background thread
+ * once a tick, a millisecond by default, and publishes what it read along with the date and its string form, so that
+ * reading the time, {@link #today()} or {@link #getDatePrefix()} costs a single volatile read.
+ * <p/>
+ * The time read lags the source clock by up to a tick (or more, if the ticker thread is not scheduled in time), so
+ * suits stamps that need a coarse resolution at a high volume. The date and its string are only computed when the day
+ * changes.
+ * <p/>
+ * The ticker thread starts when the clock is built, and stops when it is closed, from which point the clock reads the
+ * source clock directly. A tick on which the source clock fails is skipped, and counted by
+ * {@link #getFailedTickCount()}.
+ */
+public final class CachedNanoClock extends NanoClock implements Closeable {
+
+	private static final long NANOS_PER_DAY = TemporalUnit.DAY.getWholeNanoseconds();
+
+	private static final AtomicReferenceFieldUpdater<CachedNanoClock, Tick> TICK =
+			AtomicReferenceFieldUpdater.newUpdater(CachedNanoClock.class, Tick.class, "tick");
+
+	private final NanoClock source;
+	private final long tickInterval;
+	private final ScheduledExecutorService ticker;
+	private volatile Tick tick;
+	// Only written by the ticker thread
+	private volatile long failedTicks;
+
+	// What the ticker read, published as a whole
+	private static final class Tick {
+		final long nanos;
+		final NanoDate date;
+		final String datePrefix;
+		final long dayEnd;
+
+		Tick(long nanos, NanoDate date, String datePrefix, long dayEnd) {
+			this.nanos = nanos;
+			this.date = date;
+			this.datePrefix = datePrefix;
+			this.dayEnd = dayEnd;
+		}
+	}
+
+	private CachedNanoClock(Builder builder) {
+		this.source = builder.source;
+		this.tickInterval = builder.tickInterval;
+		this.tick = newTick(source.nowNanos(), null);
+		this.ticker = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+				.setNameFormat("CachedNanoClock-%d").setDaemon(builder.daemon).build());
+		ticker.scheduleAtFixedRate(new Runnable() {
+			@Override public void run() {
+				// Unless closed meanwhile
+				Tick previous = tick;
+				if (previous == null) {
+					return;
+				}
+				Tick next;
+				try {
+					next = newTick(source.nowNanos(), previous);
+				} catch (RuntimeException e) {
+					// Skipping the tick, since a task that throws is not run again
+					++failedTicks;
+					return;
+				}
+				TICK.compareAndSet(CachedNanoClock.this, previous, next);
+			}
+		}, tickInterval, tickInterval, TimeUnit.NANOSECONDS);
+	}
+
+	public static final class Builder {
+
+		private NanoClock source = NanoClock.system();
+		private long tickInterval = TemporalUnit.MILLISECOND.getWholeNanoseconds();
+		private boolean daemon = true;
+
+		private Builder() {
+		}
+
+		/**
+		 * @param  source  the clock read by the ticker; the system clock by default.
+		 */
+		public Builder source(NanoClock source) {
+			this.source = checkNotNull(source);
+			return this;
+		}
+
+		/**
+		 * @param  tickInterval  the interval at which the source clock is read; a millisecond by default.
+		 */
+		public Builder tickInterval(NanoTimeDelta tickInterval) {
+			checkArgument(tickInterval.isPositive(), "tickInterval = %s", tickInterval);
+			this.tickInterval = tickInterval.toWholeNanoseconds();
+			return this;
+		}
+
+		/**
+		 * @param  daemon  whether the ticker thread is a daemon thread, which does not keep the JVM running; true by
+		 * default.
+		 */
+		public Builder daemon(boolean daemon) {
+			this.daemon = daemon;
+			return this;
+		}
+
+		/**
+		 * Builds the clock, starting its ticker thread.
+		 */
+		public CachedNanoClock build() {
+			return new CachedNanoClock(this);
+		}
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	private static Tick newTick(long nanos, Tick previous) {
+		if (previous != null && nanos < previous.dayEnd && nanos >= previous.date.getNanosecondsSinceEpoch()) {
+			return new Tick(nanos, previous.date, previous.datePrefix, previous.dayEnd);
+		}
+		long epochDay = Math.floorDiv(nanos, NANOS_PER_DAY);
+		return new Tick(nanos, NanoDate.fromNanosecondsSinceEpoch(nanos),
+				TemporalStrings.date(TemporalArithmetics.UTC, epochDay), (epochDay + 1) * NANOS_PER_DAY);
+	}
+
+	// The latest tick, or a new one from the source once closed
+	private Tick currentTick() {
+		Tick tick = this.tick;
+		return tick != null ? tick : newTick(source.nowNanos(), null);
+	}
+
+	/**
+	 * @return  the nanoseconds since epoch read at the latest tick.
+	 */
+	@Override public long nowNanos() {
+		Tick tick = this.tick;
+		return tick != null ? tick.nanos : source.nowNanos();
+	}
+
+	@Override public NanoDate today() {
+		return currentTick().date;
+	}
+
+	/**
+	 * @return  today's date as <tt>yyyy.MM.dd</tt>, as per {@link NanoDate#toString()}, the prefix of
+	 * {@link NanoDateTime#toString()}.
+	 */
+	public String getDatePrefix() {
+		return currentTick().datePrefix;
+	}
+
+	public NanoTimeDelta getTickInterval() {
+		return NanoTimeDelta.fromNanoseconds(tickInterval);
+	}
+
+	/**
+	 * @return  the number of ticks skipped, the time kept being that of the previous tick, because the source clock
+	 * threw an exception, or read a time outside the range of {@link NanoDate}.
+	 */
+	public long getFailedTickCount() {
+		return failedTicks;
+	}
+
+	public boolean isClosed() {
+		return tick == null;
+	}
+
+	/**
+	 * Stops the ticker thread, without waiting for it to finish a tick under way.
+	 */
+	@Override public void close() {
+		tick = null;
+		ticker.shutdownNow();
+	}
+
+	@Override public String toString() {
+		return "CachedNanoClock [source=" + source + ", tickInterval=" + tickInterval + "ns]";
+	}
+}
@@ -0,0 +1,115 @@
+package com.thalesians.nanotemporals;
+
+import java.util.Calendar;
+
+/**
+ * Conversions between days since epoch and proleptic Gregorian year, month and day, using integer arithmetic only.
+ * <p/>
+ * The algorithms are those of Howard Hinnant's "chrono-Compatible Low-Level Date Algorithms": the year is shifted to
+ * start in March, so that the leap day is the last day of the year, and split into 400-year eras of 146097 days. Over
+ * the range of {@link NanoDateTime} they agree with {@link java.util.GregorianCalendar}, whose Julian calendar cutover
+ * in 1582 lies outside the range of epoch nanoseconds.
+ * <p/>
+ * A date is decomposed into a single packed {@code int}, from which the fields are extracted with
+ * {@link #year(int)}, {@link #month(int)} and {@link #dayOfMonth(int)}, so that callers needing several fields do
+ * the division work only once.
+ */
+final class CivilCalendar {
+
+	private static final int DAYS_PER_ERA = 146097;
+	private static final int DAYS_FROM_ERA_START_TO_EPOCH = 719468;    // 0000.03.01 to 1970.01.01
+
+	private static final int DAY_BITS = 5;
+	private static final int MONTH_BITS = 4;
+
+	private CivilCalendar() {
+		throw new IllegalStateException("This class may not be instantiated");
+	}
+
+	static boolean isLeapYear(int year) {
+		return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+	}
+
+	static int lengthOfMonth(int year, int month) {
+		switch (month) {
+		case 2:
+			return isLeapYear(year) ? 29 : 28;
+		case 4:
+		case 6:
+		case 9:
+		case 11:
+			return 30;
+		default:
+			return 31;
+		}
+	}
+
+	/**
+	 * @return  whether the given fields denote a valid date, as a non-lenient {@link Calendar} would accept it.
+	 */
+	static boolean isValid(int year, int month, int day) {
+		return year >= 1 && month >= 1 && month <= 12 && day >= 1 && day <= lengthOfMonth(year, month);
+	}
+
+	/**
+	 * @return  the number of days from 1970.01.01 to the given date, which is assumed to be valid.
+	 */
+	static long toEpochDay(int year, int month, int day) {
+		long y = month <= 2 ? year - 1 : year;
+		long era = (y >= 0 ? y : y - 399) / 400;
+		long yearOfEra = y - era * 400;
+		long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+		long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+		return era * DAYS_PER_ERA + dayOfEra - DAYS_FROM_ERA_START_TO_EPOCH;
+	}
+
+	/**
+	 * @return  the date falling the given number of days after 1970.01.01, packed into an {@code int}.
+	 */
+	static int fromEpochDay(long epochDay) {
+		long z = epochDay + DAYS_FROM_ERA_START_TO_EPOCH;
+		long era = (z >= 0 ? z : z - (DAYS_PER_ERA - 1)) / DAYS_PER_ERA;
+		int dayOfEra = (int) (z - era * DAYS_PER_ERA);
+		int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / (DAYS_PER_ERA - 1)) / 365;
+		int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+		int shiftedMonth = (5 * dayOfYear + 2) / 153;
+		int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+		int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+		int year = (int) (yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+		return pack(year, month, day);
+	}
+
+	static int pack(int year, int month, int day) {
+		return (((year << MONTH_BITS) | month) << DAY_BITS) | day;
+	}
+
+	static int year(int packedDate) {
+		return packedDate >> (MONTH_BITS + DAY_BITS);
+	}
+
+	/**
+	 * @return  the month: 1 indicates January, 2 February, etc.
+	 */
+	static int month(int packedDate) {
+		return (packedDate >> DAY_BITS) & ((1 << MONTH_BITS) - 1);
+	}
+
+	static int dayOfMonth(int packedDate) {
+		return packedDate & ((1 << DAY_BITS) - 1);
+	}
+
+	/**
+	 * @return  the day of the week, as per {@link Calendar#DAY_OF_WEEK}: 1 indicates Sunday, 2 Monday, etc.
+	 */
+	static int dayOfWeek(long epochDay) {
+		// 1970.01.01 was a Thursday
+		return (int) Math.floorMod(epochDay + Calendar.THURSDAY - 1, 7L) + 1;
+	}
+
+	/**
+	 * @return  the day of the year: 1 indicates the first of January.
+	 */
+	static int dayOfYear(long epochDay, int year) {
+		return (int) (epochDay - toEpochDay(year, 1, 1)) + 1;
+	}
+}
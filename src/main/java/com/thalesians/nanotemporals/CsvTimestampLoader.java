@@ -0,0 +1,363 @@
+package com.thalesians.nanotemporals;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.google.common.primitives.ImmutableIntArray;
+
+/**
+ * Loads a column of timestamps from a CSV file into a {@code long[]} of nanoseconds since epoch, parsing each with a
+ * {@link NanoDateTimeFormat} straight from the bytes of the file, which is memory-mapped.
+ * <p/>
+ * The file is split into chunks of whole lines, which are loaded in the common {@link ForkJoinPool}: each chunk is
+ * first scanned for its number of lines, so that every chunk then writes its timestamps straight into its own range of
+ * the column. A row whose field is missing or does not match the format, in its entirety, does not stop the load: its
+ * element of the column is left as {@link Long#MIN_VALUE}, and its index is reported by
+ * {@link TimestampColumn#getFailedRows()}.
+ * <p/>
+ * Lines end with <tt>\n</tt> or <tt>\r\n</tt>. Fields are separated by a single-byte delimiter, and may be enclosed in
+ * double quotes, which are stripped, but may not contain the delimiter. The bytes of a field are read as ISO-8859-1
+ * characters.
+ * <p/>
+ * Loaders are immutable and may be shared by any number of threads.
+ */
+public final class CsvTimestampLoader {
+
+	private static final int DEFAULT_CHUNK_SIZE = 1 << 26;
+	// Each chunk is mapped on its own, and a mapping is only released when its buffer is collected
+	private static final int MIN_CHUNK_SIZE = 1 << 12;
+	private static final int BOUNDARY_SCAN_SIZE = 1 << 13;
+
+	private final NanoDateTimeFormat format;
+	private final int column;
+	private final byte delimiter;
+	private final int headerLines;
+	private final int chunkSize;
+	private final boolean parallel;
+
+	private CsvTimestampLoader(Builder builder) {
+		this.format = builder.format;
+		this.column = builder.column;
+		this.delimiter = builder.delimiter;
+		this.headerLines = builder.headerLines;
+		this.chunkSize = builder.chunkSize;
+		this.parallel = builder.parallel;
+	}
+
+	public static final class Builder {
+
+		private NanoDateTimeFormat format;
+		private int column;
+		private byte delimiter = ',';
+		private int headerLines;
+		private int chunkSize = DEFAULT_CHUNK_SIZE;
+		private boolean parallel = true;
+
+		private Builder() {
+		}
+
+		public Builder format(NanoDateTimeFormat format) {
+			this.format = checkNotNull(format);
+			return this;
+		}
+
+		/**
+		 * @param  column  the index of the column of timestamps, from 0.
+		 */
+		public Builder column(int column) {
+			checkArgument(column >= 0, "column = %s", column);
+			this.column = column;
+			return this;
+		}
+
+		/**
+		 * @param  delimiter  an ASCII character other than a line break or a double quote; ',' by default.
+		 */
+		public Builder delimiter(char delimiter) {
+			checkArgument(delimiter < 0x80 && delimiter != '\n' && delimiter != '\r' && delimiter != '"',
+					"delimiter = %s", delimiter);
+			this.delimiter = (byte) delimiter;
+			return this;
+		}
+
+		/**
+		 * @param  headerLines  the number of lines skipped at the start of the file; none by default.
+		 */
+		public Builder headerLines(int headerLines) {
+			checkArgument(headerLines >= 0, "headerLines = %s", headerLines);
+			this.headerLines = headerLines;
+			return this;
+		}
+
+		/**
+		 * @param  chunkSize  the number of bytes from which a chunk is extended to the end of its last line, at least
+		 * 4 KiB; 64 MiB by default.
+		 */
+		public Builder chunkSize(int chunkSize) {
+			checkArgument(chunkSize >= MIN_CHUNK_SIZE, "chunkSize = %s", chunkSize);
+			this.chunkSize = chunkSize;
+			return this;
+		}
+
+		/**
+		 * @param  parallel  whether the chunks are loaded in the common {@link ForkJoinPool}, or one after the other in
+		 * the calling thread; in parallel by default.
+		 */
+		public Builder parallel(boolean parallel) {
+			this.parallel = parallel;
+			return this;
+		}
+
+		public CsvTimestampLoader build() {
+			checkArgument(format != null, "No format");
+			return new CsvTimestampLoader(this);
+		}
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * The timestamps loaded from a file, one per row (line after the header lines).
+	 */
+	public static final class TimestampColumn {
+
+		private final long[] nanosecondsSinceEpoch;
+		private final ImmutableIntArray failedRows;
+
+		private TimestampColumn(long[] nanosecondsSinceEpoch, ImmutableIntArray failedRows) {
+			this.nanosecondsSinceEpoch = nanosecondsSinceEpoch;
+			this.failedRows = failedRows;
+		}
+
+		public int getRowCount() {
+			return nanosecondsSinceEpoch.length;
+		}
+
+		/**
+		 * @return  the column itself, not a copy, in which the failed rows hold {@link Long#MIN_VALUE}.
+		 */
+		public long[] getNanosecondsSinceEpoch() {
+			return nanosecondsSinceEpoch;
+		}
+
+		/**
+		 * @return  the indexes, in ascending order, of the rows whose timestamp could not be parsed.
+		 */
+		public ImmutableIntArray getFailedRows() {
+			return failedRows;
+		}
+
+		@Override public String toString() {
+			return "TimestampColumn [rowCount=" + getRowCount() + ", failedRows=" + failedRows.length() + "]";
+		}
+	}
+
+	// A range of whole lines of the file, and the index of its first line in the file
+	private static final class Chunk {
+		final long start;
+		final long end;
+		int lines;
+		long firstLine;
+		ImmutableIntArray failedRows;
+
+		Chunk(long start, long end) {
+			this.start = start;
+			this.end = end;
+		}
+	}
+
+	private abstract static class Operation {
+		abstract void apply(Chunk chunk) throws IOException;
+	}
+
+	private static final class Task extends RecursiveAction {
+		private static final long serialVersionUID = -2207915325817564187L;
+
+		private final Operation operation;
+		private final List<Chunk> chunks;
+
+		Task(Operation operation, List<Chunk> chunks) {
+			this.operation = operation;
+			this.chunks = chunks;
+		}
+
+		@Override protected void compute() {
+			if (chunks.size() == 1) {
+				try {
+					operation.apply(chunks.get(0));
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			} else {
+				int half = chunks.size() >>> 1;
+				invokeAll(new Task(operation, chunks.subList(0, half)),
+						new Task(operation, chunks.subList(half, chunks.size())));
+			}
+		}
+	}
+
+	private void run(Operation operation, List<Chunk> chunks) throws IOException {
+		if (chunks.isEmpty()) {
+			return;
+		}
+		if (!parallel || chunks.size() == 1) {
+			for (Chunk chunk : chunks) {
+				operation.apply(chunk);
+			}
+			return;
+		}
+		try {
+			ForkJoinPool.commonPool().invoke(new Task(operation, chunks));
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	public TimestampColumn load(Path path) throws IOException {
+		try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			final List<Chunk> chunks = split(channel);
+
+			run(new Operation() {
+				@Override void apply(Chunk chunk) throws IOException {
+					chunk.lines = countLines(map(channel, chunk));
+				}
+			}, chunks);
+			long lines = 0;
+			for (Chunk chunk : chunks) {
+				chunk.firstLine = lines;
+				lines += chunk.lines;
+			}
+			long rows = Math.max(lines - headerLines, 0);
+			checkArgument(rows <= Integer.MAX_VALUE, "Too many rows: %s", rows);
+
+			final long[] nanosecondsSinceEpoch = new long[(int) rows];
+			run(new Operation() {
+				@Override void apply(Chunk chunk) throws IOException {
+					chunk.failedRows = parse(map(channel, chunk), chunk.firstLine, nanosecondsSinceEpoch);
+				}
+			}, chunks);
+			ImmutableIntArray.Builder failedRows = ImmutableIntArray.builder();
+			for (Chunk chunk : chunks) {
+				failedRows.addAll(chunk.failedRows);
+			}
+			return new TimestampColumn(nanosecondsSinceEpoch, failedRows.build());
+		}
+	}
+
+	private static MappedByteBuffer map(FileChannel channel, Chunk chunk) throws IOException {
+		return channel.map(FileChannel.MapMode.READ_ONLY, chunk.start, chunk.end - chunk.start);
+	}
+
+	// Splits the file after the first line break from each multiple of the chunk size
+	private List<Chunk> split(FileChannel channel) throws IOException {
+		List<Chunk> chunks = new ArrayList<>();
+		long size = channel.size();
+		ByteBuffer scan = ByteBuffer.allocate(BOUNDARY_SCAN_SIZE);
+		long start = 0;
+		while (start < size) {
+			long end = Math.min(start + chunkSize, size);
+			while (end < size) {
+				scan.clear();
+				if (channel.read(scan, end - 1) < 0) {
+					throw new EOFException();
+				}
+				int lineBreak = indexOf(scan, 0, scan.position(), (byte) '\n');
+				if (lineBreak >= 0) {
+					end += lineBreak;
+					break;
+				}
+				end += scan.position();
+			}
+			end = Math.min(end, size);
+			checkArgument(end - start <= Integer.MAX_VALUE, "Line too long at byte %s", start);
+			chunks.add(new Chunk(start, end));
+			start = end;
+		}
+		return chunks;
+	}
+
+	private static int indexOf(ByteBuffer buffer, int from, int to, byte b) {
+		for (int i = from; i < to; ++i) {
+			if (buffer.get(i) == b) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	// The lines of a chunk, of which only the last may not end with a line break
+	private static int countLines(ByteBuffer buffer) {
+		int lines = 0;
+		int limit = buffer.limit();
+		for (int i = 0; i < limit; ++i) {
+			if (buffer.get(i) == '\n') {
+				++lines;
+			}
+		}
+		return limit > 0 && buffer.get(limit - 1) != '\n' ? lines + 1 : lines;
+	}
+
+	private ImmutableIntArray parse(MappedByteBuffer buffer, long firstLine, long[] nanosecondsSinceEpoch) {
+		ImmutableIntArray.Builder failedRows = ImmutableIntArray.builder();
+		ParseCursor cursor = new ParseCursor();
+		int size = buffer.limit();
+		long line = firstLine;
+		for (int position = 0; position < size; ++line) {
+			int lineBreak = indexOf(buffer, position, size, (byte) '\n');
+			int end = lineBreak >= 0 ? lineBreak : size;
+			if (line >= headerLines) {
+				int lineEnd = end > position && buffer.get(end - 1) == '\r' ? end - 1 : end;
+				int row = (int) (line - headerLines);
+				nanosecondsSinceEpoch[row] = parseLine(buffer, position, lineEnd, cursor);
+				if (nanosecondsSinceEpoch[row] == Long.MIN_VALUE) {
+					failedRows.add(row);
+				}
+			}
+			position = end + 1;
+		}
+		return failedRows.build();
+	}
+
+	private long parseLine(MappedByteBuffer buffer, int lineStart, int lineEnd, ParseCursor cursor) {
+		int start = lineStart;
+		for (int i = 0; i < column; ++i) {
+			int next = indexOf(buffer, start, lineEnd, delimiter);
+			if (next < 0) {
+				return Long.MIN_VALUE;
+			}
+			start = next + 1;
+		}
+		int end = indexOf(buffer, start, lineEnd, delimiter);
+		if (end < 0) {
+			end = lineEnd;
+		}
+		if (end - start >= 2 && buffer.get(start) == '"' && buffer.get(end - 1) == '"') {
+			++start;
+			--end;
+		}
+		buffer.limit(end).position(start);
+		long nanos = format.parseNanosecondsSinceEpoch(buffer, cursor);
+		buffer.limit(buffer.capacity());
+		return cursor.isError() || cursor.getIndex() != end ? Long.MIN_VALUE : nanos;
+	}
+
+	@Override public String toString() {
+		return "CsvTimestampLoader [format=" + format + ", column=" + column + ", delimiter=" + (char) delimiter
+				+ ", headerLines=" + headerLines + ", chunkSize=" + chunkSize + ", parallel=" + parallel + "]";
+	}
+}
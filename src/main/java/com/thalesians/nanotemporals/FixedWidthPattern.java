@@ -0,0 +1,228 @@
+package com.thalesians.nanotemporals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.thalesians.nanotemporals.NanoDateTimePattern.NumericField;
+import com.thalesians.nanotemporals.NanoDateTimePattern.Parsed;
+
+/**
+ * A parser for the {@link NanoDateTimePattern}s made of ASCII literals and numbers of a fixed number of digits only,
+ * such as {@link NanoDateTimeFormat#DEFAULT_DATETIME_PATTERN}, reading the text 8 characters at a time.
+ * <p/>
+ * The characters are packed into a {@code long}, the first in the lowest byte, and all the literals and digits of the
+ * 8 are validated at once, after which each number is converted from its digits in a few multiplications: this is SWAR
+ * (SIMD within a register). The parser only reads texts that match the pattern exactly, with no spaces before the
+ * numbers, and for which the {@link NanoDateTimePattern} would read the same fields; it leaves any other text to the
+ * {@link NanoDateTimePattern}.
+ */
+final class FixedWidthPattern {
+
+	static final int MAX_DIGITS = Long.BYTES;
+
+	private static final int NANOSECOND_DIGITS = 9;
+
+	private static final long ZEROS = 0x3030303030303030L;
+	// Added to a digit, from '0' to '9', gives at most 0x7F
+	private static final long DIGIT_CEILINGS = 0x4646464646464646L;
+	private static final long HIGH_BITS = 0x8080808080808080L;
+
+	private final int width;
+
+	// By 8 characters: the literals expected, the masks of the literals, and the masks of the digits
+	private final long[] literals;
+	private final long[] literalMasks;
+	private final long[] digitMasks;
+
+	// By number: the position in the pattern, the number of digits, and the field, or null for a fraction
+	private final int[] positions;
+	private final int[] digits;
+	private final NumericField[] fields;
+
+	// Whether the pattern ends with a number, which the NanoDateTimePattern would read on while there are digits
+	private final boolean openEnded;
+
+	private FixedWidthPattern(Builder builder) {
+		this.width = builder.pattern.length();
+		int words = (width + MAX_DIGITS - 1) / MAX_DIGITS;
+		this.literals = new long[words];
+		this.literalMasks = new long[words];
+		this.digitMasks = new long[words];
+		for (int i = 0; i < width; ++i) {
+			int shift = i % MAX_DIGITS * 8;
+			char c = builder.pattern.charAt(i);
+			if (builder.isDigit.get(i)) {
+				digitMasks[i / MAX_DIGITS] |= 0xFFL << shift;
+			} else {
+				literals[i / MAX_DIGITS] |= (long) c << shift;
+				literalMasks[i / MAX_DIGITS] |= 0xFFL << shift;
+			}
+		}
+		int numbers = builder.fields.size();
+		this.positions = new int[numbers];
+		this.digits = new int[numbers];
+		this.fields = builder.fields.toArray(new NumericField[numbers]);
+		for (int i = 0; i < numbers; ++i) {
+			positions[i] = builder.positions.get(i);
+			digits[i] = builder.digits.get(i);
+		}
+		this.openEnded = builder.openEnded;
+	}
+
+	static final class Builder {
+		// The pattern, with '0' for the digits
+		private final StringBuilder pattern = new StringBuilder();
+		private final List<Boolean> isDigit = new ArrayList<>();
+		private final List<Integer> positions = new ArrayList<>();
+		private final List<Integer> digits = new ArrayList<>();
+		private final List<NumericField> fields = new ArrayList<>();
+		private boolean openEnded;
+
+		private Builder() {
+		}
+
+		/**
+		 * @param  text  ASCII characters.
+		 */
+		Builder literal(String text) {
+			for (int i = 0; i < text.length(); ++i) {
+				pattern.append(text.charAt(i));
+				isDigit.add(false);
+			}
+			openEnded = false;
+			return this;
+		}
+
+		private Builder digits(int count, NumericField field) {
+			positions.add(pattern.length());
+			digits.add(count);
+			fields.add(field);
+			for (int i = 0; i < count; ++i) {
+				pattern.append('0');
+				isDigit.add(true);
+			}
+			return this;
+		}
+
+		/**
+		 * @param  count  the number of digits, at most {@link FixedWidthPattern#MAX_DIGITS}.
+		 */
+		Builder number(NumericField field, int count) {
+			digits(count, field);
+			openEnded = true;
+			return this;
+		}
+
+		/**
+		 * @param  count  the number of digits, 6 or 9.
+		 */
+		Builder fraction(int count) {
+			digits(count, null);
+			openEnded = false;
+			return this;
+		}
+
+		FixedWidthPattern build() {
+			return new FixedWidthPattern(this);
+		}
+	}
+
+	static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Reads the characters of the given text from the given position into the given words, 8 by word, the first in the
+	 * lowest byte; a character beyond ISO-8859-1 is read as 0xFF, which matches neither a literal nor a digit. The
+	 * bytes beyond the width of the pattern are left undefined.
+	 */
+	private void load(CharSequence text, int position, long[] words, Parsed parsed) {
+		if (text instanceof ParseCursor.ByteSequence) {
+			for (int i = 0; i < literals.length; ++i) {
+				words[i] = ((ParseCursor.ByteSequence) text).getLong(position + i * MAX_DIGITS);
+			}
+			return;
+		}
+		char[] chars = parsed.chars(width);
+		if (text instanceof String) {
+			((String) text).getChars(position, position + width, chars, 0);
+		} else {
+			for (int i = 0; i < width; ++i) {
+				chars[i] = text.charAt(position + i);
+			}
+		}
+		for (int i = 0; i < literals.length; ++i) {
+			long word = 0L;
+			for (int j = Math.min((i + 1) * MAX_DIGITS, width) - 1; j >= i * MAX_DIGITS; --j) {
+				word = word << 8 | (chars[j] <= 0xFF ? chars[j] : 0xFF);
+			}
+			words[i] = word;
+		}
+	}
+
+	// The 8 bytes from the given index of the given words, of which the last ones may be undefined
+	private static long bytesAt(long[] words, int index) {
+		int word = index / MAX_DIGITS;
+		int shift = index % MAX_DIGITS * 8;
+		if (shift == 0) {
+			return words[word];
+		}
+		long bytes = words[word] >>> shift;
+		return word + 1 < words.length ? bytes | words[word + 1] << (Long.SIZE - shift) : bytes;
+	}
+
+	/**
+	 * Converts the given number of digits, from '0' to '9', in the lowest bytes of the given word, the first in the
+	 * lowest byte.
+	 */
+	private static int toInt(long word, int count) {
+		// Shifting the digits to the highest bytes leaves zeros before them
+		long value = word - ZEROS << (MAX_DIGITS - count) * 8;
+		value = value * 10 + (value >>> 8) & 0x00FF00FF00FF00FFL;
+		value = value * 100 + (value >>> 16) & 0x0000FFFF0000FFFFL;
+		value = value * 10000 + (value >>> 32) & 0x00000000FFFFFFFFL;
+		return (int) value;
+	}
+
+	/**
+	 * Reads the given text from the given position into the given fields, which are left as they are if the text
+	 * does not match.
+	 *
+	 * @return  the position following the characters read, or -1 if the text does not match exactly.
+	 */
+	int parse(CharSequence text, int position, Parsed parsed) {
+		int end = position + width;
+		if (end > text.length()
+				|| openEnded && end < text.length() && Character.digit(text.charAt(end), 10) >= 0) {
+			return -1;
+		}
+		long[] words = parsed.words(literals.length);
+		load(text, position, words, parsed);
+		for (int i = 0; i < literals.length; ++i) {
+			if (((words[i] ^ literals[i]) & literalMasks[i]) != 0) {
+				return -1;
+			}
+			// A byte below '0' wraps around into its high bit, as a byte above '9' overflows into it
+			long digits = words[i] & digitMasks[i];
+			if (((digits + (DIGIT_CEILINGS & digitMasks[i]) | digits - (ZEROS & digitMasks[i])) & HIGH_BITS
+					& digitMasks[i]) != 0) {
+				return -1;
+			}
+		}
+		for (int i = 0; i < fields.length; ++i) {
+			if (fields[i] != null) {
+				parsed.set(fields[i], toInt(bytesAt(words, positions[i]), digits[i]));
+			} else {
+				int value = toInt(bytesAt(words, positions[i]), Math.min(digits[i], MAX_DIGITS));
+				for (int j = MAX_DIGITS; j < digits[i]; ++j) {
+					value = value * 10 + (int) (bytesAt(words, positions[i] + j) & 0xFF) - '0';
+				}
+				for (int j = digits[i]; j < NANOSECOND_DIGITS; ++j) {
+					value *= 10;
+				}
+				parsed.nanosecond = value;
+			}
+		}
+		return end;
+	}
+}
@@ -0,0 +1,131 @@
+package com.thalesians.nanotemporals;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * A hybrid logical clock, giving timestamps, in nanoseconds since epoch, that are unique and strictly increasing
+ * across all the threads reading it, and follow a physical clock (the {@link NanoClock#system() system clock} by
+ * default) as closely as that allows.
+ * <p/>
+ * Each timestamp is the physical time, unless that is not after the previous timestamp, as when the physical clock
+ * stalls, steps backwards, or is read by several threads within its resolution, in which case the timestamp is the
+ * previous one plus a nanosecond: the logical part of the clock, by which it leads the physical clock. Timestamps are
+ * taken by a single compare-and-set loop on an {@link AtomicLong}, and how often, and by how much at most, the clock
+ * had to lead the physical clock is counted on the side.
+ * <p/>
+ * {@link #update(long)} merges the timestamp of an event received from another clock, so that the timestamps that
+ * follow are after it, as the hybrid logical clocks of Kulkarni et al. do. A remote timestamp leading the physical
+ * clock by more than the maximum drift given (if any) is rejected, as is one after which there is no timestamp, so
+ * that a faulty remote clock cannot drag this one beyond it, nor wrap it around.
+ */
+public final class HybridLogicalClock extends NanoClock {
+
+	private static final LongBinaryOperator MAX = new LongBinaryOperator() {
+		@Override public long applyAsLong(long left, long right) {
+			return Math.max(left, right);
+		}
+	};
+
+	private final NanoClock physicalClock;
+	private final long maxDrift;
+	private final AtomicLong last = new AtomicLong(Long.MIN_VALUE);
+	private final LongAdder logicalTimestamps = new LongAdder();
+	private final LongAccumulator maxLead = new LongAccumulator(MAX, 0L);
+
+	public HybridLogicalClock() {
+		this(NanoClock.system());
+	}
+
+	public HybridLogicalClock(NanoClock physicalClock) {
+		this(physicalClock, NanoTimeDelta.MAX);
+	}
+
+	/**
+	 * @param  maxDrift  the most by which a timestamp given to {@link #update(long)} may lead the physical clock.
+	 */
+	public HybridLogicalClock(NanoClock physicalClock, NanoTimeDelta maxDrift) {
+		checkArgument(!maxDrift.isNegative(), "maxDrift = %s", maxDrift);
+		this.physicalClock = checkNotNull(physicalClock);
+		this.maxDrift = maxDrift.toWholeNanoseconds();
+	}
+
+	/**
+	 * @return  a timestamp after every timestamp previously returned by this clock.
+	 * @throws  IllegalStateException  if the clock has returned {@link Long#MAX_VALUE}, after which there is none.
+	 */
+	@Override public long nowNanos() {
+		long physical = physicalClock.nowNanos();
+		for (;;) {
+			long previous = last.get();
+			checkState(physical > previous || previous != Long.MAX_VALUE, "The clock is at the last timestamp");
+			long next = physical > previous ? physical : previous + 1L;
+			if (last.compareAndSet(previous, next)) {
+				if (next != physical) {
+					recordLead(next - physical);
+				}
+				return next;
+			}
+		}
+	}
+
+	/**
+	 * Merges the given timestamp, of an event received from another clock.
+	 *
+	 * @return  a timestamp after the given one, and after every timestamp previously returned by this clock.
+	 * @throws  IllegalArgumentException  if the given timestamp leads the physical clock by more than the maximum
+	 *          drift, or is {@link Long#MAX_VALUE}, leaving the clock unchanged.
+	 * @throws  IllegalStateException  if the clock has returned {@link Long#MAX_VALUE}, after which there is none.
+	 */
+	public long update(long remoteNanos) {
+		long physical = physicalClock.nowNanos();
+		// Saturated at the last timestamp but one, as the sum may overflow
+		long maxRemote = physical > Long.MAX_VALUE - 1L - maxDrift ? Long.MAX_VALUE - 1L : physical + maxDrift;
+		checkArgument(remoteNanos <= maxRemote, "remoteNanos = %s, after %s", remoteNanos, maxRemote);
+		for (;;) {
+			long previous = last.get();
+			checkState(physical > previous || previous != Long.MAX_VALUE, "The clock is at the last timestamp");
+			long next = Math.max(physical, Math.max(previous, remoteNanos) + 1L);
+			if (last.compareAndSet(previous, next)) {
+				if (next != physical) {
+					recordLead(next - physical);
+				}
+				return next;
+			}
+		}
+	}
+
+	public NanoDateTime update(NanoDateTime remote) {
+		return NanoDateTime.fromNanosecondsSinceEpoch(update(remote.getNanosecondsSinceEpoch()));
+	}
+
+	private void recordLead(long lead) {
+		logicalTimestamps.increment();
+		maxLead.accumulate(lead);
+	}
+
+	/**
+	 * @return  the number of timestamps that were not the physical time, but led it.
+	 */
+	public long getLogicalTimestampCount() {
+		return logicalTimestamps.sum();
+	}
+
+	/**
+	 * @return  the most by which a timestamp led the physical time.
+	 */
+	public NanoTimeDelta getMaxLead() {
+		return NanoTimeDelta.fromNanoseconds(maxLead.get());
+	}
+
+	@Override public String toString() {
+		return "HybridLogicalClock [physicalClock=" + physicalClock + ", logicalTimestamps=" + getLogicalTimestampCount()
+				+ ", maxLead=" + getMaxLead().toCompactString() + "]";
+	}
+}
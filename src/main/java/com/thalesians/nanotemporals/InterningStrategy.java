@@ -0,0 +1,58 @@
+package com.thalesians.nanotemporals;
+
+/**
+ * The strategies available to the factory methods of {@link NanoDateTime}, {@link NanoDate}, {@link NanoTime},
+ * {@link ZonedNanoDateTime} and {@link ZonedNanoDate} for reusing previously created instances.
+ * <p/>
+ * The strategy of each class can be chosen at startup with the system property
+ * <tt>com.thalesians.nanotemporals.&lt;SimpleClassName&gt;.interning</tt>, e.g.
+ * <tt>-Dcom.thalesians.nanotemporals.NanoDateTime.interning=DIRECT_MAPPED</tt>, or by calling the class's
+ * {@code setInterningStrategy} method before it is used. The default is {@link #BOUNDED_CACHE}, which is also used if
+ * the property names no strategy, since the class could not otherwise be initialised.
+ */
+public enum InterningStrategy {
+	/**
+	 * Always allocate a new instance. Usually the cheapest option when the instances are short-lived.
+	 */
+	NONE {
+		@Override <T> TemporalInterner<T> newInterner() {
+			return TemporalInterner.none();
+		}
+	},
+
+	/**
+	 * Keep the most recently created instance in a fixed-size array slot chosen by hashing the nanoseconds, replacing
+	 * whatever was there before. Lookups are lock-free and allocate nothing.
+	 */
+	DIRECT_MAPPED {
+		@Override <T> TemporalInterner<T> newInterner() {
+			return TemporalInterner.directMapped();
+		}
+	},
+
+	/**
+	 * Keep instances in a bounded, access-expiring Guava {@code Cache}, as this library has always done.
+	 */
+	BOUNDED_CACHE {
+		@Override <T> TemporalInterner<T> newInterner() {
+			return TemporalInterner.boundedCache();
+		}
+	};
+	
+	private static final String PROPERTY_PREFIX = "com.thalesians.nanotemporals.";
+	private static final String PROPERTY_SUFFIX = ".interning";
+	
+	abstract <T> TemporalInterner<T> newInterner();
+	
+	static InterningStrategy configured(Class<?> temporalClass) {
+		String value = System.getProperty(PROPERTY_PREFIX + temporalClass.getSimpleName() + PROPERTY_SUFFIX);
+		if (value == null) {
+			return BOUNDED_CACHE;
+		}
+		try {
+			return valueOf(value.trim().toUpperCase());
+		} catch (IllegalArgumentException e) {
+			return BOUNDED_CACHE;
+		}
+	}
+}
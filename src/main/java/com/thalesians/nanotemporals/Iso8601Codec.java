@@ -0,0 +1,395 @@
+package com.thalesians.nanotemporals;
+
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+
+import java.text.ParseException;
+
+/**
+ * Formats and parses datetimes in the ISO-8601 extended format profiled by RFC 3339, such as
+ * <tt>2019-05-21T18:45:07.345920678+01:00</tt>, by hand: without {@link java.text.SimpleDateFormat}, regular
+ * expressions, or any allocation beyond the result.
+ * <p/>
+ * A {@link NanoDateTime} is formatted in UTC, with the offset <tt>Z</tt>; a {@link ZonedNanoDateTime} in its time zone,
+ * with the offset in force, as <tt>&plusmn;hh:mm</tt> (or <tt>&plusmn;hh:mm:ss</tt> for the historical offsets not of
+ * whole minutes), or <tt>Z</tt> if it is zero. The fraction of the second is written in groups of 3 digits, as many as
+ * needed, and left out if zero, as {@link java.time.LocalTime#toString()} does.
+ * <p/>
+ * When parsing, the date and time may be separated by <tt>T</tt>, <tt>t</tt> or a space; the fraction, introduced by
+ * <tt>.</tt> or <tt>,</tt>, may have from 1 to 9 digits; the offset may be <tt>Z</tt>, <tt>z</tt>,
+ * <tt>&plusmn;hh:mm</tt>, <tt>&plusmn;hh:mm:ss</tt>, <tt>&plusmn;hhmm</tt> or <tt>&plusmn;hh</tt>, or be left out, in
+ * which case the datetime is read in UTC. The fields must be in range: neither a leap second nor <tt>24:00</tt> is
+ * accepted.
+ */
+public final class Iso8601Codec {
+
+	/**
+	 * The maximum number of characters of a formatted datetime, <tt>yyyy-MM-ddTHH:mm:ss.nnnnnnnnn+hh:mm:ss</tt>.
+	 */
+	public static final int MAX_LENGTH = 38;
+
+	private static final long NANOS_PER_SECOND = TemporalUnit.SECOND.getWholeNanoseconds();
+	private static final long SECONDS_PER_DAY = TemporalUnit.DAY.getWholeSeconds();
+
+	private static final long MIN_EPOCH_SECOND = Long.MIN_VALUE / NANOS_PER_SECOND;
+	private static final long MAX_EPOCH_SECOND = Long.MAX_VALUE / NANOS_PER_SECOND;
+
+	private static final int MAX_OFFSET_HOURS = 18;
+	private static final int FRACTION_DIGITS = 9;
+
+	private static final ThreadLocal<char[]> BUFFERS = new ThreadLocal<char[]>() {
+		@Override protected char[] initialValue() {
+			return new char[MAX_LENGTH];
+		}
+	};
+
+	private static final ThreadLocal<ParseCursor> CURSORS = new ThreadLocal<ParseCursor>() {
+		@Override protected ParseCursor initialValue() {
+			return new ParseCursor();
+		}
+	};
+
+	// The ids of the time zones of the offsets parsed, by offset in minutes from -18:00, created as first needed
+	private static final String[] OFFSET_TIME_ZONE_IDS = new String[2 * MAX_OFFSET_HOURS * 60 + 1];
+
+	private Iso8601Codec() {
+		throw new IllegalStateException("This class may not be instantiated");
+	}
+
+	public static String format(NanoDateTime dateTime) {
+		return format(dateTime.getNanosecondsSinceEpoch(), 0L);
+	}
+
+	public static String format(ZonedNanoDateTime dateTime) {
+		long nanosecondsSinceEpoch = dateTime.getNanosecondsSinceEpoch();
+		long offset = TimeZoneRules.of(dateTime.getTimeZoneId()).getOffset(nanosecondsSinceEpoch);
+		return format(nanosecondsSinceEpoch, offset);
+	}
+
+	/**
+	 * Formats the given instant, at the given offset from UTC in nanoseconds, which is truncated to whole seconds.
+	 */
+	public static String format(long nanosecondsSinceEpoch, long offset) {
+		char[] buffer = BUFFERS.get();
+		return new String(buffer, 0, write(nanosecondsSinceEpoch, offset, buffer));
+	}
+
+	/**
+	 * Formats the given datetime into the given array from the given position, as ASCII.
+	 *
+	 * @return  the number of bytes written, at most {@link #MAX_LENGTH}.
+	 * @throws  IndexOutOfBoundsException  if the array is too short, in which case nothing is written.
+	 */
+	public static int format(NanoDateTime dateTime, byte[] dest, int destPos) {
+		return format(dateTime.getNanosecondsSinceEpoch(), 0L, dest, destPos);
+	}
+
+	/**
+	 * Formats the given datetime into the given array from the given position, as ASCII.
+	 *
+	 * @return  the number of bytes written, at most {@link #MAX_LENGTH}.
+	 * @throws  IndexOutOfBoundsException  if the array is too short, in which case nothing is written.
+	 */
+	public static int format(ZonedNanoDateTime dateTime, byte[] dest, int destPos) {
+		long nanosecondsSinceEpoch = dateTime.getNanosecondsSinceEpoch();
+		long offset = TimeZoneRules.of(dateTime.getTimeZoneId()).getOffset(nanosecondsSinceEpoch);
+		return format(nanosecondsSinceEpoch, offset, dest, destPos);
+	}
+
+	/**
+	 * Formats the given instant, at the given offset from UTC in nanoseconds, which is truncated to whole seconds, into
+	 * the given array from the given position, as ASCII.
+	 *
+	 * @return  the number of bytes written, at most {@link #MAX_LENGTH}.
+	 * @throws  IndexOutOfBoundsException  if the array is too short, in which case nothing is written.
+	 */
+	public static int format(long nanosecondsSinceEpoch, long offset, byte[] dest, int destPos) {
+		char[] buffer = BUFFERS.get();
+		int length = write(nanosecondsSinceEpoch, offset, buffer);
+		checkPositionIndexes(destPos, destPos + length, dest.length);
+		for (int i = 0; i < length; ++i) {
+			dest[destPos + i] = (byte) buffer[i];
+		}
+		return length;
+	}
+
+	private static int write(long nanosecondsSinceEpoch, long offset, char[] buffer) {
+		long offsetSeconds = offset / NANOS_PER_SECOND;
+		// Adding the offset in seconds, since the local time may be beyond the range of epoch nanoseconds
+		long seconds = Math.floorDiv(nanosecondsSinceEpoch, NANOS_PER_SECOND) + offsetSeconds;
+		int nanosecond = (int) Math.floorMod(nanosecondsSinceEpoch, NANOS_PER_SECOND);
+		int date = CivilCalendar.fromEpochDay(Math.floorDiv(seconds, SECONDS_PER_DAY));
+		int secondOfDay = (int) Math.floorMod(seconds, SECONDS_PER_DAY);
+		writeDigits(CivilCalendar.year(date), 4, buffer, 0);
+		buffer[4] = '-';
+		writeDigits(CivilCalendar.month(date), 2, buffer, 5);
+		buffer[7] = '-';
+		writeDigits(CivilCalendar.dayOfMonth(date), 2, buffer, 8);
+		buffer[10] = 'T';
+		writeDigits(secondOfDay / 3600, 2, buffer, 11);
+		buffer[13] = ':';
+		writeDigits(secondOfDay / 60 % 60, 2, buffer, 14);
+		buffer[16] = ':';
+		writeDigits(secondOfDay % 60, 2, buffer, 17);
+		int position = 19;
+		if (nanosecond != 0) {
+			int digits = nanosecond % 1000000 != 0 ? nanosecond % 1000 != 0 ? 9 : 6 : 3;
+			buffer[position++] = '.';
+			writeDigits(nanosecond / pow10(FRACTION_DIGITS - digits), digits, buffer, position);
+			position += digits;
+		}
+		if (offsetSeconds == 0) {
+			buffer[position++] = 'Z';
+			return position;
+		}
+		buffer[position++] = offsetSeconds < 0 ? '-' : '+';
+		int absoluteOffset = (int) Math.abs(offsetSeconds);
+		writeDigits(absoluteOffset / 3600, 2, buffer, position);
+		buffer[position + 2] = ':';
+		writeDigits(absoluteOffset / 60 % 60, 2, buffer, position + 3);
+		position += 5;
+		if (absoluteOffset % 60 != 0) {
+			buffer[position] = ':';
+			writeDigits(absoluteOffset % 60, 2, buffer, position + 1);
+			position += 3;
+		}
+		return position;
+	}
+
+	private static int pow10(int exponent) {
+		int value = 1;
+		for (int i = 0; i < exponent; ++i) {
+			value *= 10;
+		}
+		return value;
+	}
+
+	// Writes the given number of the lowest digits of the given non-negative value
+	private static void writeDigits(int value, int digits, char[] buffer, int offset) {
+		for (int i = offset + digits - 1; i >= offset; --i) {
+			buffer[i] = (char) ('0' + value % 10);
+			value /= 10;
+		}
+	}
+
+	/**
+	 * Parses the given text from the index of the given cursor, setting it to the position following the characters
+	 * read.
+	 *
+	 * @return  the nanoseconds since epoch, or {@link Long#MIN_VALUE}, having set the error index of the cursor, if
+	 * the text is not an ISO-8601 datetime, or one beyond the range of epoch nanoseconds.
+	 */
+	public static long parseNanosecondsSinceEpoch(CharSequence text, ParseCursor cursor) {
+		cursor.setErrorIndex(-1);
+		return parse(text, cursor);
+	}
+
+	/**
+	 * Parses the given range of the given array, of ASCII (or ISO-8859-1) characters, setting the index of the given
+	 * cursor to the position in the array following the characters read.
+	 *
+	 * @return  the nanoseconds since epoch, or {@link Long#MIN_VALUE}, having set the error index of the cursor, if
+	 * the range is not an ISO-8601 datetime, or one beyond the range of epoch nanoseconds.
+	 */
+	public static long parseNanosecondsSinceEpoch(byte[] bytes, int offset, int length, ParseCursor cursor) {
+		checkPositionIndexes(offset, offset + length, bytes.length);
+		cursor.reset(offset);
+		return parse(cursor.bytes.set(bytes, offset + length), cursor);
+	}
+
+	/**
+	 * Parses the whole of the given text into a datetime, in UTC.
+	 *
+	 * @throws  ParseException  if the text is not an ISO-8601 datetime, or is followed by other characters, or is
+	 * beyond the range of {@link NanoDateTime}.
+	 */
+	public static NanoDateTime parseDateTime(CharSequence text) throws ParseException {
+		ParseCursor cursor = CURSORS.get().reset(0);
+		long nanosecondsSinceEpoch = parseWhole(text, cursor);
+		if (nanosecondsSinceEpoch < NanoDateTime.MIN.getNanosecondsSinceEpoch()) {
+			throw new ParseException("Out of range: \"" + text + "\"", 0);
+		}
+		return NanoDateTime.fromNanosecondsSinceEpoch(nanosecondsSinceEpoch);
+	}
+
+	/**
+	 * Parses the whole of the given text into a datetime in the time zone of the fixed offset read, <tt>GMT+hh:mm</tt>
+	 * or <tt>GMT-hh:mm</tt> (truncated to whole minutes), or in UTC if the offset is less than a minute or left out.
+	 *
+	 * @throws  ParseException  if the text is not an ISO-8601 datetime, or is followed by other characters, or is
+	 * beyond the range of {@link ZonedNanoDateTime}.
+	 */
+	public static ZonedNanoDateTime parseZonedDateTime(CharSequence text) throws ParseException {
+		ParseCursor cursor = CURSORS.get().reset(0);
+		long nanosecondsSinceEpoch = parseWhole(text, cursor);
+		if (nanosecondsSinceEpoch < ZonedNanoDateTime.MIN.getNanosecondsSinceEpoch()) {
+			throw new ParseException("Out of range: \"" + text + "\"", 0);
+		}
+		return ZonedNanoDateTime.fromNanosecondsSinceEpoch(
+				offsetTimeZoneId(cursor.parsed.offset / TemporalUnit.MINUTE.getWholeNanoseconds()), nanosecondsSinceEpoch);
+	}
+
+	private static long parseWhole(CharSequence text, ParseCursor cursor) throws ParseException {
+		long nanosecondsSinceEpoch = parse(text, cursor);
+		if (cursor.isError()) {
+			throw new ParseException("Unparseable date: \"" + text + "\"", cursor.getErrorIndex());
+		}
+		if (cursor.getIndex() != text.length()) {
+			throw new ParseException("Unparseable date: \"" + text + "\"", cursor.getIndex());
+		}
+		return nanosecondsSinceEpoch;
+	}
+
+	private static String offsetTimeZoneId(long offsetMinutes) {
+		if (offsetMinutes == 0) {
+			return TemporalArithmetics.UTC;
+		}
+		int index = (int) offsetMinutes + MAX_OFFSET_HOURS * 60;
+		String timeZoneId = OFFSET_TIME_ZONE_IDS[index];
+		if (timeZoneId == null) {
+			long absoluteOffset = Math.abs(offsetMinutes);
+			timeZoneId = String.format("GMT%s%02d:%02d", offsetMinutes < 0 ? "-" : "+", absoluteOffset / 60,
+					absoluteOffset % 60);
+			OFFSET_TIME_ZONE_IDS[index] = timeZoneId;
+		}
+		return timeZoneId;
+	}
+
+	private static long parse(CharSequence text, ParseCursor cursor) {
+		NanoDateTimePattern.Parsed parsed = cursor.parsed;
+		parsed.reset();
+		int start = cursor.getIndex();
+		int position = start;
+
+		int year = number(text, position, 4);
+		if (year < 0) {
+			return error(cursor, ~year);
+		}
+		position += 4;
+		if (!isAt(text, position, '-')) {
+			return error(cursor, position);
+		}
+		int month = number(text, ++position, 2);
+		if (month < 1 || month > 12) {
+			return error(cursor, month < 0 ? ~month : position);
+		}
+		position += 2;
+		if (!isAt(text, position, '-')) {
+			return error(cursor, position);
+		}
+		int day = number(text, ++position, 2);
+		if (day < 1 || day > CivilCalendar.lengthOfMonth(year, month)) {
+			return error(cursor, day < 0 ? ~day : position);
+		}
+		position += 2;
+		if (!isAt(text, position, 'T') && !isAt(text, position, 't') && !isAt(text, position, ' ')) {
+			return error(cursor, position);
+		}
+
+		int hour = number(text, ++position, 2);
+		if (hour < 0 || hour > 23) {
+			return error(cursor, hour < 0 ? ~hour : position);
+		}
+		position += 2;
+		if (!isAt(text, position, ':')) {
+			return error(cursor, position);
+		}
+		int minute = number(text, ++position, 2);
+		if (minute < 0 || minute > 59) {
+			return error(cursor, minute < 0 ? ~minute : position);
+		}
+		position += 2;
+		if (!isAt(text, position, ':')) {
+			return error(cursor, position);
+		}
+		int second = number(text, ++position, 2);
+		if (second < 0 || second > 59) {
+			return error(cursor, second < 0 ? ~second : position);
+		}
+		position += 2;
+
+		int nanosecond = 0;
+		if (isAt(text, position, '.') || isAt(text, position, ',')) {
+			int digits = 0;
+			for (++position; position < text.length() && isDigit(text.charAt(position)); ++position) {
+				if (++digits > FRACTION_DIGITS) {
+					return error(cursor, position);
+				}
+				nanosecond = nanosecond * 10 + text.charAt(position) - '0';
+			}
+			if (digits == 0) {
+				return error(cursor, position);
+			}
+			nanosecond *= pow10(FRACTION_DIGITS - digits);
+		}
+
+		int offsetSeconds = 0;
+		if (isAt(text, position, 'Z') || isAt(text, position, 'z')) {
+			parsed.offsetParsed = true;
+			++position;
+		} else if (isAt(text, position, '+') || isAt(text, position, '-')) {
+			boolean negative = text.charAt(position) == '-';
+			int offsetHours = number(text, ++position, 2);
+			if (offsetHours < 0 || offsetHours > MAX_OFFSET_HOURS) {
+				return error(cursor, offsetHours < 0 ? ~offsetHours : position);
+			}
+			position += 2;
+			int offsetMinutes = 0;
+			boolean colon = isAt(text, position, ':');
+			if (colon || position < text.length() && isDigit(text.charAt(position))) {
+				offsetMinutes = number(text, colon ? position + 1 : position, 2);
+				if (offsetMinutes < 0 || offsetMinutes > 59 || offsetHours == MAX_OFFSET_HOURS && offsetMinutes > 0) {
+					return error(cursor, offsetMinutes < 0 ? ~offsetMinutes : colon ? position + 1 : position);
+				}
+				position += colon ? 3 : 2;
+			}
+			int offsetSecond = 0;
+			if (colon && isAt(text, position, ':')) {
+				offsetSecond = number(text, position + 1, 2);
+				if (offsetSecond < 0 || offsetSecond > 59 || offsetHours == MAX_OFFSET_HOURS && offsetSecond > 0) {
+					return error(cursor, offsetSecond < 0 ? ~offsetSecond : position + 1);
+				}
+				position += 3;
+			}
+			offsetSeconds = (negative ? -1 : 1) * (offsetHours * 3600 + offsetMinutes * 60 + offsetSecond);
+			parsed.offsetParsed = true;
+			parsed.offset = offsetSeconds * NANOS_PER_SECOND;
+		}
+
+		long seconds = CivilCalendar.toEpochDay(year, month, day) * SECONDS_PER_DAY + hour * 3600 + minute * 60 + second
+				- offsetSeconds;
+		if (seconds < MIN_EPOCH_SECOND || seconds > MAX_EPOCH_SECOND
+				|| seconds == MAX_EPOCH_SECOND && nanosecond > Long.MAX_VALUE % NANOS_PER_SECOND) {
+			return error(cursor, start);
+		}
+		cursor.setIndex(position);
+		return seconds * NANOS_PER_SECOND + nanosecond;
+	}
+
+	private static long error(ParseCursor cursor, int errorIndex) {
+		cursor.setErrorIndex(errorIndex);
+		return Long.MIN_VALUE;
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static boolean isAt(CharSequence text, int position, char c) {
+		return position < text.length() && text.charAt(position) == c;
+	}
+
+	/**
+	 * @return  the value of the given number of ASCII digits from the given position, or the bitwise complement of the
+	 * position of the first character that is not a digit.
+	 */
+	private static int number(CharSequence text, int position, int count) {
+		int value = 0;
+		for (int i = position; i < position + count; ++i) {
+			if (i >= text.length() || !isDigit(text.charAt(i))) {
+				return ~i;
+			}
+			value = value * 10 + text.charAt(i) - '0';
+		}
+		return value;
+	}
+}
@@ -0,0 +1,329 @@
+package com.thalesians.nanotemporals;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records latencies, in nanoseconds or as {@link NanoTimeDelta}s, into log-linear buckets, and reports their
+ * percentiles from {@link Snapshot}s.
+ * <p/>
+ * Each power of two from <tt>2<sup>significantBits</sup></tt> up is split into <tt>2<sup>significantBits - 1</sup></tt>
+ * buckets of equal width, and smaller values each have a bucket of their own, so that a bucket spans less than
+ * <tt>1 / 2<sup>significantBits - 1</sup></tt> of the values it holds: with the default of 8 significant bits, 1/128.
+ * Recording a value is a single increment of the counter of its bucket, and allocates nothing. Negative values are
+ * recorded as zero.
+ * <p/>
+ * A histogram built for a single writer is not thread-safe. A striped histogram may be recorded into by any number of
+ * threads, each incrementing an atomic counter in one of several copies of the buckets, chosen by its thread id, and
+ * snapshots sum the copies.
+ */
+public abstract class LatencyHistogram {
+
+	private static final int DEFAULT_SIGNIFICANT_BITS = 8;
+	private static final int MAX_STRIPES = 1 << 10;
+
+	final int significantBits;
+	final int bucketCount;
+
+	private LatencyHistogram(int significantBits) {
+		this.significantBits = significantBits;
+		this.bucketCount = bucketCount(significantBits);
+	}
+
+	public static final class Builder {
+
+		private int significantBits = DEFAULT_SIGNIFICANT_BITS;
+		private int stripes;
+
+		private Builder() {
+		}
+
+		/**
+		 * @param  significantBits  the number of significant bits of the values kept by the buckets, from 2 to 16; 8 by
+		 * default.
+		 */
+		public Builder significantBits(int significantBits) {
+			checkArgument(significantBits >= 2 && significantBits <= 16, "significantBits = %s", significantBits);
+			this.significantBits = significantBits;
+			return this;
+		}
+
+		/**
+		 * Makes the histogram safe for any number of writers, with the given number of copies of the buckets, rounded
+		 * up to a power of two.
+		 */
+		public Builder striped(int stripes) {
+			checkArgument(stripes > 0 && stripes <= MAX_STRIPES, "stripes = %s", stripes);
+			this.stripes = stripes;
+			return this;
+		}
+
+		/**
+		 * Makes the histogram safe for any number of writers, with a copy of the buckets for each available processor.
+		 */
+		public Builder striped() {
+			return striped(Math.min(Runtime.getRuntime().availableProcessors(), MAX_STRIPES));
+		}
+
+		public LatencyHistogram build() {
+			return stripes == 0 ? new SingleWriter(significantBits) : new Striped(significantBits, stripes);
+		}
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	static int bucketCount(int significantBits) {
+		return (Long.SIZE + 1 - significantBits) << (significantBits - 1);
+	}
+
+	static int bucketIndex(long nanoseconds, int significantBits) {
+		long value = Math.max(nanoseconds, 0L);
+		// The highest bit is at least significantBits - 1, so that the values below 2^significantBits are not shifted
+		int highestBit = Long.SIZE - 1 - Long.numberOfLeadingZeros(value | ((1L << significantBits) - 1));
+		int shift = highestBit - (significantBits - 1);
+		return (shift << (significantBits - 1)) + (int) (value >>> shift);
+	}
+
+	static long bucketLowest(int index, int significantBits) {
+		int shift = Math.max((index >> (significantBits - 1)) - 1, 0);
+		return (long) (index - (shift << (significantBits - 1))) << shift;
+	}
+
+	static long bucketHighest(int index, int significantBits) {
+		int shift = Math.max((index >> (significantBits - 1)) - 1, 0);
+		return bucketLowest(index, significantBits) + ((1L << shift) - 1);
+	}
+
+	/**
+	 * Records the given latency, of any number of nanoseconds, negative values being recorded as zero.
+	 */
+	public abstract void record(long nanoseconds);
+
+	public void record(NanoTimeDelta latency) {
+		record(latency.toWholeNanoseconds());
+	}
+
+	/**
+	 * @return  the counts recorded so far.
+	 */
+	public abstract Snapshot snapshot();
+
+	/**
+	 * Returns the counts recorded since the previous interval snapshot (or since the histogram was built), and starts
+	 * the next interval. Of a striped histogram, every value is counted in exactly one interval, even when recorded
+	 * while the snapshot is taken.
+	 */
+	public abstract Snapshot intervalSnapshot();
+
+	/**
+	 * Clears the counts.
+	 */
+	public abstract void reset();
+
+	private static final class SingleWriter extends LatencyHistogram {
+
+		private final long[] counts;
+
+		SingleWriter(int significantBits) {
+			super(significantBits);
+			this.counts = new long[bucketCount];
+		}
+
+		@Override public void record(long nanoseconds) {
+			++counts[bucketIndex(nanoseconds, significantBits)];
+		}
+
+		@Override public Snapshot snapshot() {
+			return new Snapshot(significantBits, counts.clone());
+		}
+
+		@Override public Snapshot intervalSnapshot() {
+			Snapshot snapshot = snapshot();
+			reset();
+			return snapshot;
+		}
+
+		@Override public void reset() {
+			Arrays.fill(counts, 0L);
+		}
+
+		@Override public String toString() {
+			return "LatencyHistogram [significantBits=" + significantBits + "]";
+		}
+	}
+
+	private static final class Striped extends LatencyHistogram {
+
+		private final AtomicLongArray[] stripes;
+		private final int mask;
+
+		Striped(int significantBits, int stripeCount) {
+			super(significantBits);
+			int length = Integer.highestOneBit(stripeCount - 1) << 1;
+			this.stripes = new AtomicLongArray[Math.max(length, 1)];
+			for (int i = 0; i < stripes.length; ++i) {
+				stripes[i] = new AtomicLongArray(bucketCount);
+			}
+			this.mask = stripes.length - 1;
+		}
+
+		@Override public void record(long nanoseconds) {
+			// Fibonacci hashing of the thread id, which is usually small and sequential
+			long id = Thread.currentThread().getId();
+			stripes[(int) ((id * 0x9E3779B97F4A7C15L) >>> 40) & mask].incrementAndGet(
+					bucketIndex(nanoseconds, significantBits));
+		}
+
+		@Override public Snapshot snapshot() {
+			long[] counts = new long[bucketCount];
+			for (AtomicLongArray stripe : stripes) {
+				for (int i = 0; i < bucketCount; ++i) {
+					counts[i] += stripe.get(i);
+				}
+			}
+			return new Snapshot(significantBits, counts);
+		}
+
+		@Override public Snapshot intervalSnapshot() {
+			long[] counts = new long[bucketCount];
+			for (AtomicLongArray stripe : stripes) {
+				for (int i = 0; i < bucketCount; ++i) {
+					if (stripe.get(i) != 0L) {
+						counts[i] += stripe.getAndSet(i, 0L);
+					}
+				}
+			}
+			return new Snapshot(significantBits, counts);
+		}
+
+		@Override public void reset() {
+			for (AtomicLongArray stripe : stripes) {
+				for (int i = 0; i < bucketCount; ++i) {
+					stripe.set(i, 0L);
+				}
+			}
+		}
+
+		@Override public String toString() {
+			return "LatencyHistogram [significantBits=" + significantBits + ", stripes=" + stripes.length + "]";
+		}
+	}
+
+	/**
+	 * The immutable counts of the buckets of a histogram at some point, or over some interval.
+	 */
+	public static final class Snapshot {
+
+		private final int significantBits;
+		private final long[] counts;
+		private final long totalCount;
+
+		private Snapshot(int significantBits, long[] counts) {
+			this.significantBits = significantBits;
+			this.counts = counts;
+			long totalCount = 0L;
+			for (long count : counts) {
+				totalCount += count;
+			}
+			this.totalCount = totalCount;
+		}
+
+		public long getTotalCount() {
+			return totalCount;
+		}
+
+		public boolean isEmpty() {
+			return totalCount == 0L;
+		}
+
+		/**
+		 * Returns the latency below or at which the given percentage of the values recorded lie, as the highest value
+		 * of the bucket where that percentage is reached.
+		 *
+		 * @param  percentile  from 0 to 100, 0 giving the lowest value recorded.
+		 * @return  the latency, or {@link NanoTimeDelta#ZERO} if no value was recorded.
+		 */
+		public NanoTimeDelta getValueAtPercentile(double percentile) {
+			checkArgument(percentile >= 0.0 && percentile <= 100.0, "percentile = %s", percentile);
+			if (totalCount == 0L) {
+				return NanoTimeDelta.ZERO;
+			}
+			long rank = Math.max((long) Math.ceil(percentile / 100.0 * totalCount), 1L);
+			long cumulativeCount = 0L;
+			for (int i = 0; i < counts.length; ++i) {
+				cumulativeCount += counts[i];
+				if (cumulativeCount >= rank) {
+					return NanoTimeDelta.fromNanoseconds(bucketHighest(i, significantBits));
+				}
+			}
+			return getMax();
+		}
+
+		/**
+		 * @return  the lowest value of the lowest bucket holding any value, or {@link NanoTimeDelta#ZERO} if none.
+		 */
+		public NanoTimeDelta getMin() {
+			for (int i = 0; i < counts.length; ++i) {
+				if (counts[i] != 0L) {
+					return NanoTimeDelta.fromNanoseconds(bucketLowest(i, significantBits));
+				}
+			}
+			return NanoTimeDelta.ZERO;
+		}
+
+		/**
+		 * @return  the highest value of the highest bucket holding any value, or {@link NanoTimeDelta#ZERO} if none.
+		 */
+		public NanoTimeDelta getMax() {
+			for (int i = counts.length - 1; i >= 0; --i) {
+				if (counts[i] != 0L) {
+					return NanoTimeDelta.fromNanoseconds(bucketHighest(i, significantBits));
+				}
+			}
+			return NanoTimeDelta.ZERO;
+		}
+
+		/**
+		 * @return  the mean of the values, taking the middle of each bucket, or {@link NanoTimeDelta#ZERO} if none.
+		 */
+		public NanoTimeDelta getMean() {
+			if (totalCount == 0L) {
+				return NanoTimeDelta.ZERO;
+			}
+			double sum = 0.0;
+			for (int i = 0; i < counts.length; ++i) {
+				if (counts[i] != 0L) {
+					long lowest = bucketLowest(i, significantBits);
+					double middle = lowest + (bucketHighest(i, significantBits) - lowest) / 2.0;
+					sum += middle * counts[i];
+				}
+			}
+			return NanoTimeDelta.fromNanoseconds(Math.round(sum / totalCount));
+		}
+
+		/**
+		 * @return  the snapshot of the values of both snapshots, which must have the same significant bits.
+		 */
+		public Snapshot merge(Snapshot other) {
+			checkNotNull(other);
+			checkArgument(other.significantBits == significantBits, "Significant bits differ: %s and %s",
+					significantBits, other.significantBits);
+			long[] merged = counts.clone();
+			for (int i = 0; i < merged.length; ++i) {
+				merged[i] += other.counts[i];
+			}
+			return new Snapshot(significantBits, merged);
+		}
+
+		@Override public String toString() {
+			return "Snapshot [totalCount=" + totalCount + ", min=" + getMin().toCompactString() + ", p50="
+					+ getValueAtPercentile(50.0).toCompactString() + ", p99=" + getValueAtPercentile(99.0).toCompactString()
+					+ ", max=" + getMax().toCompactString() + "]";
+		}
+	}
+}
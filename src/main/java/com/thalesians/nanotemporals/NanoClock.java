@@ -0,0 +1,43 @@
+package com.thalesians.nanotemporals;
+
+/**
+ * A source of the current datetime, to nanosecond resolution.
+ * <p/>
+ * Code that needs "now" should be given a clock, rather than call {@link System#currentTimeMillis()} and
+ * {@link System#nanoTime()} itself, so that it can be run against another clock. {@link #system()} is the clock of the
+ * machine, which {@link NanoDateTime#now()} and {@link ZonedNanoDateTime#now(String)} use.
+ * <p/>
+ * Implementations must be thread-safe.
+ */
+public abstract class NanoClock {
+
+	protected NanoClock() {
+	}
+
+	/**
+	 * @return  the clock of the machine, a {@link SystemNanoClock} recalibrated every second.
+	 */
+	public static NanoClock system() {
+		return SystemNanoClock.DEFAULT;
+	}
+
+	/**
+	 * @return  the current nanoseconds since epoch.
+	 */
+	public abstract long nowNanos();
+
+	/**
+	 * @return  the current date, of the current datetime, as per {@link NanoDateTime#getDate()}.
+	 */
+	public NanoDate today() {
+		return NanoDate.fromNanosecondsSinceEpoch(nowNanos());
+	}
+
+	public NanoDateTime now() {
+		return NanoDateTime.fromNanosecondsSinceEpoch(nowNanos());
+	}
+
+	public ZonedNanoDateTime now(String timeZoneId) {
+		return ZonedNanoDateTime.fromNanosecondsSinceEpoch(timeZoneId, nowNanos());
+	}
+}
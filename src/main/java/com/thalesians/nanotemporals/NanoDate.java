@@ -2,10 +2,6 @@ package com.thalesians.nanotemporals;
 
 import java.io.Serializable;
 import java.text.ParseException;
-import java.util.concurrent.TimeUnit;
-
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 
 /**
  * Represents a date incorporating timezone information.
@@ -14,18 +10,14 @@ public final class NanoDate implements Comparable<NanoDate>, Serializable {
 	
 	private static final long serialVersionUID = 6873451660018062436L;
 	
-	private static final Cache<Long, NanoDate> CACHE = CacheBuilder.newBuilder()
-			.maximumSize(10000)
-			.expireAfterAccess(1, TimeUnit.MINUTES)
-			.build();
+	private static volatile TemporalInterner<NanoDate> interner =
+			InterningStrategy.configured(NanoDate.class).newInterner();
 	
 	private static final NanoDateTimeFormat nanoDateTimeFormat =
-			NanoDateTimeFormat.of(NanoDateTimeFormat.DEFAULT_DATE_PATTERN, false);
+			NanoDateTimeFormat.of(TemporalArithmetics.UTC, NanoDateTimeFormat.DEFAULT_DATE_PATTERN, false);
 	
 	private final long nanosecondsSinceEpoch;	
 	
-	private String string = null;
-	
 	private NanoDate(long nanosecondsSinceEpoch) {
 		this.nanosecondsSinceEpoch = nanosecondsSinceEpoch;
 	}
@@ -33,13 +25,26 @@ public final class NanoDate implements Comparable<NanoDate>, Serializable {
 	public static NanoDate fromNanosecondsSinceEpoch(long nanosecondsSinceEpoch) {
 		nanosecondsSinceEpoch = nanosecondsSinceEpoch -
 				(nanosecondsSinceEpoch % TemporalUnit.DAY.getWholeNanoseconds());
-		NanoDate date = CACHE.getIfPresent(nanosecondsSinceEpoch);
-		if (date == null) {
+		TemporalInterner<NanoDate> interner = NanoDate.interner;
+		NanoDate date = interner.get(nanosecondsSinceEpoch);
+		if (date == null || date.nanosecondsSinceEpoch != nanosecondsSinceEpoch) {
 			date = new NanoDate(nanosecondsSinceEpoch);
-			CACHE.put(nanosecondsSinceEpoch, date);
+			interner.put(nanosecondsSinceEpoch, date);
 		}
 		return date;
 	}
+
+	/**
+	 * Sets the strategy used by the factory methods to reuse instances, replacing the one configured at startup
+	 * (see {@link InterningStrategy}). Previously interned instances are discarded.
+	 */
+	public static void setInterningStrategy(InterningStrategy strategy) {
+		interner = strategy.newInterner();
+	}
+	
+	public static InterningStrategy getInterningStrategy() {
+		return interner.getStrategy();
+	}
 	
 	public static NanoDate fromMillisecondsSinceEpoch(long millisecondsSinceEpoch) {
 		return fromNanosecondsSinceEpoch(millisecondsSinceEpoch * TemporalUnit.MILLISECOND.getWholeNanoseconds());
@@ -138,17 +143,12 @@ public final class NanoDate implements Comparable<NanoDate>, Serializable {
 	}
 	
 	public String toString(String timeZoneId) {
-		return String.format("%04d.%02d.%02d",
-				TemporalArithmetics.getYear(timeZoneId, this),
-				TemporalArithmetics.getMonth(timeZoneId, this),
-				TemporalArithmetics.getDayOfMonth(timeZoneId, this));
+		return TemporalStrings.date(timeZoneId,
+				Math.floorDiv(nanosecondsSinceEpoch, TemporalUnit.DAY.getWholeNanoseconds()));
 	}
 	
 	@Override
 	public String toString() {
-		if (string == null) {
-			string = toString(TemporalArithmetics.UTC);
-		}
-		return string;
+		return toString(TemporalArithmetics.UTC);
 	}
 }
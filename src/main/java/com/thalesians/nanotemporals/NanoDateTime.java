@@ -4,10 +4,6 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 import java.io.Serializable;
 import java.text.ParseException;
-import java.util.concurrent.TimeUnit;
-
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 
 /**
  * Represents a datetime that does not incorporate timezone information.
@@ -17,10 +13,8 @@ import com.google.common.cache.CacheBuilder;
 public final class NanoDateTime implements Comparable<NanoDateTime>, Serializable {
 	private static final long serialVersionUID = 924444546156605079L;
 
-	private static final Cache<Long, NanoDateTime> CACHE = CacheBuilder.newBuilder()
-			.maximumSize(10000)
-			.expireAfterAccess(1, TimeUnit.MINUTES)
-			.build();
+	private static volatile TemporalInterner<NanoDateTime> interner =
+			InterningStrategy.configured(NanoDateTime.class).newInterner();
 	
 	private static final long MIN_NANOSECONDS_SINCE_EPOCH = -2208988800000000000L;
 	private static final long MAX_NANOSECONDS_SINCE_EPOCH = 9223372036854775807L;
@@ -33,21 +27,43 @@ public final class NanoDateTime implements Comparable<NanoDateTime>, Serializabl
 	
 	private final long nanosecondsSinceEpoch;
 	
-	private String string = null;
-	
 	private NanoDateTime(long nanosecondsSinceEpoch) {
 		this.nanosecondsSinceEpoch = nanosecondsSinceEpoch;
 	}
 	
 	public static NanoDateTime fromNanosecondsSinceEpoch(long nanosecondsSinceEpoch) {
 		checkArgument(MIN_NANOSECONDS_SINCE_EPOCH <= nanosecondsSinceEpoch && nanosecondsSinceEpoch <= MAX_NANOSECONDS_SINCE_EPOCH);
-		NanoDateTime dt = CACHE.getIfPresent(nanosecondsSinceEpoch);
-		if (dt == null) {
+		TemporalInterner<NanoDateTime> interner = NanoDateTime.interner;
+		NanoDateTime dt = interner.get(nanosecondsSinceEpoch);
+		if (dt == null || dt.nanosecondsSinceEpoch != nanosecondsSinceEpoch) {
 			dt = new NanoDateTime(nanosecondsSinceEpoch);
-			CACHE.put(nanosecondsSinceEpoch, dt);
+			interner.put(nanosecondsSinceEpoch, dt);
 		}
 		return dt;
 	}
+
+	/**
+	 * Sets the strategy used by the factory methods to reuse instances, replacing the one configured at startup
+	 * (see {@link InterningStrategy}). Previously interned instances are discarded.
+	 */
+	public static void setInterningStrategy(InterningStrategy strategy) {
+		interner = strategy.newInterner();
+	}
+	
+	public static InterningStrategy getInterningStrategy() {
+		return interner.getStrategy();
+	}
+	
+	/**
+	 * @return  the current datetime of the {@link NanoClock#system() system clock}.
+	 */
+	public static NanoDateTime now() {
+		return NanoClock.system().now();
+	}
+	
+	public static NanoDateTime now(NanoClock clock) {
+		return clock.now();
+	}
 	
 	public static NanoDateTime fromMillisecondsSinceEpoch(long millisecondsSinceEpoch) {
 		return fromNanosecondsSinceEpoch(millisecondsSinceEpoch * TemporalUnit.MILLISECOND.getWholeNanoseconds());
@@ -66,6 +82,32 @@ public final class NanoDateTime implements Comparable<NanoDateTime>, Serializabl
 		return (NanoDateTime) customFormat.parseObject(dateString);
 	}
 	
+	/**
+	 * Parses the whole of the given text from the index of the given cursor, in the default pattern, as
+	 * {@link #parse(String)} does, but without throwing (or allocating) anything where the text is malformed.
+	 *
+	 * @return  the nanoseconds since epoch, or {@link Long#MIN_VALUE}, having set the error index of the cursor, if
+	 * the text is malformed, or out of the range from {@link #MIN} to {@link #MAX}.
+	 * @see  NanoDateTimeFormat#tryParse(CharSequence, ParseCursor)
+	 */
+	public static long tryParse(CharSequence text, ParseCursor cursor) {
+		return tryParse(nanoDateTimeFormat, text, cursor);
+	}
+	
+	public static long tryParse(String timeZoneId, CharSequence text, String format, ParseCursor cursor) {
+		return tryParse(NanoDateTimeFormat.of(timeZoneId, format, false), text, cursor);
+	}
+	
+	private static long tryParse(NanoDateTimeFormat format, CharSequence text, ParseCursor cursor) {
+		int start = cursor.getIndex();
+		long nanos = format.tryParse(text, cursor);
+		if (!cursor.isError() && nanos < MIN_NANOSECONDS_SINCE_EPOCH) {
+			cursor.setErrorIndex(start);
+			return Long.MIN_VALUE;
+		}
+		return nanos;
+	}
+	
 	public long getNanosecondsSinceEpoch() {
 		return nanosecondsSinceEpoch;
 	}
@@ -116,17 +158,10 @@ public final class NanoDateTime implements Comparable<NanoDateTime>, Serializabl
 	}
 	
 	public String toString(String timeZoneId) {
-		return String.format("%04d.%02d.%02dT%02d:%02d:%02d.%09d",
-				TemporalArithmetics.getYear(timeZoneId, getDate()),
-				TemporalArithmetics.getMonth(timeZoneId, getDate()),
-				TemporalArithmetics.getDayOfMonth(timeZoneId, getDate()),
-				getTime().getHour(), getTime().getMinute(), getTime().getSecond(), getTime().getNanosecond());
+		return TemporalStrings.dateTime(timeZoneId, nanosecondsSinceEpoch);
 	}
 
 	@Override public String toString() {
-		if (string == null) {
-			string = toString(TemporalArithmetics.UTC);
-		}
-		return string;
+		return toString(TemporalArithmetics.UTC);
 	}
 }
@@ -0,0 +1,89 @@
+package com.thalesians.nanotemporals;
+
+/**
+ * Holds the calendar fields of a date or datetime, as filled in by a single decomposition, such as
+ * {@link TemporalArithmetics#decompose(String, NanoDateTime, NanoDateTimeFields)}, so that callers needing several
+ * fields do the calendar work only once.
+ * <p/>
+ * Instances are mutable and may be reused for any number of decompositions; they are not thread-safe.
+ */
+public final class NanoDateTimeFields {
+
+	private int year;
+	private int month;
+	private int dayOfMonth;
+	private int dayOfWeek;
+	private int dayOfYear;
+	private int hour;
+	private int minute;
+	private int second;
+	private int nanosecond;
+
+	public NanoDateTimeFields() {
+	}
+
+	void setDate(int year, int month, int dayOfMonth, int dayOfWeek, int dayOfYear) {
+		this.year = year;
+		this.month = month;
+		this.dayOfMonth = dayOfMonth;
+		this.dayOfWeek = dayOfWeek;
+		this.dayOfYear = dayOfYear;
+	}
+
+	void setTime(int hour, int minute, int second, int nanosecond) {
+		this.hour = hour;
+		this.minute = minute;
+		this.second = second;
+		this.nanosecond = nanosecond;
+	}
+
+	public int getYear() {
+		return year;
+	}
+
+	/**
+	 * @return  the month: 1 indicates January, 2 February, etc.
+	 */
+	public int getMonth() {
+		return month;
+	}
+
+	public int getDayOfMonth() {
+		return dayOfMonth;
+	}
+
+	/**
+	 * @return  the day of the week, as per {@link java.util.Calendar#DAY_OF_WEEK}: 1 indicates Sunday, 2 Monday, etc.
+	 */
+	public int getDayOfWeek() {
+		return dayOfWeek;
+	}
+
+	/**
+	 * @return  the day of the year: 1 indicates the first of January.
+	 */
+	public int getDayOfYear() {
+		return dayOfYear;
+	}
+
+	public int getHour() {
+		return hour;
+	}
+
+	public int getMinute() {
+		return minute;
+	}
+
+	public int getSecond() {
+		return second;
+	}
+
+	public int getNanosecond() {
+		return nanosecond;
+	}
+
+	@Override public String toString() {
+		return String.format("%04d.%02d.%02dT%02d:%02d:%02d.%09d",
+				year, month, dayOfMonth, hour, minute, second, nanosecond);
+	}
+}
@@ -1,20 +1,38 @@
 package com.thalesians.nanotemporals;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.text.DateFormat;
 import java.text.DateFormatSymbols;
+import java.text.DecimalFormat;
 import java.text.FieldPosition;
 import java.text.Format;
 import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
-import java.util.Calendar;
+import java.util.GregorianCalendar;
 import java.util.Locale;
 import java.util.TimeZone;
 
 import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 
 /**
  * The following class adds the following patterns to the ones supported by {@link SimpleDateFormat}: NNNNNNNNN
  * (nanoseconds since the last second), and CCCCCC (microseconds since the last second).
+ * <p/>
+ * The temporal types are formatted, and parsed, with the pattern compiled by {@link NanoDateTimePattern}, where it
+ * supports all the letters of the pattern, and with the {@link SimpleDateFormat} otherwise. Only the compiled pattern
+ * parses the nanoseconds and microseconds; the {@link SimpleDateFormat} stops at the milliseconds.
+ * <p/>
+ * The formats are immutable and thread-safe. The factory methods share them through a bounded registry, keyed by time
+ * zone, pattern, locale and whether the types parsed are zoned, so that repeated parses with the same pattern cost
+ * nothing to set up.
  */
 public class NanoDateTimeFormat extends Format {
 	
@@ -22,20 +40,47 @@ public class NanoDateTimeFormat extends Format {
 	
 	public static final String DEFAULT_DATE_PATTERN = "yyyy.MM.dd";
 	
-	// TODO Once we support parsing (not just formatting) for nanoseconds, we should change this to "HH:mm:ss.NNNNNNNNN" 
-	public static final String DEFAULT_TIME_PATTERN = "HH:mm:ss.SSS";
+	public static final String DEFAULT_TIME_PATTERN = "HH:mm:ss.NNNNNNNNN";
+	
+	public static final String DEFAULT_DATETIME_PATTERN = "yyyy.MM.dd'T'HH:mm:ss.NNNNNNNNN";
 	
-	// TODO Once we support parsing (not just formatting) for nanoseconds, we should change this to
-	// "yyyy.MM.dd'T'HH:mm:ss.NNNNNNNNN" 
-	public static final String DEFAULT_DATETIME_PATTERN = "yyyy.MM.dd'T'HH:mm:ss.SSS";
+	private static final long MILLISECOND = TemporalUnit.MILLISECOND.getWholeNanoseconds();
 	
 	private static final String NNNNNNNNN = "NNNNNNNNN";
 	private static final char NNNNNNNNNchar = 'N';
 	private static final String CCCCCC = "CCCCCC";
 	private static final char CCCCCCchar = 'C';
 	
+	// Per-thread scratch space, into which datetimes are formatted before being written to bytes or an Appendable
+	private static final class Scratch {
+		final NanoDateTimeFields fields = new NanoDateTimeFields();
+		final StringBuffer text = new StringBuffer();
+		final FieldPosition position = new FieldPosition(0);
+		char[] chars = new char[64];
+		// Whether the chars are being appended, to an Appendable that may itself format
+		boolean appending;
+		
+		char[] chars(int length) {
+			if (chars.length < length) {
+				chars = new char[Math.max(length, 2 * chars.length)];
+			}
+			return chars;
+		}
+	}
+	
+	private static final ThreadLocal<Scratch> SCRATCH = new ThreadLocal<Scratch>() {
+		@Override protected Scratch initialValue() {
+			return new Scratch();
+		}
+	};
+	
 	private final SimpleDateFormat simpleDateFormat;
 	private final boolean zonedTemporalTypes;
+	private final String timeZoneId;
+	private final Optional<NanoDateTimePattern> compiledPattern;
+	
+	// The instant of 1900.01.01 00:00 local time, to which the times are added to be formatted
+	private final long timeOrigin;
 	
 	private static final class PatternInfo {
 		private final Optional<String> pattern;
@@ -51,67 +96,116 @@ public class NanoDateTimeFormat extends Format {
 	}
 	
 	private final PatternInfo patternInfo;
-
-	private Calendar calendar;
 	
-	private NanoDateTimeFormat(String timeZoneId, boolean zonedTemporalTypes) {
-		this.patternInfo = preprocessPattern(null);
-		this.simpleDateFormat = new SimpleDateFormat();
-		this.simpleDateFormat.setTimeZone(TimeZone.getTimeZone(timeZoneId));
-		this.zonedTemporalTypes = zonedTemporalTypes;
-	}
+	// The formats of the factory methods but those taking (mutable) DateFormatSymbols, which are shared as immutable
+	private static final Cache<Key, NanoDateTimeFormat> REGISTRY = CacheBuilder.newBuilder()
+			.maximumSize(1000)
+			.build();
 	
-	private NanoDateTimeFormat(String timeZoneId, String pattern, boolean zonedTemporalTypes) {
-		this.patternInfo = preprocessPattern(pattern);
-		this.simpleDateFormat =
-				new SimpleDateFormat(this.patternInfo.pattern.isPresent() ? this.patternInfo.pattern.get() : null);
-		this.simpleDateFormat.setTimeZone(TimeZone.getTimeZone(timeZoneId));
-		this.zonedTemporalTypes = zonedTemporalTypes;
+	private static final class Key {
+		private final String timeZoneId;
+		private final Optional<String> pattern;
+		private final Locale locale;
+		private final boolean zonedTemporalTypes;
+		
+		private Key(String timeZoneId, Optional<String> pattern, Locale locale, boolean zonedTemporalTypes) {
+			this.timeZoneId = timeZoneId;
+			this.pattern = pattern;
+			this.locale = locale;
+			this.zonedTemporalTypes = zonedTemporalTypes;
+		}
+		
+		@Override public int hashCode() {
+			return ((timeZoneId.hashCode() * 31 + pattern.hashCode()) * 31 + locale.hashCode()) * 31
+					+ (zonedTemporalTypes ? 1 : 0);
+		}
+		
+		@Override public boolean equals(Object that) {
+			if (Key.class == that.getClass()) {
+				return this.timeZoneId.equals(((Key) that).timeZoneId) && this.pattern.equals(((Key) that).pattern)
+						&& this.locale.equals(((Key) that).locale)
+						&& this.zonedTemporalTypes == ((Key) that).zonedTemporalTypes;
+			}
+			return false;
+		}
 	}
 	
-	private NanoDateTimeFormat(String timeZoneId, String pattern, DateFormatSymbols formatSymbols, boolean zonedTemporalTypes) {
+	// The SimpleDateFormat is only read, and is cloned for each thread to format or parse with
+	private final transient ThreadLocal<SimpleDateFormat> simpleDateFormats = new ThreadLocal<SimpleDateFormat>() {
+		@Override protected SimpleDateFormat initialValue() {
+			return (SimpleDateFormat) simpleDateFormat.clone();
+		}
+	};
+	
+	/**
+	 * @param  pattern  the pattern, or null for the default (short) pattern of the locale.
+	 * @param  formatSymbols  the symbols, or null for those of the locale.
+	 */
+	private NanoDateTimeFormat(String timeZoneId, String pattern, Locale locale, DateFormatSymbols formatSymbols,
+			boolean zonedTemporalTypes) {
 		this.patternInfo = preprocessPattern(pattern);
-		this.simpleDateFormat =
-				new SimpleDateFormat(this.patternInfo.pattern.isPresent()
-						? this.patternInfo.pattern.get()
-						: null, formatSymbols);
+		if (!this.patternInfo.pattern.isPresent()) {
+			this.simpleDateFormat = (SimpleDateFormat) DateFormat.getDateTimeInstance(DateFormat.SHORT,
+					DateFormat.SHORT, locale);
+		} else if (formatSymbols != null) {
+			this.simpleDateFormat = new SimpleDateFormat(this.patternInfo.pattern.get(), formatSymbols);
+		} else {
+			this.simpleDateFormat = new SimpleDateFormat(this.patternInfo.pattern.get(), locale);
+		}
 		this.simpleDateFormat.setTimeZone(TimeZone.getTimeZone(timeZoneId));
 		this.zonedTemporalTypes = zonedTemporalTypes;
+		this.timeZoneId = timeZoneId;
+		this.compiledPattern = compilePattern(pattern);
+		this.timeOrigin = timeOrigin(timeZoneId);
 	}
 	
-	private NanoDateTimeFormat(String timeZoneId, String pattern, Locale locale, boolean zonedTemporalTypes) {
-		this.patternInfo = preprocessPattern(pattern);
-		this.simpleDateFormat = new SimpleDateFormat(
-				this.patternInfo.pattern.isPresent() ? this.patternInfo.pattern.get() : null, locale);
-		this.simpleDateFormat.setTimeZone(TimeZone.getTimeZone(timeZoneId));
-		this.zonedTemporalTypes = zonedTemporalTypes;
+	private static NanoDateTimeFormat registered(String timeZoneId, String pattern, Locale locale,
+			boolean zonedTemporalTypes) {
+		Key key = new Key(timeZoneId, Optional.fromNullable(pattern), locale, zonedTemporalTypes);
+		NanoDateTimeFormat format = REGISTRY.getIfPresent(key);
+		if (format == null) {
+			// Racing threads may each create the format, to the same effect
+			format = new NanoDateTimeFormat(timeZoneId, pattern, locale, null, zonedTemporalTypes);
+			REGISTRY.put(key, format);
+		}
+		return format;
 	}
 	
 	public static NanoDateTimeFormat of(String timeZoneId, boolean zonedTemporalTypes) {
-		return new NanoDateTimeFormat(timeZoneId, zonedTemporalTypes);
+		return registered(timeZoneId, null, Locale.getDefault(Locale.Category.FORMAT), zonedTemporalTypes);
 	}
 	
 	public static NanoDateTimeFormat of(String timeZoneId, String pattern, boolean zonedTemporalTypes) {
-		return new NanoDateTimeFormat(timeZoneId, pattern, zonedTemporalTypes);
+		return registered(timeZoneId, checkNotNull(pattern), Locale.getDefault(Locale.Category.FORMAT),
+				zonedTemporalTypes);
 	}
 	
+	/**
+	 * Unlike the other factory methods, returns a new format, not shared, as the symbols may be modified.
+	 */
 	public static NanoDateTimeFormat of(String timeZoneId, String pattern, DateFormatSymbols formatSymbols, boolean zonedTemporalTypes) {
-		return new NanoDateTimeFormat(timeZoneId, pattern, formatSymbols, zonedTemporalTypes);
+		return new NanoDateTimeFormat(timeZoneId, checkNotNull(pattern), Locale.getDefault(Locale.Category.FORMAT),
+				checkNotNull(formatSymbols), zonedTemporalTypes);
 	}
 	
 	public static NanoDateTimeFormat of(String timeZoneId, String pattern, Locale locale, boolean zonedTemporalTypes) {
-		return new NanoDateTimeFormat(timeZoneId, pattern, locale, zonedTemporalTypes);
+		return registered(timeZoneId, checkNotNull(pattern), checkNotNull(locale), zonedTemporalTypes);
 	}
 
-	private Calendar getCalendar() {
-		TimeZone timeZone = simpleDateFormat.getTimeZone();
-		if (calendar == null) {
-			calendar = Calendar.getInstance(timeZone);
+	private static long timeOrigin(String timeZoneId) {
+		return TimeZoneRules.of(timeZoneId).fromLocal(
+				CivilCalendar.toEpochDay(1900, 1, 1) * TemporalUnit.DAY.getWholeNanoseconds());
+	}
+	
+	private Optional<NanoDateTimePattern> compilePattern(String pattern) {
+		// Only the Gregorian calendar is compiled, as used by all locales but a few (such as th_TH and ja_JP_JP)
+		if (simpleDateFormat.getCalendar().getClass() != GregorianCalendar.class
+				|| !(simpleDateFormat.getNumberFormat() instanceof DecimalFormat)) {
+			return Optional.absent();
 		}
-		calendar.setLenient(false);
-		calendar.clear();
-	    calendar.setTimeZone(timeZone);
-		return calendar;
+		char zeroDigit = ((DecimalFormat) simpleDateFormat.getNumberFormat()).getDecimalFormatSymbols().getZeroDigit();
+		return NanoDateTimePattern.compile(pattern == null ? simpleDateFormat.toPattern() : pattern,
+				simpleDateFormat.getDateFormatSymbols(), zeroDigit);
 	}
 	
 	private PatternInfo preprocessPattern(String pattern) {
@@ -203,8 +297,48 @@ public class NanoDateTimeFormat extends Format {
 		return new PatternInfo(processedPattern, NNNNNNNNNsQuoted, CCCCCCsQuoted);
 	}
 	
+	private static boolean isTemporal(Object obj) {
+		return obj instanceof NanoDateTime || obj instanceof ZonedNanoDateTime || obj instanceof NanoDate
+				|| obj instanceof ZonedNanoDate || obj instanceof NanoTime;
+	}
+	
+	// The instant formatted for the given temporal object
+	private long toNanosecondsSinceEpoch(Object obj) {
+		if (obj instanceof NanoDateTime) {
+			return ((NanoDateTime) obj).getNanosecondsSinceEpoch();
+		} else if (obj instanceof ZonedNanoDateTime) {
+			return ((ZonedNanoDateTime) obj).getNanosecondsSinceEpoch();
+		} else if (obj instanceof NanoDate) {
+			return ((NanoDate) obj).getNanosecondsSinceEpoch();
+		} else if (obj instanceof ZonedNanoDate) {
+			return ((ZonedNanoDate) obj).getNanosecondsSinceEpoch();
+		}
+		return timeOrigin + ((NanoTime) obj).getNanosecondsSinceMidnight();
+	}
+	
+	String getTimeZoneId() {
+		return timeZoneId;
+	}
+	
+	Optional<NanoDateTimePattern> getCompiledPattern() {
+		return compiledPattern;
+	}
+	
+	private long getOffset(long nanos) {
+		return compiledPattern.get().usesOffset() ? TimeZoneRules.of(timeZoneId).getOffset(nanos) : 0L;
+	}
+	
 	@Override
 	public StringBuffer format(Object obj, StringBuffer toAppendTo, FieldPosition pos) {
+		if (compiledPattern.isPresent()) {
+			if (!isTemporal(obj)) {
+				return simpleDateFormats.get().format(obj, toAppendTo, pos);
+			}
+			long nanos = toNanosecondsSinceEpoch(obj);
+			NanoDateTimeFields fields = NanoEpoch.decompose(timeZoneId, nanos, new NanoDateTimeFields());
+			return compiledPattern.get().format(fields, getOffset(nanos), toAppendTo, pos);
+		}
+		SimpleDateFormat simpleDateFormat = simpleDateFormats.get();
 		StringBuffer sb;
 		long nanos = 0L;
 		boolean postprocessPatterns = true;
@@ -221,11 +355,7 @@ public class NanoDateTimeFormat extends Format {
 			sb = simpleDateFormat.format(((ZonedNanoDate) obj).getMillisecondsSinceEpoch(), toAppendTo, pos);
 			nanos = ((ZonedNanoDate) obj).getNanosecondsSinceEpoch() % TemporalUnit.SECOND.getWholeNanoseconds();
 		} else if (obj instanceof NanoTime) {
-			Calendar calendar = getCalendar();
-		    calendar.set(Calendar.YEAR, 1900);
-		    calendar.set(Calendar.MONTH, 0);
-		    calendar.set(Calendar.DATE, 1);
-			sb = simpleDateFormat.format(calendar.getTimeInMillis() +
+			sb = simpleDateFormat.format(timeOrigin / TemporalUnit.MILLISECOND.getWholeNanoseconds() +
 					((NanoTime) obj).getMillisecondsSinceMidnight(), toAppendTo, pos);
 			nanos = ((NanoTime) obj).getNanosecondsSinceMidnight() % TemporalUnit.SECOND.getWholeNanoseconds(); 
 		} else {
@@ -280,19 +410,186 @@ public class NanoDateTimeFormat extends Format {
 		return sb;
 	}
 
+	// Formats the given object into the chars of the scratch space, through its StringBuffer if the pattern is not
+	// compiled, returning the number of chars
+	private int formatToScratch(Object obj, Scratch scratch) {
+		if (compiledPattern.isPresent() && isTemporal(obj)) {
+			long nanos = toNanosecondsSinceEpoch(obj);
+			NanoEpoch.decompose(timeZoneId, nanos, scratch.fields);
+			return compiledPattern.get().format(scratch.fields, getOffset(nanos),
+					scratch.chars(compiledPattern.get().maxLength()));
+		}
+		StringBuffer text = scratch.text;
+		text.setLength(0);
+		format(obj, text, scratch.position);
+		int length = text.length();
+		text.getChars(0, length, scratch.chars(length), 0);
+		return length;
+	}
+	
+	static byte toAscii(char c) {
+		// As String.getBytes(StandardCharsets.US_ASCII)
+		return c < 0x80 ? (byte) c : (byte) '?';
+	}
+	
+	/**
+	 * Formats the given object into the given array from the given position, as ASCII, any other character being
+	 * written as '?'.
+	 *
+	 * @return  the number of bytes written.
+	 * @throws  IndexOutOfBoundsException  if the array is too short, in which case nothing is written.
+	 */
+	public int format(Object obj, byte[] dest, int destPos) {
+		Scratch scratch = SCRATCH.get();
+		int length = formatToScratch(obj, scratch);
+		checkPositionIndexes(destPos, destPos + length, dest.length);
+		char[] chars = scratch.chars;
+		for (int i = 0; i < length; ++i) {
+			dest[destPos + i] = toAscii(chars[i]);
+		}
+		return length;
+	}
+	
+	/**
+	 * Formats the given object into the given buffer from its position, which is advanced, as ASCII, any other
+	 * character being written as '?'.
+	 *
+	 * @return  the number of bytes written.
+	 * @throws  BufferOverflowException  if the buffer has too little room remaining, in which case nothing is written.
+	 */
+	public int format(Object obj, ByteBuffer dest) {
+		Scratch scratch = SCRATCH.get();
+		int length = formatToScratch(obj, scratch);
+		if (dest.remaining() < length) {
+			throw new BufferOverflowException();
+		}
+		char[] chars = scratch.chars;
+		for (int i = 0; i < length; ++i) {
+			dest.put(toAscii(chars[i]));
+		}
+		return length;
+	}
+	
+	/**
+	 * Appends the given object, formatted, to the given {@link Appendable}.
+	 *
+	 * @return  the number of characters appended.
+	 */
+	public int format(Object obj, Appendable dest) throws IOException {
+		Scratch scratch = SCRATCH.get();
+		if (scratch.appending) {
+			// Formatting from within the Appendable, whose chars would otherwise be overwritten
+			String string = format(obj);
+			dest.append(string);
+			return string.length();
+		}
+		int length = formatToScratch(obj, scratch);
+		scratch.appending = true;
+		try {
+			char[] chars = scratch.chars;
+			for (int i = 0; i < length; ++i) {
+				dest.append(chars[i]);
+			}
+		} finally {
+			scratch.appending = false;
+		}
+		return length;
+	}
+	
+	// Parses from the index of the cursor, with the SimpleDateFormat if the pattern is not compiled
+	private long parse(CharSequence text, ParseCursor cursor) {
+		cursor.setErrorIndex(-1);
+		if (compiledPattern.isPresent()) {
+			return compiledPattern.get().parse(text, cursor, timeZoneId);
+		}
+		// Only the text from the cursor is copied, such as a field rather than the whole of a buffer before it
+		int offset = text instanceof String ? 0 : cursor.getIndex();
+		String string = offset == 0 ? text.toString() : text.subSequence(offset, text.length()).toString();
+		ParsePosition pos = new ParsePosition(cursor.getIndex() - offset);
+		java.util.Date javaUtilDate = (java.util.Date) simpleDateFormats.get().parseObject(string, pos);
+		if (javaUtilDate == null) {
+			cursor.setErrorIndex(pos.getErrorIndex() + offset);
+			return Long.MIN_VALUE;
+		}
+		long millis = javaUtilDate.getTime();
+		if (millis < Long.MIN_VALUE / MILLISECOND || millis > Long.MAX_VALUE / MILLISECOND) {
+			// Beyond the range of epoch nanoseconds
+			cursor.setErrorIndex(cursor.getIndex());
+			return Long.MIN_VALUE;
+		}
+		cursor.setIndex(pos.getIndex() + offset);
+		return millis * MILLISECOND;
+	}
+	
+	/**
+	 * Parses the given text from the index of the given cursor, setting the index to the position following the
+	 * characters read.
+	 *
+	 * @return  the nanoseconds since epoch, or {@link Long#MIN_VALUE}, having set the error index of the cursor, if
+	 * the text does not match the pattern.
+	 */
+	public long parseNanosecondsSinceEpoch(CharSequence text, ParseCursor cursor) {
+		return parse(text, cursor);
+	}
+	
+	/**
+	 * Parses the given range of the given array, of ASCII (or ISO-8859-1) characters, setting the index of the given
+	 * cursor to the position in the array following the characters read.
+	 *
+	 * @return  the nanoseconds since epoch, or {@link Long#MIN_VALUE}, having set the error index of the cursor, if
+	 * the range does not match the pattern.
+	 */
+	public long parseNanosecondsSinceEpoch(byte[] bytes, int offset, int length, ParseCursor cursor) {
+		checkPositionIndexes(offset, offset + length, bytes.length);
+		cursor.reset(offset);
+		return parse(cursor.bytes.set(bytes, offset + length), cursor);
+	}
+	
+	/**
+	 * Parses the given buffer, of ASCII (or ISO-8859-1) characters, from its position to its limit, advancing its
+	 * position past the characters read, to which the index of the given cursor is also set, unless the buffer does
+	 * not match the pattern.
+	 *
+	 * @return  the nanoseconds since epoch, or {@link Long#MIN_VALUE}, having set the error index of the cursor, if
+	 * the buffer does not match the pattern.
+	 */
+	public long parseNanosecondsSinceEpoch(ByteBuffer buffer, ParseCursor cursor) {
+		cursor.reset(buffer.position());
+		long nanos = parse(cursor.bytes.set(buffer), cursor);
+		if (!cursor.isError()) {
+			buffer.position(cursor.getIndex());
+		}
+		return nanos;
+	}
+	
+	/**
+	 * Parses the whole of the given text from the index of the given cursor, as
+	 * {@link #parseNanosecondsSinceEpoch(CharSequence, ParseCursor)} does, but failing where characters remain after
+	 * the datetime. Unlike {@link #parseObject(String)}, a malformed text costs no exception.
+	 *
+	 * @return  the nanoseconds since epoch, or {@link Long#MIN_VALUE}, having set the error index of the cursor, if
+	 * the text does not match the pattern.
+	 */
+	public long tryParse(CharSequence text, ParseCursor cursor) {
+		long nanos = parse(text, cursor);
+		if (!cursor.isError() && cursor.getIndex() != text.length()) {
+			cursor.setErrorIndex(cursor.getIndex());
+			return Long.MIN_VALUE;
+		}
+		return nanos;
+	}
+	
 	@Override
 	public Object parseObject(String obj, ParsePosition pos) {
-		java.util.Date javaUtilDate = (java.util.Date) simpleDateFormat.parseObject(obj, pos);
-		Object result;
-		if (javaUtilDate == null) {
-			result = null;
-		} else {
-			if (zonedTemporalTypes) {
-				result = TemporalArithmetics.toZonedNanoDateTimeForUTCEquivalentOf(simpleDateFormat.getTimeZone().getID(), javaUtilDate);
-			} else {
-				result = TemporalArithmetics.toNanoDateTimeForUTCEquivalentOf(javaUtilDate);
-			}
+		ParseCursor cursor = new ParseCursor(pos.getIndex());
+		long nanos = parse(obj, cursor);
+		if (cursor.isError()) {
+			pos.setErrorIndex(cursor.getErrorIndex());
+			return null;
 		}
-		return result;
+		pos.setIndex(cursor.getIndex());
+		return zonedTemporalTypes
+				? ZonedNanoDateTime.fromNanosecondsSinceEpoch(simpleDateFormat.getTimeZone().getID(), nanos)
+				: NanoDateTime.fromNanosecondsSinceEpoch(nanos);
 	}
 }
@@ -0,0 +1,975 @@
+package com.thalesians.nanotemporals;
+
+import java.text.DateFormat;
+import java.text.DateFormatSymbols;
+import java.text.FieldPosition;
+import java.text.Format;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * A {@link NanoDateTimeFormat} pattern compiled into a list of elements (literals, zero-padded numbers, texts, nano
+ * and microsecond fractions and zone offsets), each of which writes its characters straight into a {@code char[]}
+ * from the decomposed fields of a datetime, and reads them back into the fields of a datetime.
+ * <p/>
+ * The output is the same as that of {@link java.text.SimpleDateFormat}, for a Gregorian calendar, with the
+ * NNNNNNNNN and CCCCCC fractions of {@link NanoDateTimeFormat}. So is the input, as parsed by a lenient
+ * {@link java.text.SimpleDateFormat}, except that the fractions are read down to the nanosecond, that the numbers
+ * are unsigned, so that a text such as <tt>2017.12.-4</tt> fails to parse rather than rolling back, and that only
+ * numeric offsets (and GMT) are read for Z; the texts are matched with a {@link TextTrie}. Only the pattern letters
+ * whose output depends on nothing but the fields and the offset from UTC are compiled;
+ * {@link #compile(String, DateFormatSymbols, char)} returns {@link Optional#absent()} for patterns using any other
+ * letter, which are left to {@link java.text.SimpleDateFormat}.
+ */
+final class NanoDateTimePattern {
+
+	// The pattern letters of SimpleDateFormat, with their DateFormat field ids (see SimpleDateFormat.compile)
+	private static final String PATTERN_LETTERS = "GyMdkHmsSEDFwWahKzZYuXL";
+	private static final int[] PATTERN_INDEX_TO_FIELD_ID = {
+		DateFormat.ERA_FIELD, DateFormat.YEAR_FIELD, DateFormat.MONTH_FIELD, DateFormat.DATE_FIELD,
+		DateFormat.HOUR_OF_DAY1_FIELD, DateFormat.HOUR_OF_DAY0_FIELD, DateFormat.MINUTE_FIELD,
+		DateFormat.SECOND_FIELD, DateFormat.MILLISECOND_FIELD, DateFormat.DAY_OF_WEEK_FIELD,
+		DateFormat.DAY_OF_YEAR_FIELD, DateFormat.DAY_OF_WEEK_IN_MONTH_FIELD, DateFormat.WEEK_OF_YEAR_FIELD,
+		DateFormat.WEEK_OF_MONTH_FIELD, DateFormat.AM_PM_FIELD, DateFormat.HOUR1_FIELD, DateFormat.HOUR0_FIELD,
+		DateFormat.TIMEZONE_FIELD, DateFormat.TIMEZONE_FIELD, DateFormat.YEAR_FIELD, DateFormat.DAY_OF_WEEK_FIELD,
+		DateFormat.TIMEZONE_FIELD, DateFormat.MONTH_FIELD
+	};
+	private static final DateFormat.Field[] PATTERN_INDEX_TO_FIELD = {
+		DateFormat.Field.ERA, DateFormat.Field.YEAR, DateFormat.Field.MONTH, DateFormat.Field.DAY_OF_MONTH,
+		DateFormat.Field.HOUR_OF_DAY1, DateFormat.Field.HOUR_OF_DAY0, DateFormat.Field.MINUTE,
+		DateFormat.Field.SECOND, DateFormat.Field.MILLISECOND, DateFormat.Field.DAY_OF_WEEK,
+		DateFormat.Field.DAY_OF_YEAR, DateFormat.Field.DAY_OF_WEEK_IN_MONTH, DateFormat.Field.WEEK_OF_YEAR,
+		DateFormat.Field.WEEK_OF_MONTH, DateFormat.Field.AM_PM, DateFormat.Field.HOUR1, DateFormat.Field.HOUR0,
+		DateFormat.Field.TIME_ZONE, DateFormat.Field.TIME_ZONE, DateFormat.Field.YEAR,
+		DateFormat.Field.DAY_OF_WEEK, DateFormat.Field.TIME_ZONE, DateFormat.Field.MONTH
+	};
+
+	private static final int NANOSECOND_DIGITS = 9;
+	private static final int MICROSECOND_DIGITS = 6;
+	private static final int MAX_INT_DIGITS = 10;
+
+	private static final long NANOS_PER_MILLISECOND = TemporalUnit.MILLISECOND.getWholeNanoseconds();
+	private static final long NANOS_PER_SECOND = TemporalUnit.SECOND.getWholeNanoseconds();
+	private static final long NANOS_PER_MINUTE = TemporalUnit.MINUTE.getWholeNanoseconds();
+	private static final long NANOS_PER_HOUR = TemporalUnit.HOUR.getWholeNanoseconds();
+	private static final long NANOS_PER_DAY = TemporalUnit.DAY.getWholeNanoseconds();
+
+	// As SimpleDateFormat, two-digit years are read within the century starting 80 years ago
+	private static final int CENTURY_START_OFFSET = 80;
+
+	// The units of the fields written by the elements, from the coarsest: the date fields and the offset from UTC, the
+	// hour (with AM_PM), the minute, the second, and the fraction of the second; literals write no fields
+	static final int NO_FIELDS = -1;
+	static final int DATE_FIELDS = 0;
+	static final int HOUR_FIELDS = 1;
+	static final int MINUTE_FIELDS = 2;
+	static final int SECOND_FIELDS = 3;
+	static final int FRACTION_FIELDS = 4;
+
+	/**
+	 * The fields read by the elements, defaulting, as those of a cleared {@link java.util.Calendar}, to 1970.01.01
+	 * 00:00 local time. Out-of-range values roll over into the next field, as in a lenient {@link java.util.Calendar}.
+	 * They are held by a {@link ParseCursor}, to be reused.
+	 */
+	static final class Parsed {
+		int year;
+		boolean twoDigitYear;
+		int month;
+		int dayOfMonth;
+		int dayOfYear;
+		// Whether the day of the year was read after the month and the day of the month
+		boolean dayOfYearLast;
+		// The hour of the day, if read, takes precedence over the hour of the half day and AM/PM
+		int hourOfDay;
+		int hour;
+		int amPm;
+		int minute;
+		int second;
+		int millisecond;
+		int nanosecond;
+		boolean offsetParsed;
+		long offset;
+
+		// The scratch space of the FixedWidthPattern
+		private long[] words = new long[0];
+		private char[] chars = new char[0];
+
+		Parsed() {
+			reset();
+		}
+
+		long[] words(int length) {
+			if (words.length < length) {
+				words = new long[length];
+			}
+			return words;
+		}
+
+		char[] chars(int length) {
+			if (chars.length < length) {
+				chars = new char[length];
+			}
+			return chars;
+		}
+
+		void reset() {
+			year = 1970;
+			twoDigitYear = false;
+			month = 1;
+			dayOfMonth = 1;
+			dayOfYear = 0;
+			dayOfYearLast = false;
+			hourOfDay = -1;
+			hour = 0;
+			amPm = 0;
+			minute = 0;
+			second = 0;
+			millisecond = 0;
+			nanosecond = 0;
+			offsetParsed = false;
+			offset = 0L;
+		}
+
+		void set(NumericField field, int value) {
+			switch (field) {
+			case YEAR:
+				year = value;
+				break;
+			case MONTH:
+				month = value;
+				dayOfYearLast = false;
+				break;
+			case DAY_OF_MONTH:
+				dayOfMonth = value;
+				dayOfYearLast = false;
+				break;
+			case HOUR_OF_DAY1:
+				hourOfDay = value == 24 ? 0 : value;
+				break;
+			case HOUR_OF_DAY0:
+				hourOfDay = value;
+				break;
+			case MINUTE:
+				minute = value;
+				break;
+			case SECOND:
+				second = value;
+				break;
+			case MILLISECOND:
+				millisecond = value;
+				break;
+			case DAY_OF_YEAR:
+				dayOfYear = value;
+				dayOfYearLast = true;
+				break;
+			case HOUR1:
+				hour = value == 12 ? 0 : value;
+				break;
+			case HOUR0:
+				hour = value;
+				break;
+			case AM_PM:
+				amPm = value;
+				break;
+			default:
+				// The days of the week are implied by the dates
+				break;
+			}
+		}
+
+		long toNanosecondsSinceEpoch(String timeZoneId, long centuryStart) {
+			if (!twoDigitYear) {
+				return toNanosecondsSinceEpoch(timeZoneId, year);
+			}
+			int centuryStartYear = NanoEpoch.getYear(centuryStart);
+			int ambiguousYear = centuryStartYear % 100;
+			int century = centuryStartYear / 100 * 100;
+			long nanos = toNanosecondsSinceEpoch(timeZoneId, century + year + (year < ambiguousYear ? 100 : 0));
+			// The year of the century start is in the next century if the datetime is before the century start
+			return year == ambiguousYear && nanos < centuryStart
+					? toNanosecondsSinceEpoch(timeZoneId, century + year + 100)
+					: nanos;
+		}
+
+		private long toNanosecondsSinceEpoch(String timeZoneId, int year) {
+			long epochDay;
+			if (dayOfYearLast) {
+				epochDay = CivilCalendar.toEpochDay(year, 1, 1) + dayOfYear - 1;
+			} else {
+				int months = month - 1;
+				epochDay = CivilCalendar.toEpochDay(year + Math.floorDiv(months, 12), Math.floorMod(months, 12) + 1, 1)
+						+ dayOfMonth - 1;
+			}
+			long hours = hourOfDay >= 0 ? hourOfDay : hour + 12L * amPm;
+			// The fields are lenient, so may add up to any time, beyond the range of epoch nanoseconds
+			long local = Math.multiplyExact(epochDay, NANOS_PER_DAY);
+			local = Math.addExact(local, Math.multiplyExact(hours, NANOS_PER_HOUR));
+			local = Math.addExact(local, Math.multiplyExact(minute, NANOS_PER_MINUTE));
+			local = Math.addExact(local, Math.multiplyExact(second, NANOS_PER_SECOND));
+			local = Math.addExact(local, millisecond * NANOS_PER_MILLISECOND + nanosecond);
+			return offsetParsed ? Math.subtractExact(local, offset) : TimeZoneRules.of(timeZoneId).fromLocal(local);
+		}
+	}
+
+	// As SimpleDateFormat, spaces and tabs are skipped before the fields
+	private static int skipBlanks(CharSequence text, int position) {
+		while (position < text.length() && (text.charAt(position) == ' ' || text.charAt(position) == '\t')) {
+			++position;
+		}
+		return position;
+	}
+
+	private static int digitAt(CharSequence text, int position) {
+		return position < text.length() ? Character.digit(text.charAt(position), 10) : -1;
+	}
+
+	enum NumericField {
+		YEAR {
+			@Override int get(NanoDateTimeFields fields) {
+				return fields.getYear();
+			}
+		},
+		MONTH {
+			@Override int get(NanoDateTimeFields fields) {
+				return fields.getMonth();
+			}
+		},
+		DAY_OF_MONTH {
+			@Override int get(NanoDateTimeFields fields) {
+				return fields.getDayOfMonth();
+			}
+		},
+		HOUR_OF_DAY1 {
+			@Override int get(NanoDateTimeFields fields) {
+				return fields.getHour() == 0 ? 24 : fields.getHour();
+			}
+		},
+		HOUR_OF_DAY0 {
+			@Override int get(NanoDateTimeFields fields) {
+				return fields.getHour();
+			}
+		},
+		MINUTE {
+			@Override int get(NanoDateTimeFields fields) {
+				return fields.getMinute();
+			}
+		},
+		SECOND {
+			@Override int get(NanoDateTimeFields fields) {
+				return fields.getSecond();
+			}
+		},
+		MILLISECOND {
+			@Override int get(NanoDateTimeFields fields) {
+				return (int) (fields.getNanosecond() / NANOS_PER_MILLISECOND);
+			}
+		},
+		DAY_OF_YEAR {
+			@Override int get(NanoDateTimeFields fields) {
+				return fields.getDayOfYear();
+			}
+		},
+		DAY_OF_WEEK_IN_MONTH {
+			@Override int get(NanoDateTimeFields fields) {
+				return (fields.getDayOfMonth() - 1) / 7 + 1;
+			}
+		},
+		HOUR1 {
+			@Override int get(NanoDateTimeFields fields) {
+				return fields.getHour() % 12 == 0 ? 12 : fields.getHour() % 12;
+			}
+		},
+		HOUR0 {
+			@Override int get(NanoDateTimeFields fields) {
+				return fields.getHour() % 12;
+			}
+		},
+		DAY_NUMBER_OF_WEEK {
+			@Override int get(NanoDateTimeFields fields) {
+				return fields.getDayOfWeek() == 1 ? 7 : fields.getDayOfWeek() - 1;
+			}
+		},
+		DAY_OF_WEEK {
+			@Override int get(NanoDateTimeFields fields) {
+				return fields.getDayOfWeek();
+			}
+		},
+		AM_PM {
+			@Override int get(NanoDateTimeFields fields) {
+				return fields.getHour() < 12 ? 0 : 1;
+			}
+		};
+
+		abstract int get(NanoDateTimeFields fields);
+	}
+
+	private abstract static class Element {
+		// The index of the pattern letter in PATTERN_LETTERS, or -1 for literals
+		final int patternIndex;
+
+		Element(int patternIndex) {
+			this.patternIndex = patternIndex;
+		}
+
+		/**
+		 * @return  the unit of the fields written, from {@link #DATE_FIELDS} to {@link #FRACTION_FIELDS}, or
+		 * {@link #NO_FIELDS}.
+		 */
+		int unit() {
+			switch (PATTERN_LETTERS.charAt(patternIndex)) {
+			case 'k':
+			case 'H':
+			case 'a':
+			case 'h':
+			case 'K':
+				return HOUR_FIELDS;
+			case 'm':
+				return MINUTE_FIELDS;
+			case 's':
+				return SECOND_FIELDS;
+			case 'S':
+				return FRACTION_FIELDS;
+			default:
+				return DATE_FIELDS;
+			}
+		}
+
+		abstract int maxLength();
+
+		/**
+		 * @return  the position following the characters written.
+		 */
+		abstract int format(NanoDateTimeFields fields, long offset, char[] buffer, int position);
+
+		/**
+		 * @param  obeyCount  whether the element abuts the next field, in which case a number is read in no more
+		 * characters, including the blanks before it, than the digits in the pattern.
+		 * @return  the position following the characters read, or the bitwise complement of the error position.
+		 */
+		abstract int parse(CharSequence text, int position, boolean obeyCount, Parsed parsed);
+	}
+
+	private static final class Literal extends Element {
+		private final char[] text;
+
+		Literal(String text) {
+			super(-1);
+			this.text = text.toCharArray();
+		}
+
+		@Override int unit() {
+			return NO_FIELDS;
+		}
+
+		@Override int maxLength() {
+			return text.length;
+		}
+
+		@Override int format(NanoDateTimeFields fields, long offset, char[] buffer, int position) {
+			System.arraycopy(text, 0, buffer, position, text.length);
+			return position + text.length;
+		}
+
+		@Override int parse(CharSequence text, int position, boolean obeyCount, Parsed parsed) {
+			for (int i = 0; i < this.text.length; ++i) {
+				if (position + i >= text.length() || text.charAt(position + i) != this.text[i]) {
+					return ~(position + i);
+				}
+			}
+			return position + this.text.length;
+		}
+	}
+
+	private static final class Numeric extends Element {
+		private final NumericField field;
+		private final int minDigits;
+		private final int maxDigits;
+		private final char zeroDigit;
+
+		Numeric(int patternIndex, NumericField field, int minDigits, int maxDigits, char zeroDigit) {
+			super(patternIndex);
+			this.field = field;
+			this.minDigits = minDigits;
+			this.maxDigits = maxDigits;
+			this.zeroDigit = zeroDigit;
+		}
+
+		@Override int maxLength() {
+			return Math.max(minDigits, MAX_INT_DIGITS);
+		}
+
+		@Override int format(NanoDateTimeFields fields, long offset, char[] buffer, int position) {
+			int value = field.get(fields);
+			int digits = 1;
+			for (int v = value / 10; v != 0 && digits < maxDigits; v /= 10) {
+				++digits;
+			}
+			int end = position + Math.max(digits, minDigits);
+			for (int i = end - 1; i >= position; --i) {
+				buffer[i] = (char) (zeroDigit + value % 10);
+				value /= 10;
+			}
+			return end;
+		}
+
+		@Override int parse(CharSequence text, int position, boolean obeyCount, Parsed parsed) {
+			int start = skipBlanks(text, position);
+			// As SimpleDateFormat, the digits of an abutting number are counted from before the blanks, and must fit
+			int end = obeyCount ? position + minDigits : text.length();
+			if (end > text.length()) {
+				return ~position;
+			}
+			long value = 0L;
+			int i = start;
+			for (int digit; i < end && (digit = digitAt(text, i)) >= 0; ++i) {
+				value = value * 10 + digit;
+				if (value > Integer.MAX_VALUE) {
+					return ~position;
+				}
+			}
+			if (i == start) {
+				return ~position;
+			}
+			if (field == NumericField.YEAR) {
+				parsed.twoDigitYear = minDigits <= 2 && i - start == 2;
+			}
+			parsed.set(field, (int) value);
+			return i;
+		}
+	}
+
+	private static final class Text extends Element {
+		private final NumericField field;
+		private final char[][] texts;
+		private final int first;
+		private final TextTrie trie;
+
+		// The text of a field value v is texts[v - first]; the trie may match other texts too
+		Text(int patternIndex, NumericField field, String[] texts, int first, TextTrie trie) {
+			super(patternIndex);
+			this.field = field;
+			this.first = first;
+			this.trie = trie;
+			this.texts = new char[texts.length][];
+			for (int i = 0; i < texts.length; ++i) {
+				this.texts[i] = texts[i].toCharArray();
+			}
+		}
+
+		@Override int maxLength() {
+			int maxLength = 0;
+			for (char[] text : texts) {
+				maxLength = Math.max(maxLength, text.length);
+			}
+			return maxLength;
+		}
+
+		@Override int format(NanoDateTimeFields fields, long offset, char[] buffer, int position) {
+			char[] text = texts[field.get(fields) - first];
+			System.arraycopy(text, 0, buffer, position, text.length);
+			return position + text.length;
+		}
+
+		@Override int parse(CharSequence text, int position, boolean obeyCount, Parsed parsed) {
+			long match = trie.match(text, skipBlanks(text, position));
+			if (match < 0) {
+				return ~position;
+			}
+			parsed.set(field, (int) match);
+			return (int) (match >>> 32);
+		}
+	}
+
+	private static final class Fraction extends Element {
+		private final int digits;
+
+		Fraction(int digits) {
+			// There is no DateFormat field for the fractions
+			super(-1);
+			this.digits = digits;
+		}
+
+		@Override int unit() {
+			return FRACTION_FIELDS;
+		}
+
+		@Override int maxLength() {
+			return digits;
+		}
+
+		@Override int format(NanoDateTimeFields fields, long offset, char[] buffer, int position) {
+			int value = fields.getNanosecond();
+			for (int i = NANOSECOND_DIGITS; i > digits; --i) {
+				value /= 10;
+			}
+			for (int i = position + digits - 1; i >= position; --i) {
+				buffer[i] = (char) ('0' + value % 10);
+				value /= 10;
+			}
+			return position + digits;
+		}
+
+		@Override int parse(CharSequence text, int position, boolean obeyCount, Parsed parsed) {
+			// Fewer digits than in the pattern are read as a shorter decimal fraction
+			int end = Math.min(position + digits, text.length());
+			int value = 0;
+			int i = position;
+			for (int digit; i < end && (digit = digitAt(text, i)) >= 0; ++i) {
+				value = value * 10 + digit;
+			}
+			if (i == position) {
+				return ~position;
+			}
+			for (int j = i - position; j < NANOSECOND_DIGITS; ++j) {
+				value *= 10;
+			}
+			parsed.nanosecond = value;
+			return i;
+		}
+	}
+
+	private static final class ZoneOffset extends Element {
+		private static final String GMT = "GMT";
+
+		private final char letter;
+		private final int count;
+
+		ZoneOffset(int patternIndex, char letter, int count) {
+			super(patternIndex);
+			this.letter = letter;
+			this.count = count;
+		}
+
+		@Override int maxLength() {
+			return 6;
+		}
+
+		@Override int format(NanoDateTimeFields fields, long offset, char[] buffer, int position) {
+			if (letter == 'X' && offset == 0) {
+				buffer[position++] = 'Z';
+				return position;
+			}
+			// As SimpleDateFormat, truncating the offset to whole minutes
+			int minutes = (int) (offset / NANOS_PER_MINUTE);
+			buffer[position++] = minutes >= 0 ? '+' : '-';
+			minutes = Math.abs(minutes);
+			position = twoDigits(minutes / 60, buffer, position);
+			if (letter == 'X' && count == 1) {
+				return position;
+			}
+			if (letter == 'X' && count == 3) {
+				buffer[position++] = ':';
+			}
+			return twoDigits(minutes % 60, buffer, position);
+		}
+
+		private static int twoDigits(int value, char[] buffer, int position) {
+			buffer[position] = (char) ('0' + value / 10);
+			buffer[position + 1] = (char) ('0' + value % 10);
+			return position + 2;
+		}
+
+		@Override int parse(CharSequence text, int position, boolean obeyCount, Parsed parsed) {
+			int start = skipBlanks(text, position);
+			if (start >= text.length()) {
+				return ~position;
+			}
+			char c = text.charAt(start);
+			if (letter == 'X') {
+				if (c == 'Z') {
+					parsed.offsetParsed = true;
+					parsed.offset = 0L;
+					return start + 1;
+				}
+				return c == '+' || c == '-' ? parseNumeric(text, start + 1, c == '+', count, count == 3, parsed) : ~start;
+			}
+			if (c == '+' || c == '-') {
+				return parseNumeric(text, start + 1, c == '+', 0, false, parsed);
+			}
+			int end = start + GMT.length();
+			if (matchesGmt(text, start)) {
+				if (end < text.length() && (text.charAt(end) == '+' || text.charAt(end) == '-')) {
+					return parseNumeric(text, end + 1, text.charAt(end) == '+', 0, true, parsed);
+				}
+				parsed.offsetParsed = true;
+				parsed.offset = 0L;
+				return end;
+			}
+			return ~start;
+		}
+
+		private static boolean matchesGmt(CharSequence text, int position) {
+			if (position + GMT.length() > text.length()) {
+				return false;
+			}
+			for (int i = 0; i < GMT.length(); ++i) {
+				if (Character.toUpperCase(text.charAt(position + i)) != GMT.charAt(i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		// As SimpleDateFormat.subParseNumericZone, reading hh[[:]mm] as per the count of X, or as RFC 822 if 0
+		private static int parseNumeric(CharSequence text, int start, boolean positive, int count, boolean colon,
+				Parsed parsed) {
+			int position = start;
+			int hours = digitAt(text, position++);
+			if (hours < 0) {
+				return ~start;
+			}
+			int digit = digitAt(text, position);
+			if (digit >= 0) {
+				hours = hours * 10 + digit;
+				++position;
+			} else if (count > 0 || !colon) {
+				return ~start;
+			}
+			if (hours > 23) {
+				return ~start;
+			}
+			int minutes = 0;
+			if (count != 1) {
+				if (colon) {
+					if (position >= text.length() || text.charAt(position) != ':') {
+						return ~start;
+					}
+					++position;
+				}
+				int tens = digitAt(text, position);
+				int units = digitAt(text, position + 1);
+				if (tens < 0 || units < 0 || tens * 10 + units > 59) {
+					return ~start;
+				}
+				minutes = tens * 10 + units;
+				position += 2;
+			}
+			parsed.offsetParsed = true;
+			parsed.offset = (positive ? 1 : -1) * (hours * 60 + minutes) * NANOS_PER_MINUTE;
+			return position;
+		}
+	}
+
+	private final ImmutableList<Element> elements;
+	private final int[] units;
+	private final int maxLength;
+	private final boolean usesOffset;
+	// Whether each element is followed by a field rather than a literal
+	private final boolean[] abutting;
+	private final Optional<FixedWidthPattern> fixedWidthPattern;
+	// The start of the century within which two-digit years are read
+	private final long centuryStart;
+
+	private NanoDateTimePattern(ImmutableList<Element> elements) {
+		this.elements = elements;
+		int maxLength = 0;
+		boolean usesOffset = false;
+		this.units = new int[elements.size()];
+		this.abutting = new boolean[elements.size()];
+		for (int i = 0; i < elements.size(); ++i) {
+			units[i] = elements.get(i).unit();
+			maxLength += elements.get(i).maxLength();
+			usesOffset |= elements.get(i) instanceof ZoneOffset;
+			abutting[i] = i + 1 < elements.size() && !(elements.get(i + 1) instanceof Literal);
+		}
+		this.maxLength = maxLength;
+		this.usesOffset = usesOffset;
+		this.fixedWidthPattern = fixedWidthPattern(elements, abutting);
+		this.centuryStart = NanoEpoch.plusYears(System.currentTimeMillis() * NANOS_PER_MILLISECOND,
+				-CENTURY_START_OFFSET);
+	}
+
+	/**
+	 * @return  the {@link FixedWidthPattern} reading the same fields as the given elements from the texts it matches,
+	 * or {@link Optional#absent()} if the elements are not all ASCII literals, fractions and numbers of a fixed number
+	 * of digits.
+	 */
+	private static Optional<FixedWidthPattern> fixedWidthPattern(ImmutableList<Element> elements, boolean[] abutting) {
+		FixedWidthPattern.Builder builder = FixedWidthPattern.builder();
+		for (int i = 0; i < elements.size(); ++i) {
+			Element element = elements.get(i);
+			if (element instanceof Literal) {
+				for (char c : ((Literal) element).text) {
+					if (c >= 0x80) {
+						return Optional.absent();
+					}
+				}
+				builder.literal(new String(((Literal) element).text));
+			} else if (element instanceof Fraction) {
+				builder.fraction(((Fraction) element).digits);
+			} else if (element instanceof Numeric) {
+				Numeric numeric = (Numeric) element;
+				// Two-digit years are read within a century, and a number not abutting the next field is read on
+				// while there are digits, including those of a literal
+				if (numeric.minDigits > FixedWidthPattern.MAX_DIGITS
+						|| numeric.field == NumericField.YEAR && numeric.minDigits <= 2
+						|| !abutting[i] && i + 1 < elements.size()
+								&& Character.digit(((Literal) elements.get(i + 1)).text[0], 10) >= 0) {
+					return Optional.absent();
+				}
+				builder.number(numeric.field, numeric.minDigits);
+			} else {
+				return Optional.absent();
+			}
+		}
+		return Optional.of(builder.build());
+	}
+
+	/**
+	 * Compiles the given pattern, in the syntax of {@link java.text.SimpleDateFormat} extended with NNNNNNNNN and
+	 * CCCCCC, which is assumed to have been validated by a {@link java.text.SimpleDateFormat}.
+	 *
+	 * @param  zeroDigit  the zero digit of the numbers, as per {@link java.text.DecimalFormatSymbols#getZeroDigit()}
+	 * @return  the compiled pattern, or {@link Optional#absent()} if the pattern uses a letter that cannot be compiled.
+	 */
+	static Optional<NanoDateTimePattern> compile(String pattern, DateFormatSymbols symbols, char zeroDigit) {
+		List<Element> elements = new ArrayList<>();
+		StringBuilder literal = new StringBuilder();
+		boolean quoted = false;
+		int i = 0;
+		while (i < pattern.length()) {
+			char c = pattern.charAt(i);
+			if (c == '\'') {
+				if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+					literal.append('\'');
+					i += 2;
+				} else {
+					quoted = !quoted;
+					++i;
+				}
+				continue;
+			}
+			if (quoted || !(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z')) {
+				literal.append(c);
+				++i;
+				continue;
+			}
+			int count = 1;
+			while (i + count < pattern.length() && pattern.charAt(i + count) == c) {
+				++count;
+			}
+			i += count;
+			if (literal.length() > 0) {
+				elements.add(new Literal(literal.toString()));
+				literal.setLength(0);
+			}
+			if (c == 'N' || c == 'C') {
+				int digits = c == 'N' ? NANOSECOND_DIGITS : MICROSECOND_DIGITS;
+				if (count % digits != 0) {
+					throw new IllegalArgumentException("Illegal pattern character '" + c + "'");
+				}
+				for (int j = 0; j < count / digits; ++j) {
+					elements.add(new Fraction(digits));
+				}
+				continue;
+			}
+			Optional<Element> element = compileField(c, count, symbols, zeroDigit);
+			if (!element.isPresent()) {
+				return Optional.absent();
+			}
+			elements.add(element.get());
+		}
+		if (literal.length() > 0) {
+			elements.add(new Literal(literal.toString()));
+		}
+		return Optional.of(new NanoDateTimePattern(ImmutableList.copyOf(elements)));
+	}
+
+	private static Optional<Element> compileField(char letter, int count, DateFormatSymbols symbols, char zeroDigit) {
+		int patternIndex = PATTERN_LETTERS.indexOf(letter);
+		if (patternIndex < 0) {
+			throw new IllegalArgumentException("Illegal pattern character '" + letter + "'");
+		}
+		switch (letter) {
+		case 'y':
+			return Optional.<Element>of(count == 2
+					? new Numeric(patternIndex, NumericField.YEAR, 2, 2, zeroDigit)
+					: new Numeric(patternIndex, NumericField.YEAR, count, Integer.MAX_VALUE, zeroDigit));
+		case 'M':
+			if (count >= 3) {
+				// As SimpleDateFormat, both the full and short names are read, whatever the count
+				return Optional.<Element>of(new Text(patternIndex, NumericField.MONTH,
+						count >= 4 ? symbols.getMonths() : symbols.getShortMonths(), 1,
+						TextTrie.of(1, symbols.getMonths(), symbols.getShortMonths())));
+			}
+			return number(patternIndex, NumericField.MONTH, count, zeroDigit);
+		case 'd':
+			return number(patternIndex, NumericField.DAY_OF_MONTH, count, zeroDigit);
+		case 'k':
+			return number(patternIndex, NumericField.HOUR_OF_DAY1, count, zeroDigit);
+		case 'H':
+			return number(patternIndex, NumericField.HOUR_OF_DAY0, count, zeroDigit);
+		case 'm':
+			return number(patternIndex, NumericField.MINUTE, count, zeroDigit);
+		case 's':
+			return number(patternIndex, NumericField.SECOND, count, zeroDigit);
+		case 'S':
+			return number(patternIndex, NumericField.MILLISECOND, count, zeroDigit);
+		case 'E':
+			return Optional.<Element>of(new Text(patternIndex, NumericField.DAY_OF_WEEK,
+					count >= 4 ? symbols.getWeekdays() : symbols.getShortWeekdays(), 0,
+					TextTrie.of(0, symbols.getWeekdays(), symbols.getShortWeekdays())));
+		case 'D':
+			return number(patternIndex, NumericField.DAY_OF_YEAR, count, zeroDigit);
+		case 'F':
+			return number(patternIndex, NumericField.DAY_OF_WEEK_IN_MONTH, count, zeroDigit);
+		case 'a':
+			return Optional.<Element>of(new Text(patternIndex, NumericField.AM_PM, symbols.getAmPmStrings(), 0,
+					TextTrie.of(0, symbols.getAmPmStrings())));
+		case 'h':
+			return number(patternIndex, NumericField.HOUR1, count, zeroDigit);
+		case 'K':
+			return number(patternIndex, NumericField.HOUR0, count, zeroDigit);
+		case 'u':
+			return number(patternIndex, NumericField.DAY_NUMBER_OF_WEEK, count, zeroDigit);
+		case 'Z':
+		case 'X':
+			return Optional.<Element>of(new ZoneOffset(patternIndex, letter, count));
+		default:
+			// Eras, weeks, week years, zone names and standalone months
+			return Optional.absent();
+		}
+	}
+
+	private static Optional<Element> number(int patternIndex, NumericField field, int count, char zeroDigit) {
+		return Optional.<Element>of(new Numeric(patternIndex, field, count, Integer.MAX_VALUE, zeroDigit));
+	}
+
+	boolean usesOffset() {
+		return usesOffset;
+	}
+
+	/**
+	 * @return  the maximum number of characters written by {@link #format(NanoDateTimeFields, long, char[])}.
+	 */
+	int maxLength() {
+		return maxLength;
+	}
+
+	/**
+	 * Writes the given fields, and offset from UTC in nanoseconds, to the given buffer from its start.
+	 *
+	 * @return  the number of characters written.
+	 */
+	int format(NanoDateTimeFields fields, long offset, char[] buffer) {
+		int position = 0;
+		for (int i = 0; i < elements.size(); ++i) {
+			position = elements.get(i).format(fields, offset, buffer, position);
+		}
+		return position;
+	}
+
+	int elementCount() {
+		return elements.size();
+	}
+
+	/**
+	 * Writes the given fields, and offset from UTC in nanoseconds, to the given buffer from its start, setting the
+	 * position following each element in the given array, of {@link #elementCount()} positions.
+	 *
+	 * @return  the number of characters written.
+	 */
+	int format(NanoDateTimeFields fields, long offset, char[] buffer, int[] ends) {
+		int position = 0;
+		for (int i = 0; i < elements.size(); ++i) {
+			position = elements.get(i).format(fields, offset, buffer, position);
+			ends[i] = position;
+		}
+		return position;
+	}
+
+	/**
+	 * Writes the given fields over those written by the previous call to this method, or to
+	 * {@link #format(NanoDateTimeFields, long, char[], int[])}, with the same buffer and array of positions, rewriting
+	 * only the elements of the fields that changed, and those following any element whose length changed.
+	 *
+	 * @param  changed  the coarsest unit of the fields that changed, from {@link #DATE_FIELDS}, which include the offset
+	 * from UTC, to {@link #FRACTION_FIELDS}.
+	 * @return  the number of characters in the buffer.
+	 */
+	int reformat(NanoDateTimeFields fields, long offset, char[] buffer, int[] ends, int changed) {
+		int position = 0;
+		boolean moved = false;
+		for (int i = 0; i < elements.size(); ++i) {
+			int end = ends[i];
+			if (moved || units[i] >= changed) {
+				end = elements.get(i).format(fields, offset, buffer, position);
+				moved |= end != ends[i];
+				ends[i] = end;
+			}
+			position = end;
+		}
+		return position;
+	}
+
+	/**
+	 * Appends the given fields, and offset from UTC in nanoseconds, to the given buffer, setting the given field
+	 * position to the first field it identifies, if any, as {@link java.text.SimpleDateFormat} does.
+	 */
+	StringBuffer format(NanoDateTimeFields fields, long offset, StringBuffer toAppendTo, FieldPosition pos) {
+		char[] buffer = new char[maxLength];
+		int position = 0;
+		boolean fieldFound = false;
+		for (Element element : elements) {
+			int start = position;
+			position = element.format(fields, offset, buffer, position);
+			if (!fieldFound && element.patternIndex >= 0 && matches(pos, element.patternIndex)) {
+				pos.setBeginIndex(toAppendTo.length() + start);
+				pos.setEndIndex(toAppendTo.length() + position);
+				fieldFound = true;
+			}
+		}
+		return toAppendTo.append(buffer, 0, position);
+	}
+
+	private static boolean matches(FieldPosition pos, int patternIndex) {
+		Format.Field attribute = pos.getFieldAttribute();
+		return attribute != null
+				? attribute == PATTERN_INDEX_TO_FIELD[patternIndex]
+				: pos.getField() == PATTERN_INDEX_TO_FIELD_ID[patternIndex];
+	}
+
+	/**
+	 * Parses the given text from the index of the given cursor, setting the index to the position following the
+	 * characters read. The datetime is read in the given time zone, unless the text has an offset from UTC.
+	 *
+	 * @return  the nanoseconds since epoch, or {@link Long#MIN_VALUE}, having set the error index of the cursor, if
+	 * the text does not match the pattern.
+	 */
+	long parse(CharSequence text, ParseCursor cursor, String timeZoneId) {
+		Parsed parsed = cursor.parsed;
+		parsed.reset();
+		int start = cursor.getIndex();
+		if (fixedWidthPattern.isPresent()) {
+			int end = fixedWidthPattern.get().parse(text, start, parsed);
+			if (end >= 0) {
+				return toNanosecondsSinceEpoch(parsed, timeZoneId, cursor, start, end);
+			}
+		}
+		int position = start;
+		for (int i = 0; i < elements.size(); ++i) {
+			position = elements.get(i).parse(text, position, abutting[i], parsed);
+			if (position < 0) {
+				cursor.setErrorIndex(~position);
+				return Long.MIN_VALUE;
+			}
+		}
+		return toNanosecondsSinceEpoch(parsed, timeZoneId, cursor, start, position);
+	}
+
+	// A datetime beyond the range of epoch nanoseconds is an error at the start of the text parsed
+	private long toNanosecondsSinceEpoch(Parsed parsed, String timeZoneId, ParseCursor cursor, int start, int end) {
+		long nanos;
+		try {
+			nanos = parsed.toNanosecondsSinceEpoch(timeZoneId, centuryStart);
+		} catch (ArithmeticException e) {
+			cursor.setErrorIndex(start);
+			return Long.MIN_VALUE;
+		}
+		cursor.setIndex(end);
+		return nanos;
+	}
+}
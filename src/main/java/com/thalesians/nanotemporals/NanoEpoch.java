@@ -0,0 +1,499 @@
+package com.thalesians.nanotemporals;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * Primitive counterparts of the {@link TemporalArithmetics} methods, operating directly on {@code long}s so that hot
+ * loops never need to create temporal objects.
+ * <p/>
+ * Datetimes and dates are represented by their nanoseconds since epoch, as returned by
+ * {@link NanoDateTime#getNanosecondsSinceEpoch()} and {@link NanoDate#getNanosecondsSinceEpoch()}; times by their
+ * nanoseconds since midnight, as returned by {@link NanoTime#getNanosecondsSinceMidnight()}. The zoned types are
+ * handled by passing their {@code getTimeZoneId()} to the methods that take a time zone id. Methods operating on dates
+ * are prefixed with {@code date}, those operating on times with {@code time}. Since the units of fixed length do not
+ * depend on the time zone, the methods adding seconds and smaller units take no time zone id.
+ * <p/>
+ * Every method returns the same value as the corresponding {@link TemporalArithmetics} method would hold in the
+ * resulting object.
+ */
+public final class NanoEpoch {
+
+	private static final long NANOS_PER_MICROSECOND = TemporalUnit.MICROSECOND.getWholeNanoseconds();
+	private static final long NANOS_PER_MILLISECOND = TemporalUnit.MILLISECOND.getWholeNanoseconds();
+	private static final long NANOS_PER_SECOND = TemporalUnit.SECOND.getWholeNanoseconds();
+	private static final long NANOS_PER_MINUTE = TemporalUnit.MINUTE.getWholeNanoseconds();
+	private static final long NANOS_PER_HOUR = TemporalUnit.HOUR.getWholeNanoseconds();
+	private static final long NANOS_PER_DAY = TemporalUnit.DAY.getWholeNanoseconds();
+
+	// Those of NanoDateTime.MIN and NanoDateTime.MAX
+	private static final long MIN_NANOSECONDS_SINCE_EPOCH = -2208988800000000000L;
+	private static final long MAX_NANOSECONDS_SINCE_EPOCH = Long.MAX_VALUE;
+	private static final long MIDDAY = NANOS_PER_DAY / 2;
+
+	private NanoEpoch() {
+		throw new IllegalStateException("This class may not be instantiated");
+	}
+
+	private static boolean isUTC(String timeZoneId) {
+		return timeZoneId == TemporalArithmetics.UTC || timeZoneId.equals(TemporalArithmetics.UTC);
+	}
+
+	/**
+	 * @return  the date, as held by {@link NanoDate#fromNanosecondsSinceEpoch(long)}, on which the given datetime falls.
+	 */
+	public static long toDate(long nanosecondsSinceEpoch) {
+		return nanosecondsSinceEpoch - (nanosecondsSinceEpoch % NANOS_PER_DAY);
+	}
+
+	/**
+	 * @return  the time, as held by {@link NanoDateTime#getTime()}, of the given datetime.
+	 */
+	public static long toTime(long nanosecondsSinceEpoch) {
+		return nanosecondsSinceEpoch % NANOS_PER_DAY;
+	}
+
+	public static long fromDateAndTime(long date, long time) {
+		return date + time;
+	}
+
+	/**
+	 * @return  the number of whole days from 1970.01.01 to the UTC date on which the given datetime falls; negative
+	 *          before 1970.
+	 */
+	static long toEpochDay(long nanosecondsSinceEpoch) {
+		return Math.floorDiv(nanosecondsSinceEpoch, NANOS_PER_DAY);
+	}
+
+	/**
+	 * @return  the number of whole days from 1970.01.01 to the local date on which the given datetime falls.
+	 */
+	private static long toEpochDay(String timeZoneId, long nanosecondsSinceEpoch) {
+		if (isUTC(timeZoneId)) {
+			return toEpochDay(nanosecondsSinceEpoch);
+		}
+		return TimeZoneRules.of(timeZoneId).toLocalEpochDay(nanosecondsSinceEpoch);
+	}
+
+	public static long yearMonthDayToDate(String timeZoneId, int year, int month, int day) {
+		if (!CivilCalendar.isValid(year, month, day)) {
+			throw new IllegalArgumentException(
+					"Invalid date: year = " + year + ", month = " + month + ", day = " + day);
+		}
+		long midnight = CivilCalendar.toEpochDay(year, month, day) * NANOS_PER_DAY;
+		if (isUTC(timeZoneId)) {
+			return midnight;
+		}
+		return toDate(TimeZoneRules.of(timeZoneId).fromLocal(midnight));
+	}
+
+	public static long yearMonthDayToDate(int year, int month, int day) {
+		return yearMonthDayToDate(TemporalArithmetics.UTC, year, month, day);
+	}
+
+	public static int getYear(String timeZoneId, long nanosecondsSinceEpoch) {
+		return CivilCalendar.year(CivilCalendar.fromEpochDay(toEpochDay(timeZoneId, nanosecondsSinceEpoch)));
+	}
+
+	public static int getYear(long nanosecondsSinceEpoch) {
+		return getYear(TemporalArithmetics.UTC, nanosecondsSinceEpoch);
+	}
+
+	/**
+	 * @return  the month: 1 indicates January, 2 February, etc.
+	 */
+	public static int getMonth(String timeZoneId, long nanosecondsSinceEpoch) {
+		return CivilCalendar.month(CivilCalendar.fromEpochDay(toEpochDay(timeZoneId, nanosecondsSinceEpoch)));
+	}
+
+	/**
+	 * @return  the month: 1 indicates January, 2 February, etc.
+	 */
+	public static int getMonth(long nanosecondsSinceEpoch) {
+		return getMonth(TemporalArithmetics.UTC, nanosecondsSinceEpoch);
+	}
+
+	public static int getDayOfMonth(String timeZoneId, long nanosecondsSinceEpoch) {
+		return CivilCalendar.dayOfMonth(CivilCalendar.fromEpochDay(toEpochDay(timeZoneId, nanosecondsSinceEpoch)));
+	}
+
+	public static int getDayOfMonth(long nanosecondsSinceEpoch) {
+		return getDayOfMonth(TemporalArithmetics.UTC, nanosecondsSinceEpoch);
+	}
+
+	/**
+	 * @return  the day of the week, as per {@link Calendar#DAY_OF_WEEK}: 1 indicates Sunday, 2 Monday, etc.
+	 */
+	public static int getDayOfWeek(String timeZoneId, long nanosecondsSinceEpoch) {
+		return CivilCalendar.dayOfWeek(toEpochDay(timeZoneId, nanosecondsSinceEpoch));
+	}
+
+	/**
+	 * @return  the day of the week, as per {@link Calendar#DAY_OF_WEEK}: 1 indicates Sunday, 2 Monday, etc.
+	 */
+	public static int getDayOfWeek(long nanosecondsSinceEpoch) {
+		return getDayOfWeek(TemporalArithmetics.UTC, nanosecondsSinceEpoch);
+	}
+
+	/**
+	 * Fills in the given holder with the local calendar fields of the given datetime, in one decomposition.
+	 *
+	 * @return  the given holder.
+	 */
+	public static NanoDateTimeFields decompose(String timeZoneId, long nanosecondsSinceEpoch,
+			NanoDateTimeFields fields) {
+		long offset = isUTC(timeZoneId) ? 0L : TimeZoneRules.of(timeZoneId).getOffset(nanosecondsSinceEpoch);
+		setDate(TimeZoneRules.toLocalEpochDay(nanosecondsSinceEpoch, offset), fields);
+		long time = TimeZoneRules.toLocalNanoOfDay(nanosecondsSinceEpoch, offset);
+		fields.setTime((int) (time / NANOS_PER_HOUR), (int) (time / NANOS_PER_MINUTE % 60),
+				(int) (time / NANOS_PER_SECOND % 60), (int) (time % NANOS_PER_SECOND));
+		return fields;
+	}
+
+	public static NanoDateTimeFields decompose(long nanosecondsSinceEpoch, NanoDateTimeFields fields) {
+		return decompose(TemporalArithmetics.UTC, nanosecondsSinceEpoch, fields);
+	}
+
+	/**
+	 * Fills in the given holder with the calendar fields of the given date, as returned by {@link #getYear(String, long)}
+	 * etc., in one decomposition; the time fields are set to zero.
+	 *
+	 * @return  the given holder.
+	 */
+	public static NanoDateTimeFields dateDecompose(String timeZoneId, long date, NanoDateTimeFields fields) {
+		setDate(toEpochDay(timeZoneId, date), fields);
+		fields.setTime(0, 0, 0, 0);
+		return fields;
+	}
+
+	public static NanoDateTimeFields dateDecompose(long date, NanoDateTimeFields fields) {
+		return dateDecompose(TemporalArithmetics.UTC, date, fields);
+	}
+
+	private static void setDate(long epochDay, NanoDateTimeFields fields) {
+		int date = CivilCalendar.fromEpochDay(epochDay);
+		int year = CivilCalendar.year(date);
+		fields.setDate(year, CivilCalendar.month(date), CivilCalendar.dayOfMonth(date),
+				CivilCalendar.dayOfWeek(epochDay), CivilCalendar.dayOfYear(epochDay, year));
+	}
+
+	// Only the rarely used units, such as ERA and AM_PM, still go through a Calendar
+	private static long plusCalendarUnit_(String timeZoneId, long nanosecondsSinceEpoch, int calendarUnit,
+			int quantity) {
+		long nanos = nanosecondsSinceEpoch % NANOS_PER_MILLISECOND;
+		Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone(timeZoneId));
+		calendar.setLenient(false);
+		calendar.setTimeInMillis(nanosecondsSinceEpoch / NANOS_PER_MILLISECOND);
+		calendar.add(calendarUnit, quantity);
+		return calendar.getTimeInMillis() * NANOS_PER_MILLISECOND + nanos;
+	}
+
+	public static long plusCalendarUnit(String timeZoneId, long nanosecondsSinceEpoch, int calendarUnit,
+			long quantity) {
+		// The units of fixed length do not depend on the time zone; the others are computed on the local date, keeping
+		// the local time of day to the nanosecond, as Calendar.add does to the millisecond
+		switch (calendarUnit) {
+		case Calendar.MILLISECOND:
+			return nanosecondsSinceEpoch + quantity * NANOS_PER_MILLISECOND;
+		case Calendar.SECOND:
+			return nanosecondsSinceEpoch + quantity * NANOS_PER_SECOND;
+		case Calendar.MINUTE:
+			return nanosecondsSinceEpoch + quantity * NANOS_PER_MINUTE;
+		case Calendar.HOUR:
+		case Calendar.HOUR_OF_DAY:
+			return nanosecondsSinceEpoch + quantity * NANOS_PER_HOUR;
+		case Calendar.DAY_OF_MONTH:
+		case Calendar.DAY_OF_YEAR:
+		case Calendar.DAY_OF_WEEK:
+			return plusLocalDays(timeZoneId, nanosecondsSinceEpoch, quantity);
+		case Calendar.WEEK_OF_YEAR:
+		case Calendar.WEEK_OF_MONTH:
+		case Calendar.DAY_OF_WEEK_IN_MONTH:
+			return plusLocalDays(timeZoneId, nanosecondsSinceEpoch, quantity * 7);
+		case Calendar.MONTH:
+			return plusLocalMonths(timeZoneId, nanosecondsSinceEpoch, quantity);
+		case Calendar.YEAR:
+			return plusLocalMonths(timeZoneId, nanosecondsSinceEpoch, quantity * 12);
+		default:
+			break;
+		}
+		return plusCalendarUnit_(timeZoneId, nanosecondsSinceEpoch, calendarUnit, Math.toIntExact(quantity));
+	}
+
+	/**
+	 * Adds days keeping the local time of day, as {@link Calendar#add(int, int)} does: if the offset from UTC differs
+	 * at the result, the result is moved by the difference, unless that would move it to another local date.
+	 */
+	private static long plusLocalDays(String timeZoneId, long nanosecondsSinceEpoch, long days) {
+		long result = nanosecondsSinceEpoch + days * NANOS_PER_DAY;
+		if (isUTC(timeZoneId)) {
+			return result;
+		}
+		TimeZoneRules rules = TimeZoneRules.of(timeZoneId);
+		long offset = rules.getOffset(nanosecondsSinceEpoch);
+		long difference = offset - rules.getOffset(result);
+		if (difference != 0 && rules.toLocalEpochDay(result + difference)
+				== TimeZoneRules.toLocalEpochDay(result, offset)) {
+			result += difference;
+		}
+		return result;
+	}
+
+	/**
+	 * Adds months keeping the local time of day, as {@link Calendar#add(int, int)} does: the day of month is clamped to
+	 * the length of the resulting month, and a local time skipped by a transition of the time zone is moved forward.
+	 */
+	private static long plusLocalMonths(String timeZoneId, long nanosecondsSinceEpoch, long months) {
+		boolean utc = isUTC(timeZoneId);
+		TimeZoneRules rules = utc ? null : TimeZoneRules.of(timeZoneId);
+		long offset = utc ? 0L : rules.getOffset(nanosecondsSinceEpoch);
+		int date = CivilCalendar.fromEpochDay(TimeZoneRules.toLocalEpochDay(nanosecondsSinceEpoch, offset));
+		long month = CivilCalendar.year(date) * 12L + (CivilCalendar.month(date) - 1) + months;
+		int newYear = Math.toIntExact(Math.floorDiv(month, 12L));
+		int newMonth = (int) Math.floorMod(month, 12L) + 1;
+		int newDay = Math.min(CivilCalendar.dayOfMonth(date), CivilCalendar.lengthOfMonth(newYear, newMonth));
+		long newLocal = CivilCalendar.toEpochDay(newYear, newMonth, newDay) * NANOS_PER_DAY
+				+ TimeZoneRules.toLocalNanoOfDay(nanosecondsSinceEpoch, offset);
+		return utc ? newLocal : rules.fromLocal(newLocal);
+	}
+
+	public static long plusCalendarUnit(long nanosecondsSinceEpoch, int calendarUnit, long quantity) {
+		return plusCalendarUnit(TemporalArithmetics.UTC, nanosecondsSinceEpoch, calendarUnit, quantity);
+	}
+
+	public static long plusTemporalUnit(String timeZoneId, long nanosecondsSinceEpoch, TemporalUnit temporalUnit,
+			long quantity) {
+		// Only days depend on the time zone; the other units are all of fixed length, down to the nanosecond
+		if (temporalUnit == TemporalUnit.DAY) {
+			return plusLocalDays(timeZoneId, nanosecondsSinceEpoch, quantity);
+		}
+		return nanosecondsSinceEpoch + quantity * temporalUnit.getWholeNanoseconds();
+	}
+
+	public static long plusTemporalUnit(long nanosecondsSinceEpoch, TemporalUnit temporalUnit, long quantity) {
+		return plusTemporalUnit(TemporalArithmetics.UTC, nanosecondsSinceEpoch, temporalUnit, quantity);
+	}
+
+	public static long plusDays(String timeZoneId, long nanosecondsSinceEpoch, long days) {
+		return plusCalendarUnit(timeZoneId, nanosecondsSinceEpoch, Calendar.DAY_OF_MONTH, days);
+	}
+
+	public static long plusDays(long nanosecondsSinceEpoch, long days) {
+		return plusDays(TemporalArithmetics.UTC, nanosecondsSinceEpoch, days);
+	}
+
+	public static long minusDays(String timeZoneId, long nanosecondsSinceEpoch, long days) {
+		return plusDays(timeZoneId, nanosecondsSinceEpoch, -days);
+	}
+
+	public static long minusDays(long nanosecondsSinceEpoch, long days) {
+		return minusDays(TemporalArithmetics.UTC, nanosecondsSinceEpoch, days);
+	}
+
+	public static long plusMonths(String timeZoneId, long nanosecondsSinceEpoch, long months) {
+		return plusCalendarUnit(timeZoneId, nanosecondsSinceEpoch, Calendar.MONTH, months);
+	}
+
+	public static long plusMonths(long nanosecondsSinceEpoch, long months) {
+		return plusMonths(TemporalArithmetics.UTC, nanosecondsSinceEpoch, months);
+	}
+
+	public static long minusMonths(String timeZoneId, long nanosecondsSinceEpoch, long months) {
+		return plusMonths(timeZoneId, nanosecondsSinceEpoch, -months);
+	}
+
+	public static long minusMonths(long nanosecondsSinceEpoch, long months) {
+		return minusMonths(TemporalArithmetics.UTC, nanosecondsSinceEpoch, months);
+	}
+
+	public static long plusYears(String timeZoneId, long nanosecondsSinceEpoch, long years) {
+		return plusCalendarUnit(timeZoneId, nanosecondsSinceEpoch, Calendar.YEAR, years);
+	}
+
+	public static long plusYears(long nanosecondsSinceEpoch, long years) {
+		return plusYears(TemporalArithmetics.UTC, nanosecondsSinceEpoch, years);
+	}
+
+	public static long minusYears(String timeZoneId, long nanosecondsSinceEpoch, long years) {
+		return plusYears(timeZoneId, nanosecondsSinceEpoch, -years);
+	}
+
+	public static long minusYears(long nanosecondsSinceEpoch, long years) {
+		return minusYears(TemporalArithmetics.UTC, nanosecondsSinceEpoch, years);
+	}
+
+	public static long plusSeconds(long nanosecondsSinceEpoch, long seconds) {
+		return nanosecondsSinceEpoch + seconds * NANOS_PER_SECOND;
+	}
+
+	public static long minusSeconds(long nanosecondsSinceEpoch, long seconds) {
+		return plusSeconds(nanosecondsSinceEpoch, -seconds);
+	}
+
+	public static long plusMilliseconds(long nanosecondsSinceEpoch, long milliseconds) {
+		return nanosecondsSinceEpoch + milliseconds * NANOS_PER_MILLISECOND;
+	}
+
+	public static long minusMilliseconds(long nanosecondsSinceEpoch, long milliseconds) {
+		return plusMilliseconds(nanosecondsSinceEpoch, -milliseconds);
+	}
+
+	public static long plusMicroseconds(long nanosecondsSinceEpoch, long microseconds) {
+		return nanosecondsSinceEpoch + microseconds * NANOS_PER_MICROSECOND;
+	}
+
+	public static long minusMicroseconds(long nanosecondsSinceEpoch, long microseconds) {
+		return plusMicroseconds(nanosecondsSinceEpoch, -microseconds);
+	}
+
+	public static long plusNanoseconds(long nanosecondsSinceEpoch, long nanoseconds) {
+		return nanosecondsSinceEpoch + nanoseconds;
+	}
+
+	public static long minusNanoseconds(long nanosecondsSinceEpoch, long nanoseconds) {
+		return plusNanoseconds(nanosecondsSinceEpoch, -nanoseconds);
+	}
+
+	/**
+	 * @param  duration  the nanoseconds of a {@link NanoTimeDelta}, those of {@link NanoTimeDelta#MAX} and
+	 *         {@link NanoTimeDelta#MIN} giving the latest and the earliest datetime, as held by {@link NanoDateTime#MAX}
+	 *         and {@link NanoDateTime#MIN}.
+	 */
+	public static long plusDuration(long nanosecondsSinceEpoch, long duration) {
+		return duration == Long.MAX_VALUE ? MAX_NANOSECONDS_SINCE_EPOCH :
+			(duration == Long.MIN_VALUE ? MIN_NANOSECONDS_SINCE_EPOCH : nanosecondsSinceEpoch + duration);
+	}
+
+	/**
+	 * @param  duration  the nanoseconds of a {@link NanoTimeDelta}, those of {@link NanoTimeDelta#MAX} and
+	 *         {@link NanoTimeDelta#MIN} giving the earliest and the latest datetime, as held by {@link NanoDateTime#MIN}
+	 *         and {@link NanoDateTime#MAX}.
+	 */
+	public static long minusDuration(long nanosecondsSinceEpoch, long duration) {
+		return duration == Long.MAX_VALUE ? MIN_NANOSECONDS_SINCE_EPOCH :
+			(duration == Long.MIN_VALUE ? MAX_NANOSECONDS_SINCE_EPOCH : nanosecondsSinceEpoch - duration);
+	}
+
+	public static long datePlusCalendarUnit(String timeZoneId, long date, int calendarUnit, long quantity) {
+		return toDate(plusCalendarUnit(timeZoneId, fromDateAndTime(date, MIDDAY), calendarUnit, quantity));
+	}
+
+	public static long datePlusCalendarUnit(long date, int calendarUnit, long quantity) {
+		return datePlusCalendarUnit(TemporalArithmetics.UTC, date, calendarUnit, quantity);
+	}
+
+	public static long datePlusTemporalUnit(String timeZoneId, long date, TemporalUnit temporalUnit, long quantity) {
+		return toDate(plusTemporalUnit(timeZoneId, fromDateAndTime(date, MIDDAY), temporalUnit, quantity));
+	}
+
+	public static long datePlusTemporalUnit(long date, TemporalUnit temporalUnit, long quantity) {
+		return datePlusTemporalUnit(TemporalArithmetics.UTC, date, temporalUnit, quantity);
+	}
+
+	public static long datePlusDays(String timeZoneId, long date, long days) {
+		return datePlusCalendarUnit(timeZoneId, date, Calendar.DAY_OF_MONTH, days);
+	}
+
+	public static long datePlusDays(long date, long days) {
+		return datePlusDays(TemporalArithmetics.UTC, date, days);
+	}
+
+	public static long dateMinusDays(String timeZoneId, long date, long days) {
+		return datePlusDays(timeZoneId, date, -days);
+	}
+
+	public static long dateMinusDays(long date, long days) {
+		return dateMinusDays(TemporalArithmetics.UTC, date, days);
+	}
+
+	public static long datePlusMonths(String timeZoneId, long date, long months) {
+		return datePlusCalendarUnit(timeZoneId, date, Calendar.MONTH, months);
+	}
+
+	public static long datePlusMonths(long date, long months) {
+		return datePlusMonths(TemporalArithmetics.UTC, date, months);
+	}
+
+	public static long dateMinusMonths(String timeZoneId, long date, long months) {
+		return datePlusMonths(timeZoneId, date, -months);
+	}
+
+	public static long dateMinusMonths(long date, long months) {
+		return dateMinusMonths(TemporalArithmetics.UTC, date, months);
+	}
+
+	public static long datePlusYears(String timeZoneId, long date, long years) {
+		return datePlusCalendarUnit(timeZoneId, date, Calendar.YEAR, years);
+	}
+
+	public static long datePlusYears(long date, long years) {
+		return datePlusYears(TemporalArithmetics.UTC, date, years);
+	}
+
+	public static long dateMinusYears(String timeZoneId, long date, long years) {
+		return datePlusYears(timeZoneId, date, -years);
+	}
+
+	public static long dateMinusYears(long date, long years) {
+		return dateMinusYears(TemporalArithmetics.UTC, date, years);
+	}
+
+	public static long timePlusTemporalUnit(long time, TemporalUnit temporalUnit, long quantity) {
+		return time + quantity * temporalUnit.getWholeNanoseconds();
+	}
+
+	public static long timePlusCalendarUnit(long time, int calendarUnit, long quantity) {
+		switch (calendarUnit) {
+		case Calendar.HOUR:
+			return timePlusTemporalUnit(time, TemporalUnit.HOUR, quantity);
+		case Calendar.MINUTE:
+			return timePlusTemporalUnit(time, TemporalUnit.MINUTE, quantity);
+		case Calendar.SECOND:
+			return timePlusTemporalUnit(time, TemporalUnit.SECOND, quantity);
+		case Calendar.MILLISECOND:
+			return timePlusTemporalUnit(time, TemporalUnit.MILLISECOND, quantity);
+		default:
+			throw new IllegalArgumentException("Unsupported calendar unit: " + calendarUnit);
+		}
+	}
+
+	public static long timePlusSeconds(long time, long seconds) {
+		return timePlusTemporalUnit(time, TemporalUnit.SECOND, seconds);
+	}
+
+	public static long timeMinusSeconds(long time, long seconds) {
+		return timePlusSeconds(time, -seconds);
+	}
+
+	public static long timePlusMilliseconds(long time, long milliseconds) {
+		return timePlusTemporalUnit(time, TemporalUnit.MILLISECOND, milliseconds);
+	}
+
+	public static long timeMinusMilliseconds(long time, long milliseconds) {
+		return timePlusMilliseconds(time, -milliseconds);
+	}
+
+	public static long timePlusMicroseconds(long time, long microseconds) {
+		return timePlusTemporalUnit(time, TemporalUnit.MICROSECOND, microseconds);
+	}
+
+	public static long timeMinusMicroseconds(long time, long microseconds) {
+		return timePlusMicroseconds(time, -microseconds);
+	}
+
+	public static long timePlusNanoseconds(long time, long nanoseconds) {
+		return timePlusTemporalUnit(time, TemporalUnit.NANOSECOND, nanoseconds);
+	}
+
+	public static long timeMinusNanoseconds(long time, long nanoseconds) {
+		return timePlusNanoseconds(time, -nanoseconds);
+	}
+
+	/**
+	 * @return  the nanoseconds elapsed from <tt>start</tt> to <tt>end</tt>, as held by the {@link NanoTimeDelta}
+	 *          returned by {@link TemporalArithmetics#difference(NanoDateTime, NanoDateTime)} and its overloads.
+	 */
+	public static long difference(long start, long end) {
+		return end - start;
+	}
+}
@@ -2,10 +2,6 @@ package com.thalesians.nanotemporals;
 
 import java.io.Serializable;
 import java.text.ParseException;
-import java.util.concurrent.TimeUnit;
-
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 
 /**
  * Represents a time that does not incorporate the timezone information.
@@ -15,34 +11,43 @@ import com.google.common.cache.CacheBuilder;
 public final class NanoTime implements Comparable<NanoTime>, Serializable {
 	private static final long serialVersionUID = -7141551799514771196L;
 	
-	private static final Cache<Long, NanoTime> CACHE = CacheBuilder.newBuilder()
-			.maximumSize(10000)
-			.expireAfterAccess(1, TimeUnit.MINUTES)
-			.build();
+	private static volatile TemporalInterner<NanoTime> interner =
+			InterningStrategy.configured(NanoTime.class).newInterner();
 
 	public static final NanoTime MIDNIGHT = new NanoTime(0L);
 	public static final NanoTime MIDDAY = new NanoTime(TemporalUnit.DAY.getWholeNanoseconds() / 2);
 	public static final NanoTime MIDNIGHT_NEXT_DAY = new NanoTime(TemporalUnit.DAY.getWholeNanoseconds());
 	
 	private static final NanoDateTimeFormat nanoDateTimeFormat
-			= NanoDateTimeFormat.of(NanoDateTimeFormat.DEFAULT_TIME_PATTERN, false);
+			= NanoDateTimeFormat.of(TemporalArithmetics.UTC, NanoDateTimeFormat.DEFAULT_TIME_PATTERN, false);
 	
 	private final long nanosecondsSinceMidnight;
 	
-	private String string = null;
-	
 	private NanoTime(long nanosecondsSinceMidnight) {
 		this.nanosecondsSinceMidnight = nanosecondsSinceMidnight;
 	}
 	
 	public static NanoTime fromNanosecondsSinceMidnight(long nanosecondsSinceMidnight) {
-		NanoTime time = CACHE.getIfPresent(nanosecondsSinceMidnight);
-		if (time == null) {
+		TemporalInterner<NanoTime> interner = NanoTime.interner;
+		NanoTime time = interner.get(nanosecondsSinceMidnight);
+		if (time == null || time.nanosecondsSinceMidnight != nanosecondsSinceMidnight) {
 			time = new NanoTime(nanosecondsSinceMidnight);
-			CACHE.put(nanosecondsSinceMidnight, time);
+			interner.put(nanosecondsSinceMidnight, time);
 		}
 		return time;
 	}
+
+	/**
+	 * Sets the strategy used by the factory methods to reuse instances, replacing the one configured at startup
+	 * (see {@link InterningStrategy}). Previously interned instances are discarded.
+	 */
+	public static void setInterningStrategy(InterningStrategy strategy) {
+		interner = strategy.newInterner();
+	}
+	
+	public static InterningStrategy getInterningStrategy() {
+		return interner.getStrategy();
+	}
 	
 	public static NanoTime fromMillisecondsSinceMidnight(long millisecondsSinceMidnight) {
 		return fromNanosecondsSinceMidnight(millisecondsSinceMidnight * TemporalUnit.MILLISECOND.getWholeNanoseconds());
@@ -168,9 +173,9 @@ public final class NanoTime implements Comparable<NanoTime>, Serializable {
 	}
 	
 	@Override public String toString() {
-		if (string == null) {
-			string = String.format("%02d:%02d:%02d.%09d", getHour(), getMinute(), getSecond(), getNanosecond());
+		if (nanosecondsSinceMidnight < 0 || nanosecondsSinceMidnight > MIDNIGHT_NEXT_DAY.nanosecondsSinceMidnight) {
+			return String.format("%02d:%02d:%02d.%09d", getHour(), getMinute(), getSecond(), getNanosecond());
 		}
-		return string;
+		return TemporalStrings.time(nanosecondsSinceMidnight);
 	}	
 }
@@ -2,10 +2,6 @@ package com.thalesians.nanotemporals;
 
 import java.io.Serializable;
 import java.text.ParseException;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
-import com.google.common.base.Joiner;
 
 /**
  * Represents a time duration, e.g. 1 minute.
@@ -21,10 +17,28 @@ public class NanoTimeDelta implements Serializable, Comparable<NanoTimeDelta> {
 	public static final NanoTimeDelta MIN = new NanoTimeDelta(Long.MIN_VALUE);
 	public static final NanoTimeDelta ZERO = new NanoTimeDelta(0);
 	
-	private static final String PARSE_UNIT_REGEX = Joiner.on("|").join(TemporalUnit.ALL_ALIASES);
-	private static final String PARSE_CHECK_REGEX = "^(-?\\d+(" + PARSE_UNIT_REGEX + "))+$";
-	private static final String PARSE_MATCH_REGEX = "(-?\\d+)(" + PARSE_UNIT_REGEX + "{1}+)";
+	private static final int PARSE_CACHE_BITS = 10;
+	
+	// The units of the compact form, from the largest
+	private static final TemporalUnit[] COMPACT_UNITS = { TemporalUnit.DAY, TemporalUnit.HOUR, TemporalUnit.MINUTE,
+			TemporalUnit.SECOND, TemporalUnit.MILLISECOND, TemporalUnit.MICROSECOND, TemporalUnit.NANOSECOND };
+	private static final String[] COMPACT_ALIASES = { "d", "h", "m", "s", "ms", "us", "ns" };
+	
+	private static volatile ParsedText[] parseCache =
+			Boolean.getBoolean("com.thalesians.nanotemporals.NanoTimeDelta.parseCache")
+					? new ParsedText[1 << PARSE_CACHE_BITS] : null;
+	
+	// A text and the delta parsed from it, replaced together in a slot of the cache
+	private static final class ParsedText {
+		final String text;
+		final NanoTimeDelta delta;
 		
+		ParsedText(String text, NanoTimeDelta delta) {
+			this.text = text;
+			this.delta = delta;
+		}
+	}
+	
 	private final long nanoseconds;
 
 	private NanoTimeDelta(long nanoseconds) {
@@ -51,20 +65,118 @@ public class NanoTimeDelta implements Serializable, Comparable<NanoTimeDelta> {
 		return new Builder().add(type, length).build();
 	}
 	
+	/**
+	 * Enables or disables the cache of the deltas returned by {@link #parse(String)}, which is disabled by default
+	 * unless the system property <tt>com.thalesians.nanotemporals.NanoTimeDelta.parseCache</tt> is <tt>true</tt>. The
+	 * cache keeps the most recently parsed text in a fixed-size array slot chosen by its hash code, as
+	 * {@link InterningStrategy#DIRECT_MAPPED} does, and suits periods repeatedly parsed from configuration or rules.
+	 * Previously cached deltas are discarded.
+	 */
+	public static void setParseCacheEnabled(boolean enabled) {
+		parseCache = enabled ? new ParsedText[1 << PARSE_CACHE_BITS] : null;
+	}
+	
+	public static boolean isParseCacheEnabled() {
+		return parseCache != null;
+	}
+	
 	public static NanoTimeDelta parse(String period) throws ParseException {
-		period = period.toLowerCase();
-		if (!period.matches(PARSE_CHECK_REGEX)) {
-			throw new ParseException("Bad period expression " + period, 0);
+		ParsedText[] cache = parseCache;
+		int slot = 0;
+		if (cache != null) {
+			int hash = period.hashCode();
+			slot = (hash ^ hash >>> PARSE_CACHE_BITS) & (cache.length - 1);
+			ParsedText parsed = cache[slot];
+			if (parsed != null && parsed.text.equals(period)) {
+				return parsed.delta;
+			}
 		}
-		Builder b = new Builder();
-		Pattern p = Pattern.compile(PARSE_MATCH_REGEX);
-		Matcher m = p.matcher(period);
-		while (m.find()) {
-			int length = Integer.valueOf(m.group(1));
-			TemporalUnit type = TemporalUnit.fromString(m.group(2));
-			b.add(type, length);
+		ParseCursor cursor = new ParseCursor();
+		long nanoseconds = tryParse(period, cursor);
+		if (cursor.isError()) {
+			throw new ParseException("Bad period expression " + period, cursor.getErrorIndex());
 		}
-		return b.build();
+		NanoTimeDelta delta = fromNanoseconds(nanoseconds);
+		if (cache != null) {
+			cache[slot] = new ParsedText(period, delta);
+		}
+		return delta;
+	}
+	
+	/**
+	 * Parses the whole of the given text from the index of the given cursor, as {@link #parse(String)} does, a sum of
+	 * lengths of units such as <tt>1h-30m</tt>, but without throwing (or allocating) anything where the text is
+	 * malformed, setting the index of the cursor to the end of the text. The lengths, and their sum, may be any number
+	 * of nanoseconds that fits a {@code long}.
+	 *
+	 * @return  the nanoseconds, or {@link Long#MIN_VALUE}, having set the error index of the cursor, if the text is
+	 * malformed or overflows: since {@link #MIN} is also {@link Long#MIN_VALUE} nanoseconds, check
+	 * {@link ParseCursor#isError()}.
+	 */
+	public static long tryParse(CharSequence text, ParseCursor cursor) {
+		cursor.setErrorIndex(-1);
+		int end = text.length();
+		int position = cursor.getIndex();
+		long nanoseconds = 0L;
+		do {
+			boolean negative = position < end && text.charAt(position) == '-';
+			if (negative) {
+				++position;
+			}
+			// Accumulated negatively, so that the length may be Long.MIN_VALUE
+			int digitsStart = position;
+			long length = 0L;
+			for (; position < end && isDigit(text.charAt(position)); ++position) {
+				int digit = text.charAt(position) - '0';
+				if (length < Long.MIN_VALUE / 10 || length * 10 < Long.MIN_VALUE + digit) {
+					return error(cursor, digitsStart);
+				}
+				length = length * 10 - digit;
+			}
+			if (position == digitsStart) {
+				return error(cursor, position);
+			}
+			if (!negative) {
+				if (length == Long.MIN_VALUE) {
+					return error(cursor, digitsStart);
+				}
+				length = -length;
+			}
+			int unitStart = position;
+			while (position < end && isLetter(text.charAt(position))) {
+				++position;
+			}
+			TemporalUnit unit = TemporalUnit.fromAlias(text, unitStart, position);
+			if (unit == null) {
+				return error(cursor, unitStart);
+			}
+			long unitNanoseconds = unit.getWholeNanoseconds();
+			if (length > Long.MAX_VALUE / unitNanoseconds || length < Long.MIN_VALUE / unitNanoseconds) {
+				return error(cursor, digitsStart);
+			}
+			long term = length * unitNanoseconds;
+			long sum = nanoseconds + term;
+			// As Math.addExact, but without the exception
+			if (((nanoseconds ^ sum) & (term ^ sum)) < 0) {
+				return error(cursor, digitsStart);
+			}
+			nanoseconds = sum;
+		} while (position < end);
+		cursor.setIndex(position);
+		return nanoseconds;
+	}
+	
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+	
+	private static boolean isLetter(char c) {
+		return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+	}
+	
+	private static long error(ParseCursor cursor, int errorIndex) {
+		cursor.setErrorIndex(errorIndex);
+		return Long.MIN_VALUE;
 	}
 	
 	public long toWholeDays() {
@@ -152,6 +264,31 @@ public class NanoTimeDelta implements Serializable, Comparable<NanoTimeDelta> {
 		return nanoseconds + "ns";
 	}
 	
+	/**
+	 * Returns the delta as the sum of the lengths of the units from days down to nanoseconds that are not zero, such as
+	 * <tt>1h30m</tt>, or <tt>-1h-30m</tt> for a negative delta, or <tt>0s</tt>, which {@link #parse(String)} parses
+	 * back.
+	 */
+	public String toCompactString() {
+		return appendCompact(nanoseconds, new StringBuilder(24)).toString();
+	}
+	
+	static StringBuilder appendCompact(long nanoseconds, StringBuilder sb) {
+		if (nanoseconds == 0L) {
+			return sb.append("0s");
+		}
+		// Division truncates, so the length of every unit has the sign of the delta, even Long.MIN_VALUE
+		long remainder = nanoseconds;
+		for (int i = 0; i < COMPACT_UNITS.length; ++i) {
+			long length = remainder / COMPACT_UNITS[i].getWholeNanoseconds();
+			if (length != 0L) {
+				sb.append(length).append(COMPACT_ALIASES[i]);
+				remainder -= length * COMPACT_UNITS[i].getWholeNanoseconds();
+			}
+		}
+		return sb;
+	}
+	
 	public static Builder builder() {
 		return new Builder();
 	}
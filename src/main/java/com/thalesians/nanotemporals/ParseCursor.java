@@ -0,0 +1,133 @@
+package com.thalesians.nanotemporals;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The position from which {@link NanoDateTimeFormat} parses a text, and to which it reports the end of what it read,
+ * or the position of an error. Unlike a {@link java.text.ParsePosition}, a cursor can be reset and reused from one
+ * parse to the next, along with the state it keeps for the parser, so that parsing allocates nothing.
+ * <p/>
+ * A cursor may only be used by one thread at a time.
+ */
+public final class ParseCursor {
+
+	private int index;
+	private int errorIndex = -1;
+
+	// The views of bytes as characters, and the fields read, reused by the parsers
+	final ByteSequence bytes = new ByteSequence();
+	final NanoDateTimePattern.Parsed parsed = new NanoDateTimePattern.Parsed();
+
+	/**
+	 * A view of a range of bytes, from index 0 to an end index, as ISO-8859-1 characters.
+	 */
+	static final class ByteSequence implements CharSequence {
+		// The last array viewed, wrapped in a little-endian buffer that is reused as long as the array is
+		private byte[] array;
+		private ByteBuffer arrayBuffer;
+		private ByteBuffer buffer;
+		private boolean bigEndian;
+		private int end;
+
+		ByteSequence set(byte[] array, int end) {
+			if (array != this.array) {
+				this.array = array;
+				this.arrayBuffer = ByteBuffer.wrap(array).order(ByteOrder.LITTLE_ENDIAN);
+			}
+			this.buffer = arrayBuffer;
+			this.bigEndian = false;
+			this.end = end;
+			return this;
+		}
+
+		ByteSequence set(ByteBuffer buffer) {
+			this.buffer = buffer;
+			this.bigEndian = buffer.order() == ByteOrder.BIG_ENDIAN;
+			this.end = buffer.limit();
+			return this;
+		}
+
+		@Override public int length() {
+			return end;
+		}
+
+		@Override public char charAt(int index) {
+			if (index < 0 || index >= end) {
+				throw new IndexOutOfBoundsException("index = " + index + ", length = " + end);
+			}
+			return (char) (buffer.get(index) & 0xFF);
+		}
+
+		/**
+		 * Reads the 8 bytes from the given index, or those up to the limit of the underlying buffer if fewer, the byte
+		 * at the given index being the lowest.
+		 */
+		long getLong(int index) {
+			if (index + Long.BYTES <= buffer.limit()) {
+				long word = buffer.getLong(index);
+				return bigEndian ? Long.reverseBytes(word) : word;
+			}
+			long word = 0L;
+			for (int i = buffer.limit() - 1; i >= index; --i) {
+				word = word << 8 | (buffer.get(i) & 0xFF);
+			}
+			return word;
+		}
+
+		@Override public CharSequence subSequence(int start, int end) {
+			char[] chars = new char[end - start];
+			for (int i = start; i < end; ++i) {
+				chars[i - start] = charAt(i);
+			}
+			return new String(chars);
+		}
+
+		@Override public String toString() {
+			return subSequence(0, end).toString();
+		}
+	}
+
+	public ParseCursor() {
+	}
+
+	public ParseCursor(int index) {
+		this.index = index;
+	}
+
+	/**
+	 * Sets the index from which to parse, and clears the error index.
+	 */
+	public ParseCursor reset(int index) {
+		this.index = index;
+		this.errorIndex = -1;
+		return this;
+	}
+
+	public int getIndex() {
+		return index;
+	}
+
+	void setIndex(int index) {
+		this.index = index;
+	}
+
+	/**
+	 * @return  the index at which the last parse failed, or -1 if it did not.
+	 */
+	public int getErrorIndex() {
+		return errorIndex;
+	}
+
+	void setErrorIndex(int errorIndex) {
+		this.errorIndex = errorIndex;
+	}
+
+	public boolean isError() {
+		return errorIndex >= 0;
+	}
+
+	@Override public String toString() {
+		return "ParseCursor [index=" + index + ", errorIndex=" + errorIndex + "]";
+	}
+}
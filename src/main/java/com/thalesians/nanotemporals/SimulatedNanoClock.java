@@ -0,0 +1,125 @@
+package com.thalesians.nanotemporals;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.PriorityQueue;
+
+/**
+ * A clock that only moves when told to, for backtests and other replays, in which "now" is the time of the event
+ * being replayed: code given this clock, instead of the {@link NanoClock#system() system clock}, runs as fast as the
+ * replay goes, with no sleeping and no reading of the wall clock.
+ * <p/>
+ * Timers may be scheduled for future datetimes. As the clock is advanced, the timers due fire in the order of their
+ * datetimes, those of the same datetime in the order they were scheduled, the clock reading each timer's datetime
+ * while its callback runs. The callbacks run on the thread advancing the clock, and may themselves schedule timers,
+ * which fire within the same advance if due.
+ * <p/>
+ * The clock may be read by any thread. Advancing it, and scheduling and cancelling timers, is synchronized.
+ */
+public final class SimulatedNanoClock extends NanoClock {
+
+	private volatile long nanos;
+	private final PriorityQueue<Timer> timers = new PriorityQueue<>();
+	private long timerCount;
+
+	/**
+	 * A callback scheduled to run when the clock reaches a datetime.
+	 */
+	public final class Timer implements Comparable<Timer> {
+
+		private final long nanos;
+		private final long sequence;
+		private final Runnable callback;
+
+		private Timer(long nanos, long sequence, Runnable callback) {
+			this.nanos = nanos;
+			this.sequence = sequence;
+			this.callback = callback;
+		}
+
+		public NanoDateTime getDateTime() {
+			return NanoDateTime.fromNanosecondsSinceEpoch(nanos);
+		}
+
+		/**
+		 * @return  whether the timer was cancelled, rather than having fired or been cancelled already.
+		 */
+		public boolean cancel() {
+			synchronized (SimulatedNanoClock.this) {
+				return timers.remove(this);
+			}
+		}
+
+		@Override public int compareTo(Timer other) {
+			int comparison = Long.compare(nanos, other.nanos);
+			return comparison != 0 ? comparison : Long.compare(sequence, other.sequence);
+		}
+
+		@Override public String toString() {
+			return "Timer [dateTime=" + getDateTime() + "]";
+		}
+	}
+
+	public SimulatedNanoClock(long nanosecondsSinceEpoch) {
+		this.nanos = nanosecondsSinceEpoch;
+	}
+
+	public SimulatedNanoClock(NanoDateTime start) {
+		this(start.getNanosecondsSinceEpoch());
+	}
+
+	@Override public long nowNanos() {
+		return nanos;
+	}
+
+	/**
+	 * Schedules the given callback to run when the clock reaches the given datetime, or on the next advance of the
+	 * clock if it has already reached it.
+	 */
+	public synchronized Timer schedule(long nanosecondsSinceEpoch, Runnable callback) {
+		Timer timer = new Timer(Math.max(nanosecondsSinceEpoch, nanos), timerCount++, checkNotNull(callback));
+		timers.add(timer);
+		return timer;
+	}
+
+	public Timer schedule(NanoDateTime dateTime, Runnable callback) {
+		return schedule(dateTime.getNanosecondsSinceEpoch(), callback);
+	}
+
+	public Timer schedule(NanoTimeDelta delay, Runnable callback) {
+		return schedule(nanos + delay.toWholeNanoseconds(), callback);
+	}
+
+	/**
+	 * Moves the clock to the given datetime, firing the timers due on the way.
+	 *
+	 * @throws  IllegalArgumentException  if the datetime is before the clock.
+	 */
+	public synchronized void advanceTo(long nanosecondsSinceEpoch) {
+		checkArgument(nanosecondsSinceEpoch >= nanos, "Cannot move the clock back from %s to %s", nanos,
+				nanosecondsSinceEpoch);
+		for (Timer timer = timers.peek(); timer != null && timer.nanos <= nanosecondsSinceEpoch; timer = timers.peek()) {
+			timers.poll();
+			nanos = timer.nanos;
+			timer.callback.run();
+		}
+		nanos = nanosecondsSinceEpoch;
+	}
+
+	public void advanceTo(NanoDateTime dateTime) {
+		advanceTo(dateTime.getNanosecondsSinceEpoch());
+	}
+
+	public synchronized void advanceBy(NanoTimeDelta delta) {
+		advanceTo(nanos + delta.toWholeNanoseconds());
+	}
+
+	public synchronized int getPendingTimerCount() {
+		return timers.size();
+	}
+
+	@Override public String toString() {
+		return "SimulatedNanoClock [now=" + now() + ", pendingTimers=" + getPendingTimerCount() + "]";
+	}
+}
@@ -0,0 +1,135 @@
+package com.thalesians.nanotemporals;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.time.Instant;
+
+import com.google.common.base.Ticker;
+
+/**
+ * The clock of the machine, to nanosecond resolution: {@link System#nanoTime()} anchored to the wall clock, which is
+ * read again every recalibration period (a second by default) to limit the drift between the two.
+ * <p/>
+ * The clock never goes backwards. Where the wall clock is found ahead at a recalibration, the clock steps forward to
+ * it, and where it is found behind, the clock slows down, to no less than half speed, so as to meet it by the next
+ * recalibration. Reading the clock costs a volatile read and a call to {@link System#nanoTime()}, and one read a
+ * period recalibrates, under a lock.
+ * <p/>
+ * The wall clock is read with {@link Instant#now()}, whose resolution is a millisecond on Java 8, and a microsecond or
+ * better on later versions.
+ */
+public final class SystemNanoClock extends NanoClock {
+
+	private static final long DEFAULT_RECALIBRATION_PERIOD = TemporalUnit.SECOND.getWholeNanoseconds();
+	private static final double MAX_SLOWDOWN = 0.5;
+	// The wall clock is read between two readings of the monotonic clock, as many times, keeping the closest pair
+	private static final int WALL_CLOCK_READS = 5;
+
+	private static final Ticker WALL_CLOCK = new Ticker() {
+		@Override public long read() {
+			Instant now = Instant.now();
+			return now.getEpochSecond() * TemporalUnit.SECOND.getWholeNanoseconds() + now.getNano();
+		}
+	};
+
+	static final SystemNanoClock DEFAULT = new SystemNanoClock();
+
+	private final long recalibrationPeriod;
+	private final Ticker monotonicClock;
+	private final Ticker wallClock;
+	private volatile Calibration calibration;
+
+	// The clock from the monotonic time at which it takes effect to that at which the next recalibration is due
+	private static final class Calibration {
+		final long start;
+		final long startNanos;
+		final double slowdown;
+		final long end;
+
+		Calibration(long start, long startNanos, double slowdown, long end) {
+			this.start = start;
+			this.startNanos = startNanos;
+			this.slowdown = slowdown;
+			this.end = end;
+		}
+
+		long nanos(long monotonic) {
+			long elapsed = monotonic - start;
+			return startNanos + elapsed - (long) (elapsed * slowdown);
+		}
+	}
+
+	public SystemNanoClock() {
+		this(NanoTimeDelta.fromNanoseconds(DEFAULT_RECALIBRATION_PERIOD));
+	}
+
+	public SystemNanoClock(NanoTimeDelta recalibrationPeriod) {
+		this(recalibrationPeriod, Ticker.systemTicker(), WALL_CLOCK);
+	}
+
+	SystemNanoClock(NanoTimeDelta recalibrationPeriod, Ticker monotonicClock, Ticker wallClock) {
+		checkArgument(recalibrationPeriod.isPositive(), "recalibrationPeriod = %s", recalibrationPeriod);
+		this.recalibrationPeriod = recalibrationPeriod.toWholeNanoseconds();
+		this.monotonicClock = checkNotNull(monotonicClock);
+		this.wallClock = checkNotNull(wallClock);
+		long[] reading = readWallClock();
+		this.calibration = new Calibration(reading[0], reading[1], 0.0, reading[0] + this.recalibrationPeriod);
+	}
+
+	@Override public long nowNanos() {
+		Calibration calibration = this.calibration;
+		long monotonic = monotonicClock.read();
+		if (monotonic - calibration.end >= 0L) {
+			calibration = recalibrate(monotonic);
+		}
+		return calibration.nanos(monotonic);
+	}
+
+	/**
+	 * Replaces the calibration that ended before the given monotonic time by one that starts where it ended, so that
+	 * every reading from then on, by any thread, goes through the new one, and the clock is continuous (or steps
+	 * forward) at the end of the old one.
+	 */
+	private synchronized Calibration recalibrate(long monotonic) {
+		Calibration previous = calibration;
+		if (monotonic - previous.end < 0L) {
+			return previous;
+		}
+		long[] reading = readWallClock();
+		long start = previous.end;
+		long end = reading[0] + recalibrationPeriod;
+		long previousNanos = previous.nanos(start);
+		long wallNanos = reading[1] - (reading[0] - start);
+		Calibration next;
+		if (wallNanos >= previousNanos) {
+			next = new Calibration(start, wallNanos, 0.0, end);
+		} else {
+			double slowdown = Math.min((double) (previousNanos - wallNanos) / (end - start), MAX_SLOWDOWN);
+			next = new Calibration(start, previousNanos, slowdown, end);
+		}
+		calibration = next;
+		return next;
+	}
+
+	// The monotonic time, and the wall clock at that time
+	private long[] readWallClock() {
+		long[] reading = new long[2];
+		long closest = Long.MAX_VALUE;
+		for (int i = 0; i < WALL_CLOCK_READS; ++i) {
+			long before = monotonicClock.read();
+			long wall = wallClock.read();
+			long after = monotonicClock.read();
+			if (after - before < closest) {
+				closest = after - before;
+				reading[0] = before + (after - before) / 2;
+				reading[1] = wall;
+			}
+		}
+		return reading;
+	}
+
+	@Override public String toString() {
+		return "SystemNanoClock [recalibrationPeriod=" + recalibrationPeriod + "ns]";
+	}
+}
@@ -1,10 +1,6 @@
 package com.thalesians.nanotemporals;
 
 import java.util.Calendar;
-import java.util.TimeZone;
-
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 
 public class TemporalArithmetics {
 	
@@ -14,133 +10,87 @@ public class TemporalArithmetics {
 		throw new IllegalStateException("This class may not be instantiated");
 	}
 	
-	private static final ThreadLocal<Calendar> utcCalendar = new ThreadLocal<Calendar>() {
-		@Override protected Calendar initialValue() {
-			return Calendar.getInstance(TimeZone.getTimeZone(UTC));
-		}
-	};
-	
-	private static final ThreadLocal<Cache<String, Calendar>> CALENDAR_CACHE =
-			new ThreadLocal<Cache<String, Calendar>>() {
-		@Override protected Cache<String, Calendar> initialValue() {
-			return CacheBuilder.newBuilder()
-					.maximumSize(250)
-					.build();
-		}
-	};
-	
-	private static Calendar getCalendar(String timeZoneId) {
-		// The most common case, so we optimise for it:
-		Calendar calendar;
-		if (timeZoneId.equals(UTC)) {
-			calendar = utcCalendar.get();
-		} else {
-			Cache<String, Calendar> cache = CALENDAR_CACHE.get();
-			calendar = cache.getIfPresent(timeZoneId);
-			if (calendar == null) {
-				calendar = Calendar.getInstance(TimeZone.getTimeZone(timeZoneId));
-				cache.put(timeZoneId, calendar);
-			}
-		}
-		calendar.clear();
-		calendar.setLenient(false);
-		calendar.setTimeZone(TimeZone.getTimeZone(timeZoneId));
-		return calendar;
-	}
-	
 	public static NanoDate yearMonthDayToDate(String timeZoneId, int year, int month, int day) {
-		Calendar calendar = getCalendar(timeZoneId);
-	    calendar.set(Calendar.YEAR, year);
-	    calendar.set(Calendar.MONTH, month - 1);
-	    calendar.set(Calendar.DATE, day);
-	    calendar.set(Calendar.HOUR, 0);    // Essential, otherwise these fields will be initialised to current time
-	    calendar.set(Calendar.MINUTE, 0);
-	    calendar.set(Calendar.SECOND, 0);
-	    calendar.set(Calendar.MILLISECOND, 0);
-	    calendar.set(Calendar.AM_PM, Calendar.AM);    // Essential, otherwise may get noon
-		return NanoDate.fromMillisecondsSinceEpoch(calendar.getTimeInMillis());
+		return NanoDate.fromNanosecondsSinceEpoch(NanoEpoch.yearMonthDayToDate(timeZoneId, year, month, day));
 	}
 	
 	public static ZonedNanoDate yearMonthDayToZonedDate(String timeZoneId, int year, int month, int day) {
-		Calendar calendar = getCalendar(timeZoneId);
-	    calendar.set(Calendar.YEAR, year);
-	    calendar.set(Calendar.MONTH, month - 1);
-	    calendar.set(Calendar.DATE, day);
-	    calendar.set(Calendar.HOUR, 0);    // Essential, otherwise these fields will be initialised to current time
-	    calendar.set(Calendar.MINUTE, 0);
-	    calendar.set(Calendar.SECOND, 0);
-	    calendar.set(Calendar.MILLISECOND, 0);
-	    calendar.set(Calendar.AM_PM, Calendar.AM);    // Essential, otherwise may get noon
-		return ZonedNanoDate.fromMillisecondsSinceEpoch(timeZoneId, calendar.getTimeInMillis());
+		return ZonedNanoDate.fromNanosecondsSinceEpoch(timeZoneId,
+				NanoEpoch.yearMonthDayToDate(timeZoneId, year, month, day));
 	}
 
 	public static int getYear(String timeZoneId, NanoDate date) {
-		Calendar calendar = getCalendar(timeZoneId);
-		calendar.setTimeInMillis(date.getMillisecondsSinceEpoch());
-		return calendar.get(Calendar.YEAR);
+		return NanoEpoch.getYear(timeZoneId, date.getNanosecondsSinceEpoch());
 	}
 
 	public static int getYear(ZonedNanoDate date) {
-		Calendar calendar = getCalendar(date.getTimeZoneId());
-		calendar.setTimeInMillis(date.getMillisecondsSinceEpoch());
-		return calendar.get(Calendar.YEAR);
+		return NanoEpoch.getYear(date.getTimeZoneId(), date.getNanosecondsSinceEpoch());
 	}
 
 	/**
 	 * @return  the month: 1 indicates January, 2 February, etc.
 	 */
 	public static int getMonth(String timeZoneId, NanoDate date) {
-		Calendar calendar = getCalendar(timeZoneId);
-		calendar.setTimeInMillis(date.getMillisecondsSinceEpoch());
-		return calendar.get(Calendar.MONTH) + 1;
+		return NanoEpoch.getMonth(timeZoneId, date.getNanosecondsSinceEpoch());
 	}
 	
 	/**
 	 * @return  the month: 1 indicates January, 2 February, etc.
 	 */
 	public static int getMonth(ZonedNanoDate date) {
-		Calendar calendar = getCalendar(date.getTimeZoneId());
-		calendar.setTimeInMillis(date.getMillisecondsSinceEpoch());
-		return calendar.get(Calendar.MONTH) + 1;
+		return NanoEpoch.getMonth(date.getTimeZoneId(), date.getNanosecondsSinceEpoch());
 	}
 
 	public static int getDayOfMonth(String timeZoneId, NanoDate date) {
-		Calendar calendar = getCalendar(timeZoneId);
-		calendar.setTimeInMillis(date.getMillisecondsSinceEpoch());
-		return calendar.get(Calendar.DAY_OF_MONTH);
+		return NanoEpoch.getDayOfMonth(timeZoneId, date.getNanosecondsSinceEpoch());
 	}	
 	
 	public static int getDayOfMonth(ZonedNanoDate date) {
-		Calendar calendar = getCalendar(date.getTimeZoneId());
-		calendar.setTimeInMillis(date.getMillisecondsSinceEpoch());
-		return calendar.get(Calendar.DAY_OF_MONTH);
+		return NanoEpoch.getDayOfMonth(date.getTimeZoneId(), date.getNanosecondsSinceEpoch());
 	}	
 	
-	private static long plusCalendarUnit_(String timeZoneId, NanoDateTime dateTime, int calendarUnit, int quantity) {
-		long nanos = dateTime.getNanosecondsSinceEpoch() % TemporalUnit.MILLISECOND.getWholeNanoseconds();
-		Calendar calendar = getCalendar(timeZoneId);
-		calendar.setTimeInMillis(dateTime.getMillisecondsSinceEpoch());
-		calendar.add(calendarUnit, quantity);
-		return calendar.getTimeInMillis() * TemporalUnit.MILLISECOND.getWholeNanoseconds() + nanos;	
+	/**
+	 * Fills in the given holder with the year, month, day of month, day of week and day of year of the given date, in
+	 * one decomposition; the time fields are set to zero.
+	 * 
+	 * @return  the given holder.
+	 */
+	public static NanoDateTimeFields decompose(String timeZoneId, NanoDate date, NanoDateTimeFields fields) {
+		return NanoEpoch.dateDecompose(timeZoneId, date.getNanosecondsSinceEpoch(), fields);
+	}
+	
+	public static NanoDateTimeFields decompose(ZonedNanoDate date, NanoDateTimeFields fields) {
+		return NanoEpoch.dateDecompose(date.getTimeZoneId(), date.getNanosecondsSinceEpoch(), fields);
 	}
 	
-	private static long plusCalendarUnit_(ZonedNanoDateTime dateTime, int calendarUnit, int quantity) {
-		long nanos = dateTime.getNanosecondsSinceEpoch() % TemporalUnit.MILLISECOND.getWholeNanoseconds();
-		Calendar calendar = getCalendar(dateTime.getTimeZoneId());
-		calendar.setTimeInMillis(dateTime.getMillisecondsSinceEpoch());
-		calendar.add(calendarUnit, quantity);
-		return calendar.getTimeInMillis() * TemporalUnit.MILLISECOND.getWholeNanoseconds() + nanos;	
+	/**
+	 * Fills in the given holder with all the fields of the given datetime, in local time, in one decomposition.
+	 * 
+	 * @return  the given holder.
+	 */
+	public static NanoDateTimeFields decompose(String timeZoneId, NanoDateTime dateTime, NanoDateTimeFields fields) {
+		return NanoEpoch.decompose(timeZoneId, dateTime.getNanosecondsSinceEpoch(), fields);
+	}
+	
+	public static NanoDateTimeFields decompose(ZonedNanoDateTime dateTime, NanoDateTimeFields fields) {
+		return NanoEpoch.decompose(dateTime.getTimeZoneId(), dateTime.getNanosecondsSinceEpoch(), fields);
+	}
+	
+	public static NanoDateTimeFields decompose(NanoDateTime dateTime, NanoDateTimeFields fields) {
+		return decompose(UTC, dateTime, fields);
 	}
 	
 	public static NanoDateTime plusCalendarUnit(String timeZoneId, NanoDateTime dateTime, int calendarUnit,
 			int quantity) {
-		return NanoDateTime.fromNanosecondsSinceEpoch(plusCalendarUnit_(timeZoneId, dateTime, calendarUnit, quantity));	
+		return NanoDateTime.fromNanosecondsSinceEpoch(
+				NanoEpoch.plusCalendarUnit(timeZoneId, dateTime.getNanosecondsSinceEpoch(), calendarUnit, quantity));
 	}
 	
 	public static ZonedNanoDateTime plusCalendarUnit(ZonedNanoDateTime dateTime, int calendarUnit,
 			int quantity) {
 		return ZonedNanoDateTime.fromNanosecondsSinceEpoch(dateTime.getTimeZoneId(),
-				plusCalendarUnit_(dateTime, calendarUnit, quantity));	
+				NanoEpoch.plusCalendarUnit(dateTime.getTimeZoneId(), dateTime.getNanosecondsSinceEpoch(),
+						calendarUnit, quantity));
 	}
 
 	public static NanoDateTime plusCalendarUnit(NanoDateTime dateTime, int calendarUnit, int quantity) {
@@ -149,48 +99,15 @@ public class TemporalArithmetics {
 	
 	public static NanoDateTime plusTemporalUnit(String timeZoneId, NanoDateTime dateTime, TemporalUnit temporalUnit,
 			int quantity) {
-		int calendarUnit;
-		long newNanos = 0L;
-		if (temporalUnit.toCalendarUnit().isPresent()) {
-			calendarUnit = temporalUnit.toCalendarUnit().get();
-		} else {
-			if (temporalUnit.equals(TemporalUnit.MICROSECOND)) {
-				calendarUnit = TemporalUnit.MILLISECOND.toCalendarUnit().get();
-				newNanos = (quantity % TemporalUnit.MILLISECOND.getWholeMicroseconds()) *
-						TemporalUnit.MICROSECOND.getWholeNanoseconds();
-				quantity /= TemporalUnit.MILLISECOND.getWholeMicroseconds();
-			} else {
-				assert temporalUnit.equals(TemporalUnit.NANOSECOND);
-				calendarUnit = TemporalUnit.MILLISECOND.toCalendarUnit().get();
-				newNanos = quantity % TemporalUnit.MILLISECOND.getWholeNanoseconds();
-				quantity /= TemporalUnit.MILLISECOND.getWholeNanoseconds();
-			}
-		}
-		return NanoDateTime.fromNanosecondsSinceEpoch(plusCalendarUnit_(timeZoneId, dateTime, calendarUnit, quantity)
-				+ newNanos);	
+		return NanoDateTime.fromNanosecondsSinceEpoch(
+				NanoEpoch.plusTemporalUnit(timeZoneId, dateTime.getNanosecondsSinceEpoch(), temporalUnit, quantity));
 	}
 	
 	public static ZonedNanoDateTime plusTemporalUnit(ZonedNanoDateTime dateTime, TemporalUnit temporalUnit,
 			int quantity) {
-		int calendarUnit;
-		long newNanos = 0L;
-		if (temporalUnit.toCalendarUnit().isPresent()) {
-			calendarUnit = temporalUnit.toCalendarUnit().get();
-		} else {
-			if (temporalUnit.equals(TemporalUnit.MICROSECOND)) {
-				calendarUnit = TemporalUnit.MILLISECOND.toCalendarUnit().get();
-				newNanos = (quantity % TemporalUnit.MILLISECOND.getWholeMicroseconds()) *
-						TemporalUnit.MICROSECOND.getWholeNanoseconds();
-				quantity /= TemporalUnit.MILLISECOND.getWholeMicroseconds();
-			} else {
-				assert temporalUnit.equals(TemporalUnit.NANOSECOND);
-				calendarUnit = TemporalUnit.MILLISECOND.toCalendarUnit().get();
-				newNanos = quantity % TemporalUnit.MILLISECOND.getWholeNanoseconds();
-				quantity /= TemporalUnit.MILLISECOND.getWholeNanoseconds();
-			}
-		}
 		return ZonedNanoDateTime.fromNanosecondsSinceEpoch(dateTime.getTimeZoneId(),
-				plusCalendarUnit_(dateTime, calendarUnit, quantity) + newNanos);	
+				NanoEpoch.plusTemporalUnit(dateTime.getTimeZoneId(), dateTime.getNanosecondsSinceEpoch(),
+						temporalUnit, quantity));
 	}
 
 	public static NanoDateTime plusTemporalUnit(NanoDateTime dateTime, TemporalUnit temporalUnit, int quantity) {
@@ -198,11 +115,13 @@ public class TemporalArithmetics {
 	}
 	
 	public static NanoDateTime plusDays(String timeZoneId, NanoDateTime dateTime, long days) {
-		return plusCalendarUnit(timeZoneId, dateTime, Calendar.DAY_OF_MONTH, (int) days);
+		return NanoDateTime.fromNanosecondsSinceEpoch(
+				NanoEpoch.plusDays(timeZoneId, dateTime.getNanosecondsSinceEpoch(), days));
 	}
 	
 	public static ZonedNanoDateTime plusDays(ZonedNanoDateTime dateTime, long days) {
-		return plusCalendarUnit(dateTime, Calendar.DAY_OF_MONTH, (int) days);
+		return ZonedNanoDateTime.fromNanosecondsSinceEpoch(dateTime.getTimeZoneId(),
+				NanoEpoch.plusDays(dateTime.getTimeZoneId(), dateTime.getNanosecondsSinceEpoch(), days));
 	}
 	
 	public static NanoDateTime plusDays(NanoDateTime dateTime, long days) {
@@ -222,11 +141,13 @@ public class TemporalArithmetics {
 	}
 	
 	public static NanoDateTime plusMonths(String timeZoneId, NanoDateTime dateTime, long months) {
-		return plusCalendarUnit(timeZoneId, dateTime, Calendar.MONTH, (int) months);
+		return NanoDateTime.fromNanosecondsSinceEpoch(
+				NanoEpoch.plusMonths(timeZoneId, dateTime.getNanosecondsSinceEpoch(), months));
 	}
 	
 	public static ZonedNanoDateTime plusMonths(ZonedNanoDateTime dateTime, long months) {
-		return plusCalendarUnit(dateTime, Calendar.MONTH, (int) months);
+		return ZonedNanoDateTime.fromNanosecondsSinceEpoch(dateTime.getTimeZoneId(),
+				NanoEpoch.plusMonths(dateTime.getTimeZoneId(), dateTime.getNanosecondsSinceEpoch(), months));
 	}
 	
 	public static NanoDateTime plusMonths(NanoDateTime dateTime, long months) {
@@ -246,11 +167,13 @@ public class TemporalArithmetics {
 	}
 
 	public static NanoDateTime plusYears(String timeZoneId, NanoDateTime dateTime, long years) {
-		return plusCalendarUnit(timeZoneId, dateTime, Calendar.YEAR, (int) years);
+		return NanoDateTime.fromNanosecondsSinceEpoch(
+				NanoEpoch.plusYears(timeZoneId, dateTime.getNanosecondsSinceEpoch(), years));
 	}
 	
 	public static ZonedNanoDateTime plusYears(ZonedNanoDateTime dateTime, long years) {
-		return plusCalendarUnit(dateTime, Calendar.YEAR, (int) years);
+		return ZonedNanoDateTime.fromNanosecondsSinceEpoch(dateTime.getTimeZoneId(),
+				NanoEpoch.plusYears(dateTime.getTimeZoneId(), dateTime.getNanosecondsSinceEpoch(), years));
 	}
 	
 	public static NanoDateTime plusYears(NanoDateTime dateTime, long years) {
@@ -270,11 +193,13 @@ public class TemporalArithmetics {
 	}
 	
 	public static NanoDateTime plusSeconds(String timeZoneId, NanoDateTime dateTime, long seconds) {
-		return plusCalendarUnit(timeZoneId, dateTime, Calendar.SECOND, (int) seconds);
+		return NanoDateTime.fromNanosecondsSinceEpoch(
+				NanoEpoch.plusSeconds(dateTime.getNanosecondsSinceEpoch(), seconds));
 	}
 	
 	public static ZonedNanoDateTime plusSeconds(ZonedNanoDateTime dateTime, long seconds) {
-		return plusCalendarUnit(dateTime, Calendar.SECOND, (int) seconds);
+		return ZonedNanoDateTime.fromNanosecondsSinceEpoch(dateTime.getTimeZoneId(),
+				NanoEpoch.plusSeconds(dateTime.getNanosecondsSinceEpoch(), seconds));
 	}
 	
 	public static NanoDateTime plusSeconds(NanoDateTime dateTime, long seconds) {
@@ -294,11 +219,13 @@ public class TemporalArithmetics {
 	}
 	
 	public static NanoDateTime plusMilliseconds(String timeZoneId, NanoDateTime dateTime, long milliseconds) {
-		return plusCalendarUnit(timeZoneId, dateTime, Calendar.MILLISECOND, (int) milliseconds);
+		return NanoDateTime.fromNanosecondsSinceEpoch(
+				NanoEpoch.plusMilliseconds(dateTime.getNanosecondsSinceEpoch(), milliseconds));
 	}
 	
 	public static ZonedNanoDateTime plusMilliseconds(ZonedNanoDateTime dateTime, long milliseconds) {
-		return plusCalendarUnit(dateTime, Calendar.MILLISECOND, (int) milliseconds);
+		return ZonedNanoDateTime.fromNanosecondsSinceEpoch(dateTime.getTimeZoneId(),
+				NanoEpoch.plusMilliseconds(dateTime.getNanosecondsSinceEpoch(), milliseconds));
 	}
 	
 	public static NanoDateTime plusMilliseconds(NanoDateTime dateTime, long milliseconds) {
@@ -318,11 +245,13 @@ public class TemporalArithmetics {
 	}
 	
 	public static NanoDateTime plusMicroseconds(String timeZoneId, NanoDateTime dateTime, long microseconds) {
-		return plusTemporalUnit(timeZoneId, dateTime, TemporalUnit.MICROSECOND, (int) microseconds);
+		return NanoDateTime.fromNanosecondsSinceEpoch(
+				NanoEpoch.plusMicroseconds(dateTime.getNanosecondsSinceEpoch(), microseconds));
 	}
 	
 	public static ZonedNanoDateTime plusMicroseconds(ZonedNanoDateTime dateTime, long microseconds) {
-		return plusTemporalUnit(dateTime, TemporalUnit.MICROSECOND, (int) microseconds);
+		return ZonedNanoDateTime.fromNanosecondsSinceEpoch(dateTime.getTimeZoneId(),
+				NanoEpoch.plusMicroseconds(dateTime.getNanosecondsSinceEpoch(), microseconds));
 	}
 	
 	public static NanoDateTime plusMicroseconds(NanoDateTime dateTime, long microseconds) {
@@ -342,11 +271,13 @@ public class TemporalArithmetics {
 	}
 	
 	public static NanoDateTime plusNanoseconds(String timeZoneId, NanoDateTime dateTime, long nanoseconds) {
-		return plusTemporalUnit(timeZoneId, dateTime, TemporalUnit.NANOSECOND, (int) nanoseconds);
+		return NanoDateTime.fromNanosecondsSinceEpoch(
+				NanoEpoch.plusNanoseconds(dateTime.getNanosecondsSinceEpoch(), nanoseconds));
 	}
 	
 	public static ZonedNanoDateTime plusNanoseconds(ZonedNanoDateTime dateTime, long nanoseconds) {
-		return plusTemporalUnit(dateTime, TemporalUnit.NANOSECOND, (int) nanoseconds);
+		return ZonedNanoDateTime.fromNanosecondsSinceEpoch(dateTime.getTimeZoneId(),
+				NanoEpoch.plusNanoseconds(dateTime.getNanosecondsSinceEpoch(), nanoseconds));
 	}
 	
 	public static NanoDateTime plusNanoseconds(NanoDateTime dateTime, long nanoseconds) {
@@ -366,13 +297,14 @@ public class TemporalArithmetics {
 	}
 	
 	public static NanoDate plusCalendarUnit(String timeZoneId, NanoDate date, int calendarUnit, int quantity) {
-		return plusCalendarUnit(timeZoneId,
-				NanoDateTime.fromDateAndTime(date, NanoTime.MIDDAY), calendarUnit, quantity).getDate();
+		return NanoDate.fromNanosecondsSinceEpoch(
+				NanoEpoch.datePlusCalendarUnit(timeZoneId, date.getNanosecondsSinceEpoch(), calendarUnit, quantity));
 	}
 
 	public static ZonedNanoDate plusCalendarUnit(ZonedNanoDate date, int calendarUnit, int quantity) {
-		return plusCalendarUnit(ZonedNanoDateTime.fromDateAndTime(date, NanoTime.MIDDAY),
-				calendarUnit, quantity).getDate();
+		return ZonedNanoDate.fromNanosecondsSinceEpoch(date.getTimeZoneId(),
+				NanoEpoch.datePlusCalendarUnit(date.getTimeZoneId(), date.getNanosecondsSinceEpoch(),
+						calendarUnit, quantity));
 	}
 
 	public static NanoDate plusCalendarUnit(NanoDate date, int calendarUnit, int quantity) {
@@ -380,13 +312,14 @@ public class TemporalArithmetics {
 	}
 
 	public static NanoDate plusTemporalUnit(String timeZoneId, NanoDate date, TemporalUnit temporalUnit, int quantity) {
-		return plusTemporalUnit(timeZoneId,
-				NanoDateTime.fromDateAndTime(date, NanoTime.MIDDAY), temporalUnit, quantity).getDate();
+		return NanoDate.fromNanosecondsSinceEpoch(
+				NanoEpoch.datePlusTemporalUnit(timeZoneId, date.getNanosecondsSinceEpoch(), temporalUnit, quantity));
 	}
 
 	public static ZonedNanoDate plusTemporalUnit(ZonedNanoDate date, TemporalUnit temporalUnit, int quantity) {
-		return plusTemporalUnit(
-				ZonedNanoDateTime.fromDateAndTime(date, NanoTime.MIDDAY), temporalUnit, quantity).getDate();
+		return ZonedNanoDate.fromNanosecondsSinceEpoch(date.getTimeZoneId(),
+				NanoEpoch.datePlusTemporalUnit(date.getTimeZoneId(), date.getNanosecondsSinceEpoch(),
+						temporalUnit, quantity));
 	}
 
 	public static NanoDate plusTemporalUnit(NanoDate date, TemporalUnit temporalUnit, int quantity) {
@@ -394,11 +327,13 @@ public class TemporalArithmetics {
 	}
 
 	public static NanoDate plusDays(String timeZoneId, NanoDate date, long days) {
-		return plusCalendarUnit(timeZoneId, date, Calendar.DAY_OF_MONTH, (int) days);
+		return NanoDate.fromNanosecondsSinceEpoch(
+				NanoEpoch.datePlusDays(timeZoneId, date.getNanosecondsSinceEpoch(), days));
 	}
 	
 	public static ZonedNanoDate plusDays(ZonedNanoDate date, long days) {
-		return plusCalendarUnit(date, Calendar.DAY_OF_MONTH, (int) days);
+		return ZonedNanoDate.fromNanosecondsSinceEpoch(date.getTimeZoneId(),
+				NanoEpoch.datePlusDays(date.getTimeZoneId(), date.getNanosecondsSinceEpoch(), days));
 	}
 	
 	public static NanoDate plusDays(NanoDate date, long days) {
@@ -406,7 +341,7 @@ public class TemporalArithmetics {
 	}
 	
 	public static NanoDate minusDays(String timeZoneId, NanoDate date, long days) {
-		return minusDays(timeZoneId, date, days);
+		return plusDays(timeZoneId, date, -days);
 	}
 	
 	public static ZonedNanoDate minusDays(ZonedNanoDate date, long days) {
@@ -418,11 +353,13 @@ public class TemporalArithmetics {
 	}
 	
 	public static NanoDate plusMonths(String timeZoneId, NanoDate date, long months) {
-		return plusCalendarUnit(timeZoneId, date, Calendar.MONTH, (int)months);
+		return NanoDate.fromNanosecondsSinceEpoch(
+				NanoEpoch.datePlusMonths(timeZoneId, date.getNanosecondsSinceEpoch(), months));
 	}
 	
 	public static ZonedNanoDate plusMonths(ZonedNanoDate date, long months) {
-		return plusCalendarUnit(date, Calendar.MONTH, (int)months);
+		return ZonedNanoDate.fromNanosecondsSinceEpoch(date.getTimeZoneId(),
+				NanoEpoch.datePlusMonths(date.getTimeZoneId(), date.getNanosecondsSinceEpoch(), months));
 	}
 	
 	public static NanoDate plusMonths(NanoDate date, long months) {
@@ -442,11 +379,13 @@ public class TemporalArithmetics {
 	}
 	
 	public static NanoDate plusYears(String timeZoneId, NanoDate date, int years) {
-		return plusCalendarUnit(timeZoneId, date, Calendar.YEAR, (int)years);
+		return NanoDate.fromNanosecondsSinceEpoch(
+				NanoEpoch.datePlusYears(timeZoneId, date.getNanosecondsSinceEpoch(), years));
 	}
 	
 	public static ZonedNanoDate plusYears(ZonedNanoDate date, int years) {
-		return plusCalendarUnit(date, Calendar.YEAR, (int)years);
+		return ZonedNanoDate.fromNanosecondsSinceEpoch(date.getTimeZoneId(),
+				NanoEpoch.datePlusYears(date.getTimeZoneId(), date.getNanosecondsSinceEpoch(), years));
 	}
 	
 	public static NanoDate plusYears(NanoDate date, int years) {
@@ -467,7 +406,7 @@ public class TemporalArithmetics {
 	
 	public static NanoTime plusTemporalUnit(NanoTime time, TemporalUnit temporalUnit, long quantity) {
 		return NanoTime.fromNanosecondsSinceMidnight(
-				time.getNanosecondsSinceMidnight() + quantity * temporalUnit.getWholeNanoseconds());
+				NanoEpoch.timePlusTemporalUnit(time.getNanosecondsSinceMidnight(), temporalUnit, quantity));
 	}
 	
 	public static NanoTime plusCalendarUnit(NanoTime time, int calendarUnit, long quantity) {
@@ -518,71 +457,76 @@ public class TemporalArithmetics {
 	}
 	
 	public static NanoTimeDelta difference(NanoDateTime start, NanoDateTime end) {
-		return NanoTimeDelta.fromNanoseconds(end.getNanosecondsSinceEpoch() - start.getNanosecondsSinceEpoch());
+		return NanoTimeDelta.fromNanoseconds(
+				NanoEpoch.difference(start.getNanosecondsSinceEpoch(), end.getNanosecondsSinceEpoch()));
 	}
 	
 	public static NanoTimeDelta difference(ZonedNanoDateTime start, ZonedNanoDateTime end) {
-		return NanoTimeDelta.fromNanoseconds(end.getNanosecondsSinceEpoch() - start.getNanosecondsSinceEpoch());
+		return NanoTimeDelta.fromNanoseconds(
+				NanoEpoch.difference(start.getNanosecondsSinceEpoch(), end.getNanosecondsSinceEpoch()));
 	}
 	
 	public static NanoTimeDelta difference(ZonedNanoDateTime start, NanoDateTime end) {
-		return NanoTimeDelta.fromNanoseconds(end.getNanosecondsSinceEpoch() - start.getNanosecondsSinceEpoch());
+		return NanoTimeDelta.fromNanoseconds(
+				NanoEpoch.difference(start.getNanosecondsSinceEpoch(), end.getNanosecondsSinceEpoch()));
 	}
 	
 	public static NanoTimeDelta difference(NanoDateTime start, ZonedNanoDateTime end) {
-		return NanoTimeDelta.fromNanoseconds(end.getNanosecondsSinceEpoch() - start.getNanosecondsSinceEpoch());
+		return NanoTimeDelta.fromNanoseconds(
+				NanoEpoch.difference(start.getNanosecondsSinceEpoch(), end.getNanosecondsSinceEpoch()));
 	}
 	
 	public static NanoTimeDelta difference(NanoDate start, NanoDate end) {
-		return NanoTimeDelta.fromNanoseconds(end.getNanosecondsSinceEpoch() - start.getNanosecondsSinceEpoch());
+		return NanoTimeDelta.fromNanoseconds(
+				NanoEpoch.difference(start.getNanosecondsSinceEpoch(), end.getNanosecondsSinceEpoch()));
 	}
 	
 	public static NanoTimeDelta difference(ZonedNanoDate start, ZonedNanoDate end) {
-		return NanoTimeDelta.fromNanoseconds(end.getNanosecondsSinceEpoch() - start.getNanosecondsSinceEpoch());
+		return NanoTimeDelta.fromNanoseconds(
+				NanoEpoch.difference(start.getNanosecondsSinceEpoch(), end.getNanosecondsSinceEpoch()));
 	}
 
 	public static NanoTimeDelta difference(ZonedNanoDate start, NanoDate end) {
-		return NanoTimeDelta.fromNanoseconds(end.getNanosecondsSinceEpoch() - start.getNanosecondsSinceEpoch());
+		return NanoTimeDelta.fromNanoseconds(
+				NanoEpoch.difference(start.getNanosecondsSinceEpoch(), end.getNanosecondsSinceEpoch()));
 	}
 
 	public static NanoTimeDelta difference(NanoDate start, ZonedNanoDate end) {
-		return NanoTimeDelta.fromNanoseconds(end.getNanosecondsSinceEpoch() - start.getNanosecondsSinceEpoch());
+		return NanoTimeDelta.fromNanoseconds(
+				NanoEpoch.difference(start.getNanosecondsSinceEpoch(), end.getNanosecondsSinceEpoch()));
 	}
 
 	public static NanoTimeDelta difference(NanoTime start, NanoTime end) {
-		return NanoTimeDelta.fromNanoseconds(end.getNanosecondsSinceMidnight() - start.getNanosecondsSinceMidnight());
+		return NanoTimeDelta.fromNanoseconds(
+				NanoEpoch.difference(start.getNanosecondsSinceMidnight(), end.getNanosecondsSinceMidnight()));
 	}
 
 	public static NanoDateTime plusDuration(String timeZoneId, NanoDateTime start, NanoTimeDelta duration) {
-		return duration == NanoTimeDelta.MAX ? NanoDateTime.MAX :
-			(duration == NanoTimeDelta.MIN ? NanoDateTime.MIN :
-				plusNanoseconds(timeZoneId, start, duration.toWholeNanoseconds()));
+		return NanoDateTime.fromNanosecondsSinceEpoch(
+				NanoEpoch.plusDuration(start.getNanosecondsSinceEpoch(), duration.toWholeNanoseconds()));
 	}
 	
 	public static ZonedNanoDateTime plusDuration(String timeZoneId, ZonedNanoDateTime start, NanoTimeDelta duration) {
-		return duration == NanoTimeDelta.MAX ? ZonedNanoDateTime.MAX :
-			(duration == NanoTimeDelta.MIN ? ZonedNanoDateTime.MIN :
-				plusNanoseconds(start, duration.toWholeNanoseconds()));
+		return ZonedNanoDateTime.fromNanosecondsSinceEpoch(start.getTimeZoneId(),
+				NanoEpoch.plusDuration(start.getNanosecondsSinceEpoch(), duration.toWholeNanoseconds()));
 	}
 	
 	public static NanoDateTime plusDuration(NanoDateTime start, NanoTimeDelta duration) {
 		return plusDuration(UTC, start, duration);
 	}
 	
-	public static NanoDateTime plusDuration(ZonedNanoDateTime start, NanoTimeDelta duration) {
-		return plusDuration(start, duration);
+	public static ZonedNanoDateTime plusDuration(ZonedNanoDateTime start, NanoTimeDelta duration) {
+		return plusDuration(start.getTimeZoneId(), start, duration);
 	}
 	
 	public static NanoDateTime minusDuration(String timeZoneId, NanoDateTime start, NanoTimeDelta duration) {
-		return duration == NanoTimeDelta.MAX ? NanoDateTime.MIN :
-			(duration == NanoTimeDelta.MIN ? NanoDateTime.MAX :
-				minusNanoseconds(timeZoneId, start, duration.toWholeMilliseconds()));
+		return NanoDateTime.fromNanosecondsSinceEpoch(
+				NanoEpoch.minusDuration(start.getNanosecondsSinceEpoch(), duration.toWholeNanoseconds()));
 	}
 	
 	public static ZonedNanoDateTime minusDuration(ZonedNanoDateTime start, NanoTimeDelta duration) {
-		return duration == NanoTimeDelta.MAX ? ZonedNanoDateTime.MIN :
-			(duration == NanoTimeDelta.MIN ? ZonedNanoDateTime.MAX :
-				minusNanoseconds(start, duration.toWholeMilliseconds()));
+		return ZonedNanoDateTime.fromNanosecondsSinceEpoch(start.getTimeZoneId(),
+				NanoEpoch.minusDuration(start.getNanosecondsSinceEpoch(), duration.toWholeNanoseconds()));
 	}
 	
 	public static NanoDateTime minusDuration(NanoDateTime start, NanoTimeDelta duration) {
@@ -590,15 +534,12 @@ public class TemporalArithmetics {
 	}
 	
 	public static java.util.Date toJavaUtilDate(String timeZoneId, NanoDateTime dateTime) {
-		Calendar calendar = getCalendar(timeZoneId);
-		calendar.setTimeInMillis(dateTime.getMillisecondsSinceEpoch());
-		return calendar.getTime();
+		// A java.util.Date is an instant, so the time zone makes no difference to it
+		return new java.util.Date(dateTime.getMillisecondsSinceEpoch());
 	}
 	
 	public static java.util.Date toJavaUtilDate(ZonedNanoDateTime dateTime) {
-		Calendar calendar = getCalendar(dateTime.getTimeZoneId());
-		calendar.setTimeInMillis(dateTime.getMillisecondsSinceEpoch());
-		return calendar.getTime();
+		return new java.util.Date(dateTime.getMillisecondsSinceEpoch());
 	}
 	
 	public static java.util.Date toJavaUtilDate(NanoDateTime dateTime) {
@@ -607,30 +548,24 @@ public class TemporalArithmetics {
 	
 	@SuppressWarnings("deprecation")
 	public static java.sql.Date toJavaSqlDate(String timeZoneId, NanoDateTime dateTime) {
-		Calendar calendar = getCalendar(timeZoneId);
-		calendar.setTimeInMillis(dateTime.getMillisecondsSinceEpoch());
-		return new java.sql.Date(calendar.get(Calendar.YEAR) - 1900,
-				calendar.get(Calendar.MONTH),
-				calendar.get(Calendar.DAY_OF_MONTH));
+		long nanos = dateTime.getNanosecondsSinceEpoch();
+		return new java.sql.Date(NanoEpoch.getYear(timeZoneId, nanos) - 1900,
+				NanoEpoch.getMonth(timeZoneId, nanos) - 1,
+				NanoEpoch.getDayOfMonth(timeZoneId, nanos));
 	}
 	
 	@SuppressWarnings("deprecation")
 	public static java.sql.Date toJavaSqlDate(ZonedNanoDateTime dateTime) {
-		Calendar calendar = getCalendar(dateTime.getTimeZoneId());
-		calendar.setTimeInMillis(dateTime.getMillisecondsSinceEpoch());
-		return new java.sql.Date(calendar.get(Calendar.YEAR) - 1900,
-				calendar.get(Calendar.MONTH),
-				calendar.get(Calendar.DAY_OF_MONTH));
+		long nanos = dateTime.getNanosecondsSinceEpoch();
+		return new java.sql.Date(NanoEpoch.getYear(dateTime.getTimeZoneId(), nanos) - 1900,
+				NanoEpoch.getMonth(dateTime.getTimeZoneId(), nanos) - 1,
+				NanoEpoch.getDayOfMonth(dateTime.getTimeZoneId(), nanos));
 	}
 
 	public static java.sql.Time toJavaSqlTime(String timeZoneId, NanoTime time) {
-		Calendar calendar = getCalendar(timeZoneId);
-		calendar.setTimeInMillis(time.getMillisecondsSinceMidnight());
-		long ms = calendar.get(Calendar.MILLISECOND)
-				+ 1000 * (calendar.get(Calendar.SECOND)
-				+ 60 * (calendar.get(Calendar.MINUTE)
-				+ 60 * calendar.get(Calendar.HOUR_OF_DAY)));
-		return new java.sql.Time(ms);
+		long nanos = time.getMillisecondsSinceMidnight() * TemporalUnit.MILLISECOND.getWholeNanoseconds();
+		long local = TimeZoneRules.of(timeZoneId).toLocalNanoOfDay(nanos);
+		return new java.sql.Time(local / TemporalUnit.MILLISECOND.getWholeNanoseconds());
 	}
 	
 	public static java.sql.Timestamp toJavaSqlTimestamp(NanoDateTime dateTime) {
@@ -702,9 +637,7 @@ public class TemporalArithmetics {
 	}
 	
 	public static int getDayOfWeek(String timeZoneId, NanoDate date) {
-		Calendar calendar = getCalendar(timeZoneId);
-		calendar.setTimeInMillis(date.getMillisecondsSinceEpoch());
-		return calendar.get(Calendar.DAY_OF_WEEK);
+		return NanoEpoch.getDayOfWeek(timeZoneId, date.getNanosecondsSinceEpoch());
 	}
 
 	public static int getDayOfWeek(NanoDate date) {
@@ -712,8 +645,6 @@ public class TemporalArithmetics {
 	}
 
 	public static int getDayOfWeek(ZonedNanoDate date) {
-		Calendar calendar = getCalendar(date.getTimeZoneId());
-		calendar.setTimeInMillis(date.getMillisecondsSinceEpoch());
-		return calendar.get(Calendar.DAY_OF_WEEK);
+		return NanoEpoch.getDayOfWeek(date.getTimeZoneId(), date.getNanosecondsSinceEpoch());
 	}
 }
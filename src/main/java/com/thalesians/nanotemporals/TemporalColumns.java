@@ -0,0 +1,280 @@
+package com.thalesians.nanotemporals;
+
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+
+import java.util.Calendar;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Bulk counterparts of the {@link NanoEpoch} methods, operating on columns of datetimes held as {@code long[]}s of
+ * nanoseconds since epoch.
+ * <p/>
+ * Each method reads <tt>length</tt> elements of a source column from <tt>srcPos</tt> and writes the results to a
+ * destination column from <tt>destPos</tt>; the source and destination may be the same array, at the same position,
+ * so that a column can be updated in place, for which there are shorthand overloads. The methods prefixed with
+ * {@code parallel} split the columns into chunks processed in the common {@link ForkJoinPool}, falling back to a
+ * sequential loop for short columns. Every element is computed exactly as the corresponding scalar {@link NanoEpoch}
+ * method would.
+ */
+public final class TemporalColumns {
+
+	// Below this many elements, a chunk is processed sequentially
+	private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+	private TemporalColumns() {
+		throw new IllegalStateException("This class may not be instantiated");
+	}
+
+	private abstract static class Operation {
+		abstract void apply(int offset, int length);
+	}
+
+	private static final class Task extends RecursiveAction {
+		private static final long serialVersionUID = 5087132539447815049L;
+
+		private final Operation operation;
+		private final int offset;
+		private final int length;
+
+		Task(Operation operation, int offset, int length) {
+			this.operation = operation;
+			this.offset = offset;
+			this.length = length;
+		}
+
+		@Override protected void compute() {
+			if (length <= PARALLEL_THRESHOLD) {
+				operation.apply(offset, length);
+			} else {
+				int half = length >>> 1;
+				invokeAll(new Task(operation, offset, half), new Task(operation, offset + half, length - half));
+			}
+		}
+	}
+
+	private static void run(Operation operation, int length, boolean parallel) {
+		if (parallel && length > PARALLEL_THRESHOLD) {
+			ForkJoinPool.commonPool().invoke(new Task(operation, 0, length));
+		} else {
+			operation.apply(0, length);
+		}
+	}
+
+	private static void checkRanges(int srcLength, int srcPos, int destLength, int destPos, int length) {
+		checkPositionIndexes(srcPos, srcPos + length, srcLength);
+		checkPositionIndexes(destPos, destPos + length, destLength);
+	}
+
+	private static void plusCalendarUnit(final String timeZoneId, final long[] src, final int srcPos,
+			final long[] dest, final int destPos, int length, final int calendarUnit, final long quantity,
+			boolean parallel) {
+		checkRanges(src.length, srcPos, dest.length, destPos, length);
+		run(new Operation() {
+			@Override void apply(int offset, int length) {
+				for (int i = offset; i < offset + length; ++i) {
+					dest[destPos + i] = NanoEpoch.plusCalendarUnit(timeZoneId, src[srcPos + i], calendarUnit,
+							quantity);
+				}
+			}
+		}, length, parallel);
+	}
+
+	public static void plusDays(String timeZoneId, long[] src, int srcPos, long[] dest, int destPos, int length,
+			long days) {
+		plusCalendarUnit(timeZoneId, src, srcPos, dest, destPos, length, Calendar.DAY_OF_MONTH, days, false);
+	}
+
+	public static void parallelPlusDays(String timeZoneId, long[] src, int srcPos, long[] dest, int destPos,
+			int length, long days) {
+		plusCalendarUnit(timeZoneId, src, srcPos, dest, destPos, length, Calendar.DAY_OF_MONTH, days, true);
+	}
+
+	public static void plusDays(String timeZoneId, long[] column, long days) {
+		plusDays(timeZoneId, column, 0, column, 0, column.length, days);
+	}
+
+	public static void plusDays(long[] column, long days) {
+		plusDays(TemporalArithmetics.UTC, column, days);
+	}
+
+	public static void plusMonths(String timeZoneId, long[] src, int srcPos, long[] dest, int destPos, int length,
+			long months) {
+		plusCalendarUnit(timeZoneId, src, srcPos, dest, destPos, length, Calendar.MONTH, months, false);
+	}
+
+	public static void parallelPlusMonths(String timeZoneId, long[] src, int srcPos, long[] dest, int destPos,
+			int length, long months) {
+		plusCalendarUnit(timeZoneId, src, srcPos, dest, destPos, length, Calendar.MONTH, months, true);
+	}
+
+	public static void plusMonths(String timeZoneId, long[] column, long months) {
+		plusMonths(timeZoneId, column, 0, column, 0, column.length, months);
+	}
+
+	public static void plusMonths(long[] column, long months) {
+		plusMonths(TemporalArithmetics.UTC, column, months);
+	}
+
+	public static void plusYears(String timeZoneId, long[] src, int srcPos, long[] dest, int destPos, int length,
+			long years) {
+		plusCalendarUnit(timeZoneId, src, srcPos, dest, destPos, length, Calendar.YEAR, years, false);
+	}
+
+	public static void parallelPlusYears(String timeZoneId, long[] src, int srcPos, long[] dest, int destPos,
+			int length, long years) {
+		plusCalendarUnit(timeZoneId, src, srcPos, dest, destPos, length, Calendar.YEAR, years, true);
+	}
+
+	public static void plusYears(String timeZoneId, long[] column, long years) {
+		plusYears(timeZoneId, column, 0, column, 0, column.length, years);
+	}
+
+	public static void plusYears(long[] column, long years) {
+		plusYears(TemporalArithmetics.UTC, column, years);
+	}
+
+	private static void plusNanoseconds(final long[] src, final int srcPos, final long[] dest, final int destPos,
+			int length, final long nanoseconds, boolean parallel) {
+		checkRanges(src.length, srcPos, dest.length, destPos, length);
+		run(new Operation() {
+			@Override void apply(int offset, int length) {
+				for (int i = offset; i < offset + length; ++i) {
+					dest[destPos + i] = src[srcPos + i] + nanoseconds;
+				}
+			}
+		}, length, parallel);
+	}
+
+	public static void plusNanoseconds(long[] src, int srcPos, long[] dest, int destPos, int length,
+			long nanoseconds) {
+		plusNanoseconds(src, srcPos, dest, destPos, length, nanoseconds, false);
+	}
+
+	public static void parallelPlusNanoseconds(long[] src, int srcPos, long[] dest, int destPos, int length,
+			long nanoseconds) {
+		plusNanoseconds(src, srcPos, dest, destPos, length, nanoseconds, true);
+	}
+
+	public static void plusNanoseconds(long[] column, long nanoseconds) {
+		plusNanoseconds(column, 0, column, 0, column.length, nanoseconds);
+	}
+
+	private enum Field {
+		YEAR, MONTH, DAY_OF_MONTH, DAY_OF_WEEK, DAY_OF_YEAR
+	}
+
+	private static void getField(final String timeZoneId, final long[] src, final int srcPos, final int[] dest,
+			final int destPos, int length, final Field field, boolean parallel) {
+		checkRanges(src.length, srcPos, dest.length, destPos, length);
+		run(new Operation() {
+			@Override void apply(int offset, int length) {
+				NanoDateTimeFields fields = new NanoDateTimeFields();
+				for (int i = offset; i < offset + length; ++i) {
+					NanoEpoch.decompose(timeZoneId, src[srcPos + i], fields);
+					switch (field) {
+					case YEAR:
+						dest[destPos + i] = fields.getYear();
+						break;
+					case MONTH:
+						dest[destPos + i] = fields.getMonth();
+						break;
+					case DAY_OF_MONTH:
+						dest[destPos + i] = fields.getDayOfMonth();
+						break;
+					case DAY_OF_WEEK:
+						dest[destPos + i] = fields.getDayOfWeek();
+						break;
+					default:
+						dest[destPos + i] = fields.getDayOfYear();
+						break;
+					}
+				}
+			}
+		}, length, parallel);
+	}
+
+	public static void getYear(String timeZoneId, long[] src, int srcPos, int[] dest, int destPos, int length) {
+		getField(timeZoneId, src, srcPos, dest, destPos, length, Field.YEAR, false);
+	}
+
+	public static void parallelGetYear(String timeZoneId, long[] src, int srcPos, int[] dest, int destPos,
+			int length) {
+		getField(timeZoneId, src, srcPos, dest, destPos, length, Field.YEAR, true);
+	}
+
+	/**
+	 * Extracts the months: 1 indicates January, 2 February, etc.
+	 */
+	public static void getMonth(String timeZoneId, long[] src, int srcPos, int[] dest, int destPos, int length) {
+		getField(timeZoneId, src, srcPos, dest, destPos, length, Field.MONTH, false);
+	}
+
+	public static void parallelGetMonth(String timeZoneId, long[] src, int srcPos, int[] dest, int destPos,
+			int length) {
+		getField(timeZoneId, src, srcPos, dest, destPos, length, Field.MONTH, true);
+	}
+
+	public static void getDayOfMonth(String timeZoneId, long[] src, int srcPos, int[] dest, int destPos,
+			int length) {
+		getField(timeZoneId, src, srcPos, dest, destPos, length, Field.DAY_OF_MONTH, false);
+	}
+
+	public static void parallelGetDayOfMonth(String timeZoneId, long[] src, int srcPos, int[] dest, int destPos,
+			int length) {
+		getField(timeZoneId, src, srcPos, dest, destPos, length, Field.DAY_OF_MONTH, true);
+	}
+
+	/**
+	 * Extracts the days of the week, as per {@link Calendar#DAY_OF_WEEK}: 1 indicates Sunday, 2 Monday, etc.
+	 */
+	public static void getDayOfWeek(String timeZoneId, long[] src, int srcPos, int[] dest, int destPos,
+			int length) {
+		getField(timeZoneId, src, srcPos, dest, destPos, length, Field.DAY_OF_WEEK, false);
+	}
+
+	public static void parallelGetDayOfWeek(String timeZoneId, long[] src, int srcPos, int[] dest, int destPos,
+			int length) {
+		getField(timeZoneId, src, srcPos, dest, destPos, length, Field.DAY_OF_WEEK, true);
+	}
+
+	/**
+	 * Extracts the days of the year: 1 indicates the first of January.
+	 */
+	public static void getDayOfYear(String timeZoneId, long[] src, int srcPos, int[] dest, int destPos,
+			int length) {
+		getField(timeZoneId, src, srcPos, dest, destPos, length, Field.DAY_OF_YEAR, false);
+	}
+
+	public static void parallelGetDayOfYear(String timeZoneId, long[] src, int srcPos, int[] dest, int destPos,
+			int length) {
+		getField(timeZoneId, src, srcPos, dest, destPos, length, Field.DAY_OF_YEAR, true);
+	}
+
+	private static void difference(final long[] start, final int startPos, final long[] end, final int endPos,
+			final long[] dest, final int destPos, int length, boolean parallel) {
+		checkRanges(start.length, startPos, dest.length, destPos, length);
+		checkPositionIndexes(endPos, endPos + length, end.length);
+		run(new Operation() {
+			@Override void apply(int offset, int length) {
+				for (int i = offset; i < offset + length; ++i) {
+					dest[destPos + i] = NanoEpoch.difference(start[startPos + i], end[endPos + i]);
+				}
+			}
+		}, length, parallel);
+	}
+
+	/**
+	 * Computes the nanoseconds elapsed from each element of <tt>start</tt> to the corresponding element of
+	 * <tt>end</tt>, as per {@link NanoEpoch#difference(long, long)}.
+	 */
+	public static void difference(long[] start, int startPos, long[] end, int endPos, long[] dest, int destPos,
+			int length) {
+		difference(start, startPos, end, endPos, dest, destPos, length, false);
+	}
+
+	public static void parallelDifference(long[] start, int startPos, long[] end, int endPos, long[] dest,
+			int destPos, int length) {
+		difference(start, startPos, end, endPos, dest, destPos, length, true);
+	}
+}
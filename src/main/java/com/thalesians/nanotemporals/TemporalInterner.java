@@ -0,0 +1,93 @@
+package com.thalesians.nanotemporals;
+
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Reuses temporal objects keyed by their nanoseconds, according to an {@link InterningStrategy}.
+ * <p/>
+ * {@link #get(long)} may return an instance created for a different key, or for a different time zone in the case of
+ * the zoned types, so callers must check what they get back before using it.
+ */
+abstract class TemporalInterner<T> {
+	
+	private static final int DIRECT_MAPPED_BITS = 14;
+	
+	abstract InterningStrategy getStrategy();
+	
+	abstract T get(long key);
+	
+	abstract void put(long key, T value);
+	
+	static <T> TemporalInterner<T> none() {
+		return new TemporalInterner<T>() {
+			@Override InterningStrategy getStrategy() {
+				return InterningStrategy.NONE;
+			}
+			
+			@Override T get(long key) {
+				return null;
+			}
+			
+			@Override void put(long key, T value) {
+			}
+		};
+	}
+	
+	static <T> TemporalInterner<T> directMapped() {
+		return new DirectMappedInterner<T>(DIRECT_MAPPED_BITS);
+	}
+	
+	static <T> TemporalInterner<T> boundedCache() {
+		final Cache<Long, T> cache = CacheBuilder.newBuilder()
+				.maximumSize(10000)
+				.expireAfterAccess(1, TimeUnit.MINUTES)
+				.build();
+		return new TemporalInterner<T>() {
+			@Override InterningStrategy getStrategy() {
+				return InterningStrategy.BOUNDED_CACHE;
+			}
+			
+			@Override T get(long key) {
+				return cache.getIfPresent(key);
+			}
+			
+			@Override void put(long key, T value) {
+				cache.put(key, value);
+			}
+		};
+	}
+	
+	private static final class DirectMappedInterner<T> extends TemporalInterner<T> {
+		
+		// The temporal objects are immutable, with only final fields, so plain reads and writes of the slots are safe
+		// without any synchronisation.
+		private final Object[] slots;
+		private final int shift;
+		
+		private DirectMappedInterner(int bits) {
+			this.slots = new Object[1 << bits];
+			this.shift = Long.SIZE - bits;
+		}
+		
+		private int index(long key) {
+			// Fibonacci hashing: dates are multiples of a day, so the low bits of the key alone would collide
+			return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+		}
+		
+		@Override InterningStrategy getStrategy() {
+			return InterningStrategy.DIRECT_MAPPED;
+		}
+		
+		@SuppressWarnings("unchecked")
+		@Override T get(long key) {
+			return (T) slots[index(key)];
+		}
+		
+		@Override void put(long key, T value) {
+			slots[index(key)] = value;
+		}
+	}
+}
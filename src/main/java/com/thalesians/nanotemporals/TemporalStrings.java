@@ -0,0 +1,117 @@
+package com.thalesians.nanotemporals;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Renders the default string forms of the temporal types, <tt>yyyy.MM.dd</tt>, <tt>HH:mm:ss.NNNNNNNNN</tt> and
+ * <tt>yyyy.MM.dd'T'HH:mm:ss.NNNNNNNNN</tt>, without going through a {@link java.util.Formatter}.
+ * <p/>
+ * Since most of the datetimes rendered in a run fall on a handful of days, the date of each day is rendered once per
+ * time zone and cached; the time is written digit by digit into a per-thread buffer, so that rendering a datetime
+ * allocates only the resulting {@code String}.
+ */
+final class TemporalStrings {
+
+	static final int DATE_LENGTH = 10;
+	static final int TIME_LENGTH = 18;
+	static final int DATETIME_LENGTH = DATE_LENGTH + 1 + TIME_LENGTH;
+
+	private static final long NANOS_PER_SECOND = TemporalUnit.SECOND.getWholeNanoseconds();
+	private static final long NANOS_PER_DAY = TemporalUnit.DAY.getWholeNanoseconds();
+
+	// The number of days cached by time zone, each at the index of its epoch day modulo this power of two
+	private static final int CACHED_DAYS = 512;
+
+	private static final ConcurrentMap<String, CachedDate[]> DATES = new ConcurrentHashMap<>();
+
+	private static final ThreadLocal<char[]> BUFFERS = new ThreadLocal<char[]>() {
+		@Override protected char[] initialValue() {
+			return new char[DATETIME_LENGTH];
+		}
+	};
+
+	// Immutable, so that a cached date may be published by a plain store into the array of its time zone
+	private static final class CachedDate {
+		final long epochDay;
+		final String string;
+
+		CachedDate(long epochDay, String string) {
+			this.epochDay = epochDay;
+			this.string = string;
+		}
+	}
+
+	private TemporalStrings() {
+		throw new IllegalStateException("This class may not be instantiated");
+	}
+
+	/**
+	 * @return  the date, as per {@link NanoEpoch#dateDecompose(String, long, NanoDateTimeFields)}, of the given day,
+	 *          counted from 1970.01.01 UTC.
+	 */
+	static String date(String timeZoneId, long epochDay) {
+		CachedDate[] dates = DATES.get(timeZoneId);
+		if (dates == null) {
+			dates = new CachedDate[CACHED_DAYS];
+			CachedDate[] existing = DATES.putIfAbsent(timeZoneId, dates);
+			if (existing != null) {
+				dates = existing;
+			}
+		}
+		int index = (int) epochDay & (CACHED_DAYS - 1);
+		CachedDate date = dates[index];
+		if (date == null || date.epochDay != epochDay) {
+			NanoDateTimeFields fields =
+					NanoEpoch.dateDecompose(timeZoneId, epochDay * NANOS_PER_DAY, new NanoDateTimeFields());
+			char[] chars = new char[DATE_LENGTH];
+			writeDigits(fields.getYear(), 4, chars, 0);
+			chars[4] = '.';
+			writeDigits(fields.getMonth(), 2, chars, 5);
+			chars[7] = '.';
+			writeDigits(fields.getDayOfMonth(), 2, chars, 8);
+			date = new CachedDate(epochDay, new String(chars));
+			dates[index] = date;
+		}
+		return date.string;
+	}
+
+	/**
+	 * @return  the date of the given datetime, as per {@link #date(String, long)}, followed by its UTC time.
+	 */
+	static String dateTime(String timeZoneId, long nanosecondsSinceEpoch) {
+		char[] buffer = BUFFERS.get();
+		date(timeZoneId, Math.floorDiv(nanosecondsSinceEpoch, NANOS_PER_DAY)).getChars(0, DATE_LENGTH, buffer, 0);
+		buffer[DATE_LENGTH] = 'T';
+		writeTime(Math.floorMod(nanosecondsSinceEpoch, NANOS_PER_DAY), buffer, DATE_LENGTH + 1);
+		return new String(buffer, 0, DATETIME_LENGTH);
+	}
+
+	/**
+	 * @param  nanosecondsSinceMidnight  at least 0, and less than 100 hours.
+	 */
+	static String time(long nanosecondsSinceMidnight) {
+		char[] buffer = BUFFERS.get();
+		writeTime(nanosecondsSinceMidnight, buffer, 0);
+		return new String(buffer, 0, TIME_LENGTH);
+	}
+
+	private static void writeTime(long nanosecondsSinceMidnight, char[] buffer, int offset) {
+		int seconds = (int) (nanosecondsSinceMidnight / NANOS_PER_SECOND);
+		writeDigits(seconds / 3600, 2, buffer, offset);
+		buffer[offset + 2] = ':';
+		writeDigits(seconds / 60 % 60, 2, buffer, offset + 3);
+		buffer[offset + 5] = ':';
+		writeDigits(seconds % 60, 2, buffer, offset + 6);
+		buffer[offset + 8] = '.';
+		writeDigits((int) (nanosecondsSinceMidnight % NANOS_PER_SECOND), 9, buffer, offset + 9);
+	}
+
+	// Writes the given number of the lowest digits of the given non-negative value
+	private static void writeDigits(int value, int digits, char[] buffer, int offset) {
+		for (int i = offset + digits - 1; i >= offset; --i) {
+			buffer[i] = (char) ('0' + value % 10);
+			value /= 10;
+		}
+	}
+}
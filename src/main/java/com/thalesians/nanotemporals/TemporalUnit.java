@@ -37,15 +37,93 @@ public enum TemporalUnit implements Comparable<TemporalUnit> {
 	}
 	
 	public static TemporalUnit fromString(String unit) {
-		unit = unit.trim().toLowerCase();
-		if (DAY.aliases.contains(unit)) return TemporalUnit.DAY;
-		else if (HOUR.aliases.contains(unit)) return TemporalUnit.HOUR;
-		else if (MINUTE.aliases.contains(unit)) return TemporalUnit.MINUTE;
-		else if (SECOND.aliases.contains(unit)) return TemporalUnit.SECOND;
-		else if (MILLISECOND.aliases.contains(unit)) return TemporalUnit.MILLISECOND;
-		else if (MICROSECOND.aliases.contains(unit)) return TemporalUnit.MICROSECOND;
-		else if (NANOSECOND.aliases.contains(unit)) return TemporalUnit.NANOSECOND;
-		throw new IllegalStateException("Illegal type");    // Should never get here
+		unit = unit.trim();
+		TemporalUnit temporalUnit = fromAlias(unit, 0, unit.length());
+		if (temporalUnit == null) {
+			throw new IllegalStateException("Illegal type");
+		}
+		return temporalUnit;
+	}
+
+	/**
+	 * Returns the unit whose alias, of any case, is the given range of the given text, or null if none, telling the
+	 * units apart by the first two or three characters before checking the alias in full.
+	 */
+	static TemporalUnit fromAlias(CharSequence text, int start, int end) {
+		int length = end - start;
+		if (length == 0) {
+			return null;
+		}
+		TemporalUnit unit;
+		switch (toLowerCase(text.charAt(start))) {
+		case 'n':
+			unit = NANOSECOND;
+			break;
+		case 'u':
+			unit = MICROSECOND;
+			break;
+		case 's':
+			unit = SECOND;
+			break;
+		case 'h':
+			unit = HOUR;
+			break;
+		case 'd':
+			unit = DAY;
+			break;
+		case 'm':
+			// m, ms, micro..., milli..., min...
+			if (length == 1) {
+				return MINUTE;
+			}
+			switch (toLowerCase(text.charAt(start + 1))) {
+			case 's':
+				unit = MILLISECOND;
+				break;
+			case 'i':
+				if (length == 2) {
+					return null;
+				}
+				switch (toLowerCase(text.charAt(start + 2))) {
+				case 'c':
+					unit = MICROSECOND;
+					break;
+				case 'l':
+					unit = MILLISECOND;
+					break;
+				case 'n':
+					unit = MINUTE;
+					break;
+				default:
+					return null;
+				}
+				break;
+			default:
+				return null;
+			}
+			break;
+		default:
+			return null;
+		}
+		for (String alias : unit.aliases) {
+			if (alias.length() == length && regionMatchesIgnoreCase(alias, text, start)) {
+				return unit;
+			}
+		}
+		return null;
+	}
+
+	private static char toLowerCase(char c) {
+		return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+	}
+
+	private static boolean regionMatchesIgnoreCase(String alias, CharSequence text, int start) {
+		for (int i = 0; i < alias.length(); ++i) {
+			if (alias.charAt(i) != toLowerCase(text.charAt(start + i))) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	public long getWholeNanoseconds() {
@@ -4,8 +4,6 @@ import java.io.Serializable;
 import java.text.ParseException;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
@@ -25,9 +23,6 @@ import com.google.common.collect.Maps;
 public class Tenor implements Serializable {
 	private static final long serialVersionUID = 9020259624016612745L;
 	
-	private static final String PARSE_CHECK_REGEX = "^(-?\\d+[dbwmy])+$";
-	private static final String PARSE_MATCH_REGEX = "-?\\d+[dbwmy]";
-	
 	public static final Tenor ONE_DAY = Tenor.create(Unit.DAY, 1);
 	public static final Tenor TWO_DAYS = Tenor.create(Unit.DAY, 2);
 	public static final Tenor THREE_DAYS = Tenor.create(Unit.DAY, 3);
@@ -146,17 +141,6 @@ public class Tenor implements Serializable {
 		}
 	}
 	
-	private static Unit stringToUnit(char unit) {
-		switch (unit) {
-		case 'b': return Unit.BUSINESS_DAY;
-		case 'd': return Unit.DAY;
-		case 'w': return Unit.WEEK;
-		case 'm': return Unit.MONTH;
-		case 'y': return Unit.YEAR;
-		default: throw new IllegalArgumentException("Illegal unit");
-		}
-	}
-
 	public static Builder builder() {
 		return new Builder();
 	}
@@ -173,33 +157,109 @@ public class Tenor implements Serializable {
 			return this;
 		}
 		
-		private boolean isSet(Unit unit) {
-			return periodMapBuilder.containsKey(unit);
-		}
-		
 		public Tenor build() {
 			return new Tenor(ImmutableMap.copyOf(periodMapBuilder));
 		}
 	}	
 
 	public static Tenor parse(String tenor) throws ParseException {
-		tenor = tenor.toLowerCase();
-		if (!tenor.matches(PARSE_CHECK_REGEX)) {
-			throw new ParseException("Bad period expression " + tenor, 0);
+		ParseCursor cursor = new ParseCursor();
+		Tenor parsed = tryParse(tenor, cursor);
+		if (parsed == null) {
+			throw new ParseException("Bad period expression " + tenor, cursor.getErrorIndex());
 		}
-		Builder b = new Builder();
-		Pattern p = Pattern.compile(PARSE_MATCH_REGEX);
-		Matcher m = p.matcher(tenor);
-		while (m.find()) {
-			String periodString = tenor.substring(m.start(), m.end());
-			int length = Integer.valueOf(periodString.substring(0, periodString.length() - 1));
-			Unit unit = stringToUnit(periodString.charAt(periodString.length() - 1));
-			if (b.isSet(unit)) {
-				throw new ParseException("Duplicate unit '" + unit + "' in tenor string '" + tenor + "'", 0);
+		return parsed;
+	}
+	
+	/**
+	 * Parses the whole of the given text from the index of the given cursor, as {@link #parse(String)} does, such as
+	 * <tt>1y6m</tt>, but without throwing (or allocating) anything where the text is malformed, setting the index of
+	 * the cursor to the end of the text.
+	 *
+	 * @return  the tenor, or null, having set the error index of the cursor, if the text is malformed or repeats a
+	 *          unit.
+	 */
+	public static Tenor tryParse(CharSequence text, ParseCursor cursor) {
+		cursor.setErrorIndex(-1);
+		int end = text.length();
+		int position = cursor.getIndex();
+		// The length of each unit, in locals so that a malformed text allocates nothing
+		int businessDays = 0;
+		int days = 0;
+		int weeks = 0;
+		int months = 0;
+		int years = 0;
+		do {
+			int termStart = position;
+			boolean negative = position < end && text.charAt(position) == '-';
+			if (negative) {
+				++position;
 			}
-			b.set(unit, length);
+			int digitsStart = position;
+			long length = 0L;
+			for (; position < end && text.charAt(position) >= '0' && text.charAt(position) <= '9'; ++position) {
+				length = length * 10 + (text.charAt(position) - '0');
+				if (length > (negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE)) {
+					return error(cursor, digitsStart);
+				}
+			}
+			if (position == digitsStart) {
+				return error(cursor, position);
+			}
+			Unit unit = position < end ? charToUnit(text.charAt(position)) : null;
+			if (unit == null) {
+				return error(cursor, position);
+			}
+			++position;
+			int value = (int) (negative ? -length : length);
+			// As the builder, where a length of zero unsets the unit
+			int previous;
+			switch (unit) {
+			case BUSINESS_DAY:
+				previous = businessDays;
+				businessDays = value;
+				break;
+			case DAY:
+				previous = days;
+				days = value;
+				break;
+			case WEEK:
+				previous = weeks;
+				weeks = value;
+				break;
+			case MONTH:
+				previous = months;
+				months = value;
+				break;
+			default:
+				previous = years;
+				years = value;
+				break;
+			}
+			if (previous != 0) {
+				return error(cursor, termStart);
+			}
+		} while (position < end);
+		cursor.setIndex(position);
+		return new Builder().set(Unit.BUSINESS_DAY, businessDays).set(Unit.DAY, days).set(Unit.WEEK, weeks)
+				.set(Unit.MONTH, months).set(Unit.YEAR, years).build();
+	}
+	
+	// The unit of the given character, of any case, or null if none
+	private static Unit charToUnit(char unit) {
+		switch (unit) {
+		case 'b': case 'B': return Unit.BUSINESS_DAY;
+		case 'd': case 'D': return Unit.DAY;
+		case 'w': case 'W': return Unit.WEEK;
+		case 'm': case 'M': return Unit.MONTH;
+		case 'y': case 'Y': return Unit.YEAR;
+		default: return null;
 		}
-		return b.build();
+	}
+	
+	private static Tenor error(ParseCursor cursor, int errorIndex) {
+		cursor.setErrorIndex(errorIndex);
+		return null;
 	}
 	
 	public int getUnitLength(Unit unit) {
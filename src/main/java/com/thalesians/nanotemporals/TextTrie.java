@@ -0,0 +1,116 @@
+package com.thalesians.nanotemporals;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * A trie of the names of the values of a date field (such as the months or weekdays of a locale), matching the
+ * longest name at a position of a text, ignoring case as {@link String#regionMatches(boolean, int, String, int, int)}
+ * does.
+ * <p/>
+ * Tries are cached by their names, so that all the formats of a locale share them.
+ */
+final class TextTrie {
+
+	private static final ConcurrentMap<ImmutableList<Object>, TextTrie> CACHE = new ConcurrentHashMap<>();
+
+	private static final char[] NO_KEYS = new char[0];
+	private static final TextTrie[] NO_CHILDREN = new TextTrie[0];
+
+	// The children are only added while the trie is built, before it is published through the cache
+	private char[] keys = NO_KEYS;
+	private TextTrie[] children = NO_CHILDREN;
+	private int value = -1;
+
+	private TextTrie() {
+	}
+
+	/**
+	 * Returns the trie of the given arrays of names, the value of <tt>names[j][i]</tt> being <tt>first + i</tt>. Empty
+	 * names are skipped and, of equal names, the first one is kept.
+	 */
+	static TextTrie of(int first, String[]... names) {
+		ImmutableList.Builder<Object> builder = ImmutableList.builder();
+		builder.add(first);
+		for (String[] array : names) {
+			builder.add(ImmutableList.copyOf(array));
+		}
+		ImmutableList<Object> key = builder.build();
+		TextTrie trie = CACHE.get(key);
+		if (trie == null) {
+			trie = new TextTrie();
+			for (String[] array : names) {
+				for (int i = 0; i < array.length; ++i) {
+					trie.add(array[i], first + i);
+				}
+			}
+			TextTrie existing = CACHE.putIfAbsent(key, trie);
+			if (existing != null) {
+				trie = existing;
+			}
+		}
+		return trie;
+	}
+
+	private static char fold(char c) {
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
+	private void add(String name, int value) {
+		if (name.isEmpty()) {
+			return;
+		}
+		TextTrie node = this;
+		for (int i = 0; i < name.length(); ++i) {
+			node = node.childOrAdd(fold(name.charAt(i)));
+		}
+		if (node.value < 0) {
+			node.value = value;
+		}
+	}
+
+	private TextTrie child(char key) {
+		for (int i = 0; i < keys.length; ++i) {
+			if (keys[i] == key) {
+				return children[i];
+			}
+		}
+		return null;
+	}
+
+	private TextTrie childOrAdd(char key) {
+		TextTrie child = child(key);
+		if (child == null) {
+			child = new TextTrie();
+			keys = Arrays.copyOf(keys, keys.length + 1);
+			children = Arrays.copyOf(children, children.length + 1);
+			keys[keys.length - 1] = key;
+			children[children.length - 1] = child;
+		}
+		return child;
+	}
+
+	/**
+	 * Matches the longest name at the given position of the given text.
+	 *
+	 * @return  the position following the name in the high 32 bits, and the value of the name in the low 32 bits, or -1
+	 * if no name matches.
+	 */
+	long match(CharSequence text, int position) {
+		long match = -1L;
+		TextTrie node = this;
+		for (int i = position; i < text.length(); ++i) {
+			node = node.child(fold(text.charAt(i)));
+			if (node == null) {
+				break;
+			}
+			if (node.value >= 0) {
+				match = (long) (i + 1) << 32 | node.value;
+			}
+		}
+		return match;
+	}
+}
@@ -0,0 +1,192 @@
+package com.thalesians.nanotemporals;
+
+import java.time.Instant;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.base.Optional;
+
+/**
+ * The offsets from UTC of a time zone, precompiled into a sorted array of transition instants over the whole range of
+ * epoch nanoseconds, so that the offset in force at any instant is found by a binary search.
+ * <p/>
+ * Instances are immutable and shared by all threads: {@link #of(String)} resolves each time zone id once, with the
+ * same rules as {@link TimeZone#getTimeZone(String)}, so that an unknown id, such as "London", yields GMT.
+ */
+public final class TimeZoneRules {
+
+	private static final long NANOS_PER_SECOND = TemporalUnit.SECOND.getWholeNanoseconds();
+	private static final long NANOS_PER_DAY = TemporalUnit.DAY.getWholeNanoseconds();
+
+	private static final long MIN_EPOCH_SECOND = Long.MIN_VALUE / NANOS_PER_SECOND;
+	private static final long MAX_EPOCH_SECOND = Long.MAX_VALUE / NANOS_PER_SECOND;
+
+	// java.util.TimeZone ignores the transitions before 1900.01.01 00:00 UTC, applying the current standard offset
+	private static final long EPOCH_SECOND_1900 = -2208988800L;
+
+	private static final ConcurrentMap<String, TimeZoneRules> RULES = new ConcurrentHashMap<>();
+
+	private final String timeZoneId;
+
+	// transitions[i] is the first instant at which offsets[i + 1] is in force; offsets[0] is in force before them all
+	private final long[] transitions;
+	private final long[] offsets;
+
+	private TimeZoneRules(String timeZoneId, long[] transitions, long[] offsets) {
+		this.timeZoneId = timeZoneId;
+		this.transitions = transitions;
+		this.offsets = offsets;
+	}
+
+	public static TimeZoneRules of(String timeZoneId) {
+		TimeZoneRules rules = RULES.get(timeZoneId);
+		if (rules == null) {
+			rules = RULES.computeIfAbsent(timeZoneId, TimeZoneRules::compile);
+		}
+		return rules;
+	}
+
+	private static TimeZoneRules compile(String timeZoneId) {
+		// The transitions are those of java.time, but the offsets are taken from java.util.TimeZone, so that they agree
+		// with those of a Calendar where the two differ (before 1900 and for ids only known to java.util.TimeZone)
+		TimeZone timeZone = TimeZone.getTimeZone(timeZoneId);
+		ZoneRules zoneRules = timeZone.toZoneId().getRules();
+		long[] transitions = new long[16];
+		long[] offsets = new long[17];
+		int count = 0;
+		offsets[0] = offsetAt(timeZone, MIN_EPOCH_SECOND);
+		long epochSecond = MIN_EPOCH_SECOND;
+		while (true) {
+			ZoneOffsetTransition transition = zoneRules.nextTransition(Instant.ofEpochSecond(epochSecond));
+			long next = transition == null ? Long.MAX_VALUE : transition.toEpochSecond();
+			if (epochSecond < EPOCH_SECOND_1900 && next > EPOCH_SECOND_1900) {
+				next = EPOCH_SECOND_1900;
+			}
+			if (next > MAX_EPOCH_SECOND) {
+				break;
+			}
+			long offset = offsetAt(timeZone, next);
+			if (offset != offsets[count]) {
+				if (count == transitions.length) {
+					transitions = Arrays.copyOf(transitions, count * 2);
+					offsets = Arrays.copyOf(offsets, count * 2 + 1);
+				}
+				transitions[count] = next * NANOS_PER_SECOND;
+				offsets[++count] = offset;
+			}
+			epochSecond = next;
+		}
+		return new TimeZoneRules(timeZoneId, Arrays.copyOf(transitions, count), Arrays.copyOf(offsets, count + 1));
+	}
+
+	private static long offsetAt(TimeZone timeZone, long epochSecond) {
+		return timeZone.getOffset(epochSecond * 1000L) * TemporalUnit.MILLISECOND.getWholeNanoseconds();
+	}
+
+	public String getTimeZoneId() {
+		return timeZoneId;
+	}
+
+	/**
+	 * @return  whether the offset from UTC never changes in this time zone.
+	 */
+	public boolean isFixedOffset() {
+		return transitions.length == 0;
+	}
+
+	// The index into offsets of the offset in force at the given instant
+	private int offsetIndex(long nanosecondsSinceEpoch) {
+		int index = Arrays.binarySearch(transitions, nanosecondsSinceEpoch);
+		return index >= 0 ? index + 1 : -index - 1;
+	}
+
+	/**
+	 * @return  the offset from UTC, in nanoseconds, in force at the given instant: local time is UTC plus the offset.
+	 */
+	public long getOffset(long nanosecondsSinceEpoch) {
+		return offsets[offsetIndex(nanosecondsSinceEpoch)];
+	}
+
+	/**
+	 * @return  the local time, in nanoseconds since 1970.01.01 00:00 local time, at the given instant.
+	 * @throws  ArithmeticException  if the local time is beyond the range of a long, as it is within the offset from
+	 * UTC of either end of the range.
+	 */
+	public long toLocal(long nanosecondsSinceEpoch) {
+		return Math.addExact(nanosecondsSinceEpoch, getOffset(nanosecondsSinceEpoch));
+	}
+
+	/**
+	 * Converts a local time, in nanoseconds since 1970.01.01 00:00 local time, to an instant, resolving it as
+	 * {@link java.util.GregorianCalendar} does: a local time skipped by a transition (e.g. on the start of daylight
+	 * saving) is moved forward by the length of the gap, and a local time repeated by a transition (e.g. on the end of
+	 * daylight saving) resolves to its later occurrence.
+	 *
+	 * @throws  ArithmeticException  if the instant is beyond the range of a long.
+	 */
+	public long fromLocal(long localNanoseconds) {
+		// The offset is that following the last transition whose local time, after the transition, is not later than
+		// the given local time
+		int low = 0;
+		int high = transitions.length - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			if (transitions[middle] + offsets[middle + 1] <= localNanoseconds) {
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return Math.subtractExact(localNanoseconds, offsets[low]);
+	}
+
+	/**
+	 * @return  the first instant strictly after the given one at which the offset from UTC changes, if any.
+	 */
+	public Optional<Long> nextTransition(long nanosecondsSinceEpoch) {
+		int index = offsetIndex(nanosecondsSinceEpoch);
+		return index < transitions.length ? Optional.of(transitions[index]) : Optional.<Long>absent();
+	}
+
+	/**
+	 * @return  the last instant not after the given one at which the offset from UTC changed, if any.
+	 */
+	public Optional<Long> previousTransition(long nanosecondsSinceEpoch) {
+		int index = offsetIndex(nanosecondsSinceEpoch);
+		return index > 0 ? Optional.of(transitions[index - 1]) : Optional.<Long>absent();
+	}
+
+	/**
+	 * @return  the number of whole days from 1970.01.01 to the local date on which the given instant falls.
+	 */
+	long toLocalEpochDay(long nanosecondsSinceEpoch) {
+		return toLocalEpochDay(nanosecondsSinceEpoch, getOffset(nanosecondsSinceEpoch));
+	}
+
+	/**
+	 * @return  the nanoseconds since local midnight at the given instant.
+	 */
+	long toLocalNanoOfDay(long nanosecondsSinceEpoch) {
+		return toLocalNanoOfDay(nanosecondsSinceEpoch, getOffset(nanosecondsSinceEpoch));
+	}
+
+	// The offset is added to the UTC time of day, and carried into the day, so as not to overflow at either end of
+	// the range, as adding it to the instant would
+	static long toLocalEpochDay(long nanosecondsSinceEpoch, long offset) {
+		return Math.floorDiv(nanosecondsSinceEpoch, NANOS_PER_DAY)
+				+ Math.floorDiv(Math.floorMod(nanosecondsSinceEpoch, NANOS_PER_DAY) + offset, NANOS_PER_DAY);
+	}
+
+	static long toLocalNanoOfDay(long nanosecondsSinceEpoch, long offset) {
+		return Math.floorMod(Math.floorMod(nanosecondsSinceEpoch, NANOS_PER_DAY) + offset, NANOS_PER_DAY);
+	}
+
+	@Override
+	public String toString() {
+		return timeZoneId;
+	}
+}
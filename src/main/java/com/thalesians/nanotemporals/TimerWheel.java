@@ -0,0 +1,318 @@
+package com.thalesians.nanotemporals;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Schedules callbacks at datetimes, or after delays, on a hierarchical hashed timer wheel, and runs them in batches,
+ * when {@link #expireTimers()} finds them due by its clock: the {@link NanoClock#system() system clock} by default, or
+ * any other, such as a {@link SimulatedNanoClock} in a replay.
+ * <p/>
+ * Time is counted in ticks, of a millisecond by default and of a microsecond at the finest, since the wheel was built.
+ * The wheel has a level for each 6 bits of the number of ticks, of 64 slots each, and a timer sits in the slot, of the
+ * level of the highest bits in which its deadline differs from the current tick, of the value of those bits. Each
+ * slot is a linked list, so that scheduling and cancelling a timer take constant time and allocate a single
+ * {@link Timeout}. As ticks pass, the timers of the slot of a level that is reached move down to the lower levels, and
+ * those of the slot of the lowest level fire, in the order of their deadlines, those of the same tick in the order they
+ * were scheduled. Expiring skips the ticks of empty slots, found with a bitmap of each level, so that the wheel may be
+ * moved ahead by a year at once.
+ * <p/>
+ * A timer does not fire before its deadline, rounded up to a tick, but fires on the first expiry at or after it. One
+ * scheduled by a callback for a tick already reached fires with the next batch, so that a callback rescheduling
+ * itself without delay does not keep an expiry from returning.
+ * <p/>
+ * A wheel is not thread-safe: timers are scheduled, cancelled and expired by one thread, such as that of an event
+ * loop.
+ */
+public final class TimerWheel {
+
+	private static final long MIN_TICK_DURATION = TemporalUnit.MICROSECOND.getWholeNanoseconds();
+
+	private static final int SLOT_BITS = 6;
+	private static final int SLOTS = 1 << SLOT_BITS;
+	private static final int SLOT_MASK = SLOTS - 1;
+	// Enough for any non-negative tick
+	private static final int LEVELS = (Long.SIZE - 1 + SLOT_BITS - 1) / SLOT_BITS;
+	// The list of the timers due, after those of the slots
+	private static final int DUE = LEVELS * SLOTS;
+	private static final int NONE = -1;
+
+	private final NanoClock clock;
+	private final long tickDuration;
+	private final long origin;
+
+	private final Timeout[] heads = new Timeout[DUE + 1];
+	private final Timeout[] tails = new Timeout[DUE + 1];
+	// The slots of each level holding any timer
+	private final long[] occupied = new long[LEVELS];
+	private long currentTick;
+	private long sequence;
+	private int timerCount;
+
+	private TimerWheel(Builder builder) {
+		this.clock = builder.clock;
+		this.tickDuration = builder.tickDuration;
+		this.origin = clock.nowNanos();
+	}
+
+	public static final class Builder {
+
+		private NanoClock clock = NanoClock.system();
+		private long tickDuration = TemporalUnit.MILLISECOND.getWholeNanoseconds();
+
+		private Builder() {
+		}
+
+		/**
+		 * @param  clock  the clock by which timers are scheduled after delays, and expired; the system clock by
+		 * default.
+		 */
+		public Builder clock(NanoClock clock) {
+			this.clock = checkNotNull(clock);
+			return this;
+		}
+
+		/**
+		 * @param  tickDuration  the resolution of the deadlines, at least a microsecond; a millisecond by default.
+		 */
+		public Builder tickDuration(NanoTimeDelta tickDuration) {
+			checkArgument(tickDuration.toWholeNanoseconds() >= MIN_TICK_DURATION, "tickDuration = %s", tickDuration);
+			this.tickDuration = tickDuration.toWholeNanoseconds();
+			return this;
+		}
+
+		public TimerWheel build() {
+			return new TimerWheel(this);
+		}
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * A callback scheduled on a wheel.
+	 */
+	public final class Timeout {
+
+		private final long deadline;
+		private final long tick;
+		private final long sequence;
+		private final Runnable callback;
+		private Timeout previous;
+		private Timeout next;
+		private int list = NONE;
+
+		private Timeout(long deadline, long tick, long sequence, Runnable callback) {
+			this.deadline = deadline;
+			this.tick = tick;
+			this.sequence = sequence;
+			this.callback = callback;
+		}
+
+		public NanoDateTime getDeadline() {
+			return NanoDateTime.fromNanosecondsSinceEpoch(deadline);
+		}
+
+		/**
+		 * @return  whether the timer is yet to fire, and has not been cancelled.
+		 */
+		public boolean isPending() {
+			return list != NONE;
+		}
+
+		/**
+		 * @return  whether the timer was cancelled, rather than having fired or been cancelled already.
+		 */
+		public boolean cancel() {
+			if (list == NONE) {
+				return false;
+			}
+			unlink(this);
+			--timerCount;
+			return true;
+		}
+
+		@Override public String toString() {
+			return "Timeout [deadline=" + getDeadline() + ", pending=" + isPending() + "]";
+		}
+	}
+
+	/**
+	 * Schedules the given callback to run on the first expiry at or after the given datetime.
+	 */
+	public Timeout schedule(long nanosecondsSinceEpoch, Runnable callback) {
+		Timeout timeout = new Timeout(nanosecondsSinceEpoch, elapsedTicks(nanosecondsSinceEpoch, true), sequence++,
+				checkNotNull(callback));
+		insert(timeout);
+		++timerCount;
+		return timeout;
+	}
+
+	public Timeout schedule(NanoDateTime dateTime, Runnable callback) {
+		return schedule(dateTime.getNanosecondsSinceEpoch(), callback);
+	}
+
+	/**
+	 * Schedules the given callback to run on the first expiry once the given delay has passed by the clock.
+	 */
+	public Timeout schedule(NanoTimeDelta delay, Runnable callback) {
+		long now = clock.nowNanos();
+		long delayNanos = delay.toWholeNanoseconds();
+		long deadline = now + delayNanos;
+		// Saturated on overflow
+		if (((now ^ deadline) & (delayNanos ^ deadline)) < 0L) {
+			deadline = delayNanos < 0L ? Long.MIN_VALUE : Long.MAX_VALUE;
+		}
+		return schedule(deadline, callback);
+	}
+
+	/**
+	 * Runs the callbacks of the timers due by the clock.
+	 *
+	 * @return  the number of timers fired.
+	 */
+	public int expireTimers() {
+		return expireTimers(clock.nowNanos());
+	}
+
+	/**
+	 * Runs the callbacks of the timers due by the given datetime, which is taken for the time of the clock, so as to
+	 * spare reading it again. Should a callback throw, the timers still due fire on the next expiry.
+	 *
+	 * @return  the number of timers fired.
+	 */
+	public int expireTimers(long nanosecondsSinceEpoch) {
+		long nowTick = elapsedTicks(nanosecondsSinceEpoch, false);
+		int fired = fireDue();
+		for (long tick = nextTick(); tick != NONE && tick <= nowTick; tick = nextTick()) {
+			currentTick = tick;
+			for (int level = LEVELS - 1; level > 0; --level) {
+				int shift = level * SLOT_BITS;
+				if ((tick & ((1L << shift) - 1)) == 0L) {
+					cascade(level, (int) (tick >>> shift) & SLOT_MASK);
+				}
+			}
+			cascade(0, (int) tick & SLOT_MASK);
+			fired += fireDue();
+		}
+		currentTick = Math.max(currentTick, nowTick);
+		return fired;
+	}
+
+	public int getTimerCount() {
+		return timerCount;
+	}
+
+	public NanoTimeDelta getTickDuration() {
+		return NanoTimeDelta.fromNanoseconds(tickDuration);
+	}
+
+	// The ticks from the origin to the given datetime, rounded down or up, the first tick if before the origin
+	private long elapsedTicks(long nanosecondsSinceEpoch, boolean roundUp) {
+		if (nanosecondsSinceEpoch <= origin) {
+			return 0L;
+		}
+		long elapsed = nanosecondsSinceEpoch - origin;
+		if (elapsed < 0L) {
+			return Long.MAX_VALUE / tickDuration;
+		}
+		return elapsed / tickDuration + (roundUp && elapsed % tickDuration != 0L ? 1L : 0L);
+	}
+
+	private void insert(Timeout timeout) {
+		if (timeout.tick <= currentTick) {
+			append(DUE, timeout);
+			return;
+		}
+		int level = (Long.SIZE - 1 - Long.numberOfLeadingZeros(timeout.tick ^ currentTick)) / SLOT_BITS;
+		int slot = (int) (timeout.tick >>> (level * SLOT_BITS)) & SLOT_MASK;
+		occupied[level] |= 1L << slot;
+		append(level * SLOTS + slot, timeout);
+	}
+
+	// Moves the timers of the slot to the lower levels, or to the list of the timers due
+	private void cascade(int level, int slot) {
+		if ((occupied[level] & (1L << slot)) == 0L) {
+			return;
+		}
+		int list = level * SLOTS + slot;
+		Timeout timeout = heads[list];
+		heads[list] = null;
+		tails[list] = null;
+		occupied[level] &= ~(1L << slot);
+		while (timeout != null) {
+			Timeout next = timeout.next;
+			timeout.previous = null;
+			timeout.next = null;
+			insert(timeout);
+			timeout = next;
+		}
+	}
+
+	// The next tick at which a slot is reached, of any level, or NONE. Every timer sits in a slot after the current one
+	private long nextTick() {
+		long nextTick = NONE;
+		for (int level = 0; level < LEVELS; ++level) {
+			int shift = level * SLOT_BITS;
+			long slots = occupied[level] & (-2L << ((int) (currentTick >>> shift) & SLOT_MASK));
+			if (slots != 0L) {
+				int higherShift = shift + SLOT_BITS;
+				long higher = higherShift >= Long.SIZE ? 0L : currentTick >>> higherShift << higherShift;
+				long tick = higher | (long) Long.numberOfTrailingZeros(slots) << shift;
+				if (nextTick == NONE || tick < nextTick) {
+					nextTick = tick;
+				}
+			}
+		}
+		return nextTick;
+	}
+
+	// Fires the timers due, but not those scheduled due meanwhile, which are left for the next expiry
+	private int fireDue() {
+		long limit = sequence;
+		int fired = 0;
+		for (Timeout timeout = heads[DUE]; timeout != null && timeout.sequence < limit; timeout = heads[DUE]) {
+			unlink(timeout);
+			--timerCount;
+			++fired;
+			timeout.callback.run();
+		}
+		return fired;
+	}
+
+	private void append(int list, Timeout timeout) {
+		timeout.list = list;
+		timeout.previous = tails[list];
+		if (tails[list] == null) {
+			heads[list] = timeout;
+		} else {
+			tails[list].next = timeout;
+		}
+		tails[list] = timeout;
+	}
+
+	private void unlink(Timeout timeout) {
+		int list = timeout.list;
+		if (timeout.previous == null) {
+			heads[list] = timeout.next;
+		} else {
+			timeout.previous.next = timeout.next;
+		}
+		if (timeout.next == null) {
+			tails[list] = timeout.previous;
+		} else {
+			timeout.next.previous = timeout.previous;
+		}
+		timeout.previous = null;
+		timeout.next = null;
+		timeout.list = NONE;
+		if (list != DUE && heads[list] == null) {
+			occupied[list / SLOTS] &= ~(1L << (list % SLOTS));
+		}
+	}
+
+	@Override public String toString() {
+		return "TimerWheel [tickDuration=" + getTickDuration().toCompactString() + ", timers=" + timerCount + "]";
+	}
+}
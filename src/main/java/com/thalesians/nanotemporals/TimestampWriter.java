@@ -0,0 +1,200 @@
+package com.thalesians.nanotemporals;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+import com.google.common.base.Optional;
+
+/**
+ * Writes a stream of timestamps, formatted with a {@link NanoDateTimeFormat}, as ASCII to a
+ * {@link WritableByteChannel} or an {@link OutputStream}, through a buffer, along with any other text appended between
+ * them (such as delimiters and the other fields of a record).
+ * <p/>
+ * The writer keeps the text of the previous timestamp and, where the pattern is compiled (see
+ * {@link NanoDateTimeFormat}), rewrites only the fields that changed: the date when the day (or the offset from UTC)
+ * changes, the hour when the hour changes, and so on, down to the fraction of the second. Writing sorted time series,
+ * most of whose consecutive timestamps fall within the same minute, thus costs little more than copying the text.
+ * Other patterns are formatted in full.
+ * <p/>
+ * Characters other than ASCII are written as '?'. A writer may only be used by one thread at a time.
+ */
+public final class TimestampWriter implements Appendable, Flushable, Closeable {
+
+	private static final int DEFAULT_BUFFER_SIZE = 1 << 13;
+
+	private static final long NANOS_PER_SECOND = TemporalUnit.SECOND.getWholeNanoseconds();
+	private static final long NANOS_PER_MINUTE = TemporalUnit.MINUTE.getWholeNanoseconds();
+	private static final long NANOS_PER_HOUR = TemporalUnit.HOUR.getWholeNanoseconds();
+
+	private final NanoDateTimeFormat format;
+	private final Optional<NanoDateTimePattern> pattern;
+	private final TimeZoneRules rules;
+
+	// Either of the two is null
+	private final WritableByteChannel channel;
+	private final OutputStream out;
+
+	private final byte[] bytes;
+	private final ByteBuffer buffer;
+
+	// The text of the previous timestamp, its fields, the end of each element of the pattern, and its local date and
+	// time of day
+	private final char[] text;
+	private final NanoDateTimeFields fields = new NanoDateTimeFields();
+	private final int[] ends;
+	private int length;
+	private boolean written;
+	private long previousDay;
+	private long previousTime;
+	private long previousOffset;
+
+	private TimestampWriter(NanoDateTimeFormat format, WritableByteChannel channel, OutputStream out, int bufferSize) {
+		checkArgument(bufferSize > 0, "bufferSize = %s", bufferSize);
+		this.format = checkNotNull(format);
+		this.pattern = format.getCompiledPattern();
+		this.rules = TimeZoneRules.of(format.getTimeZoneId());
+		this.channel = channel;
+		this.out = out;
+		this.bytes = new byte[bufferSize];
+		this.buffer = ByteBuffer.wrap(bytes);
+		this.text = new char[pattern.isPresent() ? pattern.get().maxLength() : 0];
+		this.ends = new int[pattern.isPresent() ? pattern.get().elementCount() : 0];
+	}
+
+	public TimestampWriter(NanoDateTimeFormat format, WritableByteChannel channel) {
+		this(format, checkNotNull(channel), null, DEFAULT_BUFFER_SIZE);
+	}
+
+	public TimestampWriter(NanoDateTimeFormat format, WritableByteChannel channel, int bufferSize) {
+		this(format, checkNotNull(channel), null, bufferSize);
+	}
+
+	public TimestampWriter(NanoDateTimeFormat format, OutputStream out) {
+		this(format, null, checkNotNull(out), DEFAULT_BUFFER_SIZE);
+	}
+
+	public TimestampWriter(NanoDateTimeFormat format, OutputStream out, int bufferSize) {
+		this(format, null, checkNotNull(out), bufferSize);
+	}
+
+	public TimestampWriter write(NanoDateTime dateTime) throws IOException {
+		return write(dateTime.getNanosecondsSinceEpoch());
+	}
+
+	public TimestampWriter write(ZonedNanoDateTime dateTime) throws IOException {
+		return write(dateTime.getNanosecondsSinceEpoch());
+	}
+
+	/**
+	 * Writes the given datetime, in the time zone of the format.
+	 */
+	public TimestampWriter write(long nanosecondsSinceEpoch) throws IOException {
+		if (!pattern.isPresent()) {
+			format.format(NanoDateTime.fromNanosecondsSinceEpoch(nanosecondsSinceEpoch), this);
+			return this;
+		}
+		long offset = rules.getOffset(nanosecondsSinceEpoch);
+		long day = TimeZoneRules.toLocalEpochDay(nanosecondsSinceEpoch, offset);
+		long time = TimeZoneRules.toLocalNanoOfDay(nanosecondsSinceEpoch, offset);
+		long patternOffset = pattern.get().usesOffset() ? offset : 0L;
+		if (!written || offset != previousOffset || day != previousDay) {
+			NanoEpoch.decompose(format.getTimeZoneId(), nanosecondsSinceEpoch, fields);
+			length = pattern.get().format(fields, patternOffset, text, ends);
+			written = true;
+		} else if (time != previousTime) {
+			fields.setTime((int) (time / NANOS_PER_HOUR), (int) (time / NANOS_PER_MINUTE % 60),
+					(int) (time / NANOS_PER_SECOND % 60), (int) (time % NANOS_PER_SECOND));
+			length = pattern.get().reformat(fields, patternOffset, text, ends, changedUnit(time, previousTime));
+		}
+		previousDay = day;
+		previousTime = time;
+		previousOffset = offset;
+		if (buffer.remaining() < length) {
+			flushBuffer();
+		}
+		if (buffer.remaining() < length) {
+			return append(new String(text, 0, length));
+		}
+		int position = buffer.position();
+		for (int i = 0; i < length; ++i) {
+			bytes[position + i] = NanoDateTimeFormat.toAscii(text[i]);
+		}
+		buffer.position(position + length);
+		return this;
+	}
+
+	// The coarsest unit of the fields that differ between the two local times of day
+	private static int changedUnit(long time, long previousTime) {
+		if (time / NANOS_PER_HOUR != previousTime / NANOS_PER_HOUR) {
+			return NanoDateTimePattern.HOUR_FIELDS;
+		} else if (time / NANOS_PER_MINUTE != previousTime / NANOS_PER_MINUTE) {
+			return NanoDateTimePattern.MINUTE_FIELDS;
+		} else if (time / NANOS_PER_SECOND != previousTime / NANOS_PER_SECOND) {
+			return NanoDateTimePattern.SECOND_FIELDS;
+		}
+		return NanoDateTimePattern.FRACTION_FIELDS;
+	}
+
+	@Override public TimestampWriter append(CharSequence csq) throws IOException {
+		return append(csq, 0, csq.length());
+	}
+
+	@Override public TimestampWriter append(CharSequence csq, int start, int end) throws IOException {
+		for (int i = start; i < end; ++i) {
+			append(csq.charAt(i));
+		}
+		return this;
+	}
+
+	@Override public TimestampWriter append(char c) throws IOException {
+		if (!buffer.hasRemaining()) {
+			flushBuffer();
+		}
+		buffer.put(NanoDateTimeFormat.toAscii(c));
+		return this;
+	}
+
+	private void flushBuffer() throws IOException {
+		buffer.flip();
+		if (channel != null) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		} else {
+			out.write(bytes, 0, buffer.limit());
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * Writes out the buffer, and flushes the output stream, if any.
+	 */
+	@Override public void flush() throws IOException {
+		flushBuffer();
+		if (out != null) {
+			out.flush();
+		}
+	}
+
+	/**
+	 * Writes out the buffer, and closes the channel or output stream.
+	 */
+	@Override public void close() throws IOException {
+		try {
+			flushBuffer();
+		} finally {
+			if (channel != null) {
+				channel.close();
+			} else {
+				out.close();
+			}
+		}
+	}
+}
@@ -1,12 +1,32 @@
 package com.thalesians.nanotemporals;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Maps a datetime to its date and, given no datetime, gives today's date by a {@link NanoClock}, which may be a
+ * {@link CachedNanoClock} so that today's date is merely read.
+ */
 public final class TodayDateRule implements DateRule {
 	
+	private final NanoClock clock;
+	
 	public TodayDateRule() {
+		this(NanoClock.system());
+	}
+	
+	public TodayDateRule(NanoClock clock) {
+		this.clock = checkNotNull(clock);
 	}
 	
 	@Override
 	public NanoDate getDate(NanoDateTime now) {
 		return now.getDate();
 	}
+	
+	/**
+	 * @return  today's date by the clock of this rule.
+	 */
+	public NanoDate getDate() {
+		return clock.today();
+	}
 }
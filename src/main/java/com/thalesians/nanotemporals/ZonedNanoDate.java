@@ -2,10 +2,6 @@ package com.thalesians.nanotemporals;
 
 import java.io.Serializable;
 import java.text.ParseException;
-import java.util.concurrent.TimeUnit;
-
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 
 /**
  * Represents a date.
@@ -14,16 +10,12 @@ public final class ZonedNanoDate implements Comparable<ZonedNanoDate>, Serializa
 	
 	private static final long serialVersionUID = 6873451660018062436L;
 	
-	private static final Cache<Long, ZonedNanoDate> CACHE = CacheBuilder.newBuilder()
-			.maximumSize(10000)
-			.expireAfterAccess(1, TimeUnit.MINUTES)
-			.build();
+	private static volatile TemporalInterner<ZonedNanoDate> interner =
+			InterningStrategy.configured(ZonedNanoDate.class).newInterner();
 	
 	private final String timeZoneId;
 	private final long nanosecondsSinceEpoch;	
 	
-	private String string = null;
-	
 	private ZonedNanoDate(String timeZoneId, long nanosecondsSinceEpoch) {
 		this.timeZoneId = timeZoneId;
 		this.nanosecondsSinceEpoch = nanosecondsSinceEpoch;
@@ -32,13 +24,27 @@ public final class ZonedNanoDate implements Comparable<ZonedNanoDate>, Serializa
 	public static ZonedNanoDate fromNanosecondsSinceEpoch(String timeZoneId, long nanosecondsSinceEpoch) {
 		nanosecondsSinceEpoch = nanosecondsSinceEpoch -
 				(nanosecondsSinceEpoch % TemporalUnit.DAY.getWholeNanoseconds());
-		ZonedNanoDate date = CACHE.getIfPresent(nanosecondsSinceEpoch);
-		if (date == null) {
+		TemporalInterner<ZonedNanoDate> interner = ZonedNanoDate.interner;
+		ZonedNanoDate date = interner.get(nanosecondsSinceEpoch);
+		if (date == null || date.nanosecondsSinceEpoch != nanosecondsSinceEpoch
+				|| !date.timeZoneId.equals(timeZoneId)) {
 			date = new ZonedNanoDate(timeZoneId, nanosecondsSinceEpoch);
-			CACHE.put(nanosecondsSinceEpoch, date);
+			interner.put(nanosecondsSinceEpoch, date);
 		}
 		return date;
 	}
+
+	/**
+	 * Sets the strategy used by the factory methods to reuse instances, replacing the one configured at startup
+	 * (see {@link InterningStrategy}). Previously interned instances are discarded.
+	 */
+	public static void setInterningStrategy(InterningStrategy strategy) {
+		interner = strategy.newInterner();
+	}
+	
+	public static InterningStrategy getInterningStrategy() {
+		return interner.getStrategy();
+	}
 	
 	public static ZonedNanoDate fromMillisecondsSinceEpoch(String timeZoneId, long millisecondsSinceEpoch) {
 		return fromNanosecondsSinceEpoch(timeZoneId,
@@ -145,17 +151,12 @@ public final class ZonedNanoDate implements Comparable<ZonedNanoDate>, Serializa
 	}
 	
 	public String toString(String timeZoneId) {
-		return String.format("%04d.%02d.%02d",
-				TemporalArithmetics.getYear(this),
-				TemporalArithmetics.getMonth(this),
-				TemporalArithmetics.getDayOfMonth(this));
+		return TemporalStrings.date(this.timeZoneId,
+				Math.floorDiv(nanosecondsSinceEpoch, TemporalUnit.DAY.getWholeNanoseconds()));
 	}
 	
 	@Override
 	public String toString() {
-		if (string == null) {
-			string = toString(TemporalArithmetics.UTC);
-		}
-		return string;
+		return toString(TemporalArithmetics.UTC);
 	}
 }
@@ -4,10 +4,6 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 import java.io.Serializable;
 import java.text.ParseException;
-import java.util.concurrent.TimeUnit;
-
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 
 /**
  * Represents a datetime that does incorporate timezone information.
@@ -17,10 +13,8 @@ import com.google.common.cache.CacheBuilder;
 public final class ZonedNanoDateTime implements Comparable<ZonedNanoDateTime>, Serializable {
 	private static final long serialVersionUID = 924444546156605079L;
 
-	private static final Cache<Long, ZonedNanoDateTime> CACHE = CacheBuilder.newBuilder()
-			.maximumSize(10000)
-			.expireAfterAccess(1, TimeUnit.MINUTES)
-			.build();
+	private static volatile TemporalInterner<ZonedNanoDateTime> interner =
+			InterningStrategy.configured(ZonedNanoDateTime.class).newInterner();
 	
 	private static final long MIN_NANOSECONDS_SINCE_EPOCH = -2208988800000000000L;
 	private static final long MAX_NANOSECONDS_SINCE_EPOCH = 9223372036854775807L;
@@ -33,8 +27,6 @@ public final class ZonedNanoDateTime implements Comparable<ZonedNanoDateTime>, S
 	private final String timeZoneId;
 	private final long nanosecondsSinceEpoch;
 	
-	private String string = null;
-	
 	private ZonedNanoDateTime(String timeZoneId, long nanosecondsSinceEpoch) {
 		this.timeZoneId = timeZoneId;
 		this.nanosecondsSinceEpoch = nanosecondsSinceEpoch;
@@ -43,13 +35,37 @@ public final class ZonedNanoDateTime implements Comparable<ZonedNanoDateTime>, S
 	public static ZonedNanoDateTime fromNanosecondsSinceEpoch(String timeZoneId, long nanosecondsSinceEpoch) {
 		checkArgument(MIN_NANOSECONDS_SINCE_EPOCH <= nanosecondsSinceEpoch &&
 				nanosecondsSinceEpoch <= MAX_NANOSECONDS_SINCE_EPOCH);
-		ZonedNanoDateTime dt = CACHE.getIfPresent(nanosecondsSinceEpoch);
-		if (dt == null) {
+		TemporalInterner<ZonedNanoDateTime> interner = ZonedNanoDateTime.interner;
+		ZonedNanoDateTime dt = interner.get(nanosecondsSinceEpoch);
+		if (dt == null || dt.nanosecondsSinceEpoch != nanosecondsSinceEpoch || !dt.timeZoneId.equals(timeZoneId)) {
 			dt = new ZonedNanoDateTime(timeZoneId, nanosecondsSinceEpoch);
-			CACHE.put(nanosecondsSinceEpoch, dt);
+			interner.put(nanosecondsSinceEpoch, dt);
 		}
 		return dt;
 	}
+
+	/**
+	 * Sets the strategy used by the factory methods to reuse instances, replacing the one configured at startup
+	 * (see {@link InterningStrategy}). Previously interned instances are discarded.
+	 */
+	public static void setInterningStrategy(InterningStrategy strategy) {
+		interner = strategy.newInterner();
+	}
+	
+	public static InterningStrategy getInterningStrategy() {
+		return interner.getStrategy();
+	}
+	
+	/**
+	 * @return  the current datetime of the {@link NanoClock#system() system clock}, in the given time zone.
+	 */
+	public static ZonedNanoDateTime now(String timeZoneId) {
+		return NanoClock.system().now(timeZoneId);
+	}
+	
+	public static ZonedNanoDateTime now(String timeZoneId, NanoClock clock) {
+		return clock.now(timeZoneId);
+	}
 	
 	public static ZonedNanoDateTime fromMillisecondsSinceEpoch(String timeZoneId, long millisecondsSinceEpoch) {
 		return fromNanosecondsSinceEpoch(timeZoneId, millisecondsSinceEpoch * TemporalUnit.MILLISECOND.getWholeNanoseconds());
@@ -137,17 +153,10 @@ public final class ZonedNanoDateTime implements Comparable<ZonedNanoDateTime>, S
 	}
 	
 	public String toString(String timeZoneId) {
-		return String.format("%04d.%02d.%02dT%02d:%02d:%02d.%09d",
-				TemporalArithmetics.getYear(getDate()),
-				TemporalArithmetics.getMonth(getDate()),
-				TemporalArithmetics.getDayOfMonth(getDate()),
-				getTime().getHour(), getTime().getMinute(), getTime().getSecond(), getTime().getNanosecond());
+		return TemporalStrings.dateTime(this.timeZoneId, nanosecondsSinceEpoch);
 	}
 
 	@Override public String toString() {
-		if (string == null) {
-			string = toString(TemporalArithmetics.UTC);
-		}
-		return string;
+		return toString(TemporalArithmetics.UTC);
 	}
 }
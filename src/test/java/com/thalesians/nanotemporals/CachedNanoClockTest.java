@@ -0,0 +1,108 @@
+package com.thalesians.nanotemporals;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+public class CachedNanoClockTest {
+
+	private static final class ManualClock extends NanoClock {
+		final AtomicLong nanos;
+
+		ManualClock(long nanos) {
+			this.nanos = new AtomicLong(nanos);
+		}
+
+		@Override public long nowNanos() {
+			return nanos.get();
+		}
+	}
+
+	// Waits for the ticker to read the given time
+	private static void awaitTick(NanoClock clock, long nanos) throws InterruptedException {
+		long deadline = System.nanoTime() + 5000000000L;
+		while (clock.nowNanos() != nanos) {
+			assertTrue(System.nanoTime() < deadline);
+			Thread.sleep(1L);
+		}
+	}
+
+	@Test
+	public void tickTest() throws InterruptedException {
+		long start = 1558483199000000000L;
+		ManualClock source = new ManualClock(start);
+		CachedNanoClock clock = CachedNanoClock.builder().source(source)
+				.tickInterval(NanoTimeDelta.fromMilliseconds(1L)).build();
+		try {
+			assertEquals(start, clock.nowNanos());
+			assertEquals("2019.05.21", clock.getDatePrefix());
+			NanoDate today = clock.today();
+			assertEquals(NanoDateTime.fromNanosecondsSinceEpoch(start).getDate(), today);
+			TodayDateRule rule = new TodayDateRule(clock);
+			assertSame(today, rule.getDate());
+
+			source.nanos.set(start + 500000000L);
+			awaitTick(clock, start + 500000000L);
+			assertSame(today, clock.today());
+			assertEquals(NanoDateTime.fromNanosecondsSinceEpoch(start + 500000000L), clock.now());
+
+			source.nanos.set(start + 1000000000L);
+			awaitTick(clock, start + 1000000000L);
+			assertEquals("2019.05.22", clock.getDatePrefix());
+			assertEquals(NanoDate.builder().year(2019).month(5).day(22).build(), rule.getDate());
+			assertFalse(clock.isClosed());
+		} finally {
+			clock.close();
+		}
+		assertTrue(clock.isClosed());
+		source.nanos.set(start + 2000000000L);
+		assertEquals(start + 2000000000L, clock.nowNanos());
+		assertEquals("2019.05.22", clock.getDatePrefix());
+	}
+
+	@Test
+	public void failingSourceTest() throws InterruptedException {
+		long start = 1558483199000000000L;
+		final ManualClock source = new ManualClock(start);
+		final AtomicLong failures = new AtomicLong();
+		NanoClock failingSource = new NanoClock() {
+			@Override public long nowNanos() {
+				if (failures.get() > 0L) {
+					failures.decrementAndGet();
+					throw new IllegalStateException("Source unavailable");
+				}
+				return source.nowNanos();
+			}
+		};
+		CachedNanoClock clock = CachedNanoClock.builder().source(failingSource)
+				.tickInterval(NanoTimeDelta.fromMilliseconds(1L)).build();
+		try {
+			failures.set(5L);
+			source.nanos.set(start + 1000000000L);
+			// The ticker keeps running past the failed ticks
+			awaitTick(clock, start + 1000000000L);
+			assertEquals(5L, clock.getFailedTickCount());
+			assertEquals("2019.05.22", clock.getDatePrefix());
+		} finally {
+			clock.close();
+		}
+	}
+
+	@Test
+	public void systemSourceTest() {
+		CachedNanoClock clock = CachedNanoClock.builder().build();
+		try {
+			long nanos = NanoClock.system().nowNanos();
+			assertTrue(Math.abs(clock.nowNanos() - nanos) < 1000000000L);
+			assertEquals(NanoDateTime.now().getDate(), new TodayDateRule().getDate());
+			assertEquals(NanoTimeDelta.fromMilliseconds(1L), clock.getTickInterval());
+		} finally {
+			clock.close();
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package com.thalesians.nanotemporals;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+public class CivilCalendarTest {
+
+	@Test
+	public void agreesWithGregorianCalendarTest() {
+		Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone(TemporalArithmetics.UTC));
+		calendar.clear();
+		calendar.set(1677, Calendar.SEPTEMBER, 22);
+		long end = CivilCalendar.toEpochDay(2262, 4, 11);
+		for (long epochDay = CivilCalendar.toEpochDay(1677, 9, 22); epochDay <= end; ++epochDay) {
+			int date = CivilCalendar.fromEpochDay(epochDay);
+			int year = calendar.get(Calendar.YEAR);
+			int month = calendar.get(Calendar.MONTH) + 1;
+			int day = calendar.get(Calendar.DAY_OF_MONTH);
+			assertEquals(year, CivilCalendar.year(date));
+			assertEquals(month, CivilCalendar.month(date));
+			assertEquals(day, CivilCalendar.dayOfMonth(date));
+			assertEquals(calendar.get(Calendar.DAY_OF_WEEK), CivilCalendar.dayOfWeek(epochDay));
+			assertEquals(calendar.get(Calendar.DAY_OF_YEAR), CivilCalendar.dayOfYear(epochDay, year));
+			assertEquals(epochDay, CivilCalendar.toEpochDay(year, month, day));
+			assertEquals(Math.floorDiv(calendar.getTimeInMillis(), TemporalUnit.DAY.getWholeMilliseconds()), epochDay);
+			calendar.add(Calendar.DAY_OF_MONTH, 1);
+		}
+	}
+
+	@Test
+	public void validityTest() {
+		assertTrue(CivilCalendar.isValid(2000, 2, 29));
+		assertFalse(CivilCalendar.isValid(1900, 2, 29));
+		assertTrue(CivilCalendar.isValid(2016, 2, 29));
+		assertFalse(CivilCalendar.isValid(2019, 2, 29));
+		assertFalse(CivilCalendar.isValid(2019, 4, 31));
+		assertFalse(CivilCalendar.isValid(2019, 13, 1));
+		assertFalse(CivilCalendar.isValid(2019, 1, 0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidDateTest() {
+		NanoEpoch.yearMonthDayToDate(2019, 2, 29);
+	}
+
+	@Test
+	public void epochTest() {
+		assertEquals(0L, NanoEpoch.yearMonthDayToDate(1970, 1, 1));
+		assertEquals(1969, NanoEpoch.getYear(-1L));
+		assertEquals(12, NanoEpoch.getMonth(-1L));
+		assertEquals(31, NanoEpoch.getDayOfMonth(-1L));
+		assertEquals(Calendar.WEDNESDAY, NanoEpoch.getDayOfWeek(-1L));
+	}
+}
@@ -0,0 +1,85 @@
+package com.thalesians.nanotemporals;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.google.common.primitives.ImmutableIntArray;
+
+public class CsvTimestampLoaderTest {
+
+	private static final NanoDateTimeFormat FORMAT =
+			NanoDateTimeFormat.of(TemporalArithmetics.UTC, NanoDateTimeFormat.DEFAULT_DATETIME_PATTERN, false);
+
+	private static CsvTimestampLoader.TimestampColumn load(String text, CsvTimestampLoader loader) throws IOException {
+		Path path = Files.createTempFile("ticks", ".csv");
+		try {
+			Files.write(path, text.getBytes(StandardCharsets.ISO_8859_1));
+			return loader.load(path);
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void loadTest() throws IOException {
+		String text = "symbol,time,price\r\n"
+				+ "VOD.L,2019.05.21T18:45:07.345920678,123.4\r\n"
+				+ "VOD.L,\"2019.05.21T18:45:08.000000001\",123.5\r\n"
+				+ "VOD.L,2019.05.21 18:45:09.000000000,123.6\r\n"
+				+ "VOD.L\r\n"
+				+ "\r\n"
+				+ "VOD.L,2628.01.29T17:55:45.303000000,123.7\r\n"
+				+ "VOD.L,2019.05.21T18:45:10.000000000";
+		CsvTimestampLoader loader = CsvTimestampLoader.builder().format(FORMAT).column(1).headerLines(1).build();
+		CsvTimestampLoader.TimestampColumn column = load(text, loader);
+		assertEquals(7, column.getRowCount());
+		assertArrayEquals(new long[] { 1558464307345920678L, 1558464308000000001L, Long.MIN_VALUE, Long.MIN_VALUE,
+				Long.MIN_VALUE, Long.MIN_VALUE, 1558464310000000000L }, column.getNanosecondsSinceEpoch());
+		assertEquals(ImmutableIntArray.of(2, 3, 4, 5), column.getFailedRows());
+
+		assertEquals(0, load("", loader).getRowCount());
+		assertEquals(0, load("symbol,time,price\n", loader).getRowCount());
+	}
+
+	@Test
+	public void loadInChunksTest() throws IOException {
+		Random random = new Random(7L);
+		StringBuilder text = new StringBuilder();
+		List<Long> expected = new ArrayList<>();
+		List<Integer> failedRows = new ArrayList<>();
+		for (int i = 0; i < 20000; ++i) {
+			long nanos = 1500000000000000000L + (long) (random.nextDouble() * 100000000000000000L);
+			String timestamp = FORMAT.format(NanoDateTime.fromNanosecondsSinceEpoch(nanos));
+			if (random.nextInt(100) == 0) {
+				timestamp = "x" + timestamp.substring(1);
+				nanos = Long.MIN_VALUE;
+				failedRows.add(i);
+			}
+			text.append(i).append(';').append(timestamp).append(';').append(random.nextInt()).append('\n');
+			expected.add(nanos);
+		}
+		long[] expectedColumn = new long[expected.size()];
+		for (int i = 0; i < expectedColumn.length; ++i) {
+			expectedColumn[i] = expected.get(i);
+		}
+		for (boolean parallel : new boolean[] { false, true }) {
+			for (int chunkSize : new int[] { 4096, 10000, 1 << 20 }) {
+				CsvTimestampLoader loader = CsvTimestampLoader.builder().format(FORMAT).column(1).delimiter(';')
+						.chunkSize(chunkSize).parallel(parallel).build();
+				CsvTimestampLoader.TimestampColumn column = load(text.toString(), loader);
+				assertArrayEquals(loader.toString(), expectedColumn, column.getNanosecondsSinceEpoch());
+				assertEquals(loader.toString(), ImmutableIntArray.copyOf(failedRows), column.getFailedRows());
+			}
+		}
+	}
+}
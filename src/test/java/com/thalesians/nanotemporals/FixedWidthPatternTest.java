@@ -0,0 +1,94 @@
+package com.thalesians.nanotemporals;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+import com.thalesians.nanotemporals.NanoDateTimePattern.NumericField;
+import com.thalesians.nanotemporals.NanoDateTimePattern.Parsed;
+
+public class FixedWidthPatternTest {
+
+	private static final FixedWidthPattern PATTERN = FixedWidthPattern.builder()
+			.number(NumericField.YEAR, 4).literal(".").number(NumericField.MONTH, 2).literal(".")
+			.number(NumericField.DAY_OF_MONTH, 2).literal("T").number(NumericField.HOUR_OF_DAY0, 2).literal(":")
+			.number(NumericField.MINUTE, 2).literal(":").number(NumericField.SECOND, 2).literal(".").fraction(9)
+			.build();
+
+	@Test
+	public void parseTest() {
+		Parsed parsed = new Parsed();
+		assertEquals(31, PATTERN.parse("> 2019.05.21T18:45:07.345920678", 2, parsed));
+		assertEquals(2019, parsed.year);
+		assertEquals(5, parsed.month);
+		assertEquals(21, parsed.dayOfMonth);
+		assertEquals(18, parsed.hourOfDay);
+		assertEquals(45, parsed.minute);
+		assertEquals(7, parsed.second);
+		assertEquals(345920678, parsed.nanosecond);
+
+		byte[] bytes = "2019.05.21T18:45:07.345920678".getBytes(StandardCharsets.US_ASCII);
+		ParseCursor.ByteSequence sequence = new ParseCursor.ByteSequence();
+		parsed.reset();
+		assertEquals(29, PATTERN.parse(sequence.set(bytes, bytes.length), 0, parsed));
+		assertEquals(345920678, parsed.nanosecond);
+		parsed.reset();
+		assertEquals(29, PATTERN.parse(sequence.set(ByteBuffer.wrap(bytes).order(ByteOrder.BIG_ENDIAN)), 0, parsed));
+		assertEquals(45, parsed.minute);
+	}
+
+	@Test
+	public void mismatchTest() {
+		String[] texts = { "2019.05.21T18:45:07.34592067", "2019.05.21T18:45:07.34592067x", "2019.05.21 18:45:07.345920678",
+				"2019.05.2/T18:45:07.345920678", "2019.05.21T18:45:07.34592067:", "2019.0\u01355.21T18:45:07.345920678",
+				"2019.5.21T18:45:07.345920678", " 2019.05.21T18:45:07.345920678" };
+		for (String text : texts) {
+			assertEquals(text, -1, PATTERN.parse(text, 0, new Parsed()));
+		}
+		FixedWidthPattern openEnded = FixedWidthPattern.builder()
+				.number(NumericField.HOUR_OF_DAY0, 2).number(NumericField.MINUTE, 2).build();
+		assertEquals(4, openEnded.parse("1845:", 0, new Parsed()));
+		assertEquals(-1, openEnded.parse("18450", 0, new Parsed()));
+	}
+
+	// Before 1900 (and the Gregorian calendar), or from 2038, java.util may not agree with NanoDateTimeFormat
+	private static final long FIRST_MILLISECOND = NanoDateTime.MIN.getMillisecondsSinceEpoch();
+	private static final long LAST_MILLISECOND = 2145916800000L;
+
+	@Test
+	public void parseLikeSimpleDateFormatTest() throws ParseException {
+		// The pattern is read by the FixedWidthPattern, and, where it does not match, by the NanoDateTimePattern
+		String pattern = "yyyy.MM.dd'T'HH:mm:ss.SSS";
+		NanoDateTimeFormat format = NanoDateTimeFormat.of("Europe/London", pattern, Locale.US, false);
+		SimpleDateFormat simpleDateFormat = new SimpleDateFormat(pattern, Locale.US);
+		simpleDateFormat.setTimeZone(TimeZone.getTimeZone("Europe/London"));
+		String characters = "0123456789.:T x";
+		Random random = new Random(5L);
+		ParseCursor cursor = new ParseCursor();
+		for (int i = 0; i < 20000; ++i) {
+			char[] text = simpleDateFormat.format(new java.util.Date((long) (random.nextDouble() * 2000000000000L)))
+					.toCharArray();
+			if (i % 2 == 1) {
+				text[random.nextInt(text.length)] = characters.charAt(random.nextInt(characters.length()));
+			}
+			java.text.ParsePosition pos = new java.text.ParsePosition(0);
+			java.util.Date date = simpleDateFormat.parse(new String(text), pos);
+			long nanos = format.parseNanosecondsSinceEpoch(new String(text), cursor.reset(0));
+			if (date == null) {
+				assertEquals(new String(text), pos.getErrorIndex(), cursor.getErrorIndex());
+			} else if (date.getTime() >= FIRST_MILLISECOND && date.getTime() < LAST_MILLISECOND) {
+				assertEquals(new String(text), date.getTime() * 1000000L, nanos);
+				assertEquals(new String(text), pos.getIndex(), cursor.getIndex());
+			}
+		}
+	}
+}
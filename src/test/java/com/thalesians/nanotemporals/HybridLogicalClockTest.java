@@ -0,0 +1,136 @@
+package com.thalesians.nanotemporals;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+public class HybridLogicalClockTest {
+
+	private static final class ManualClock extends NanoClock {
+		volatile long nanos;
+
+		ManualClock(long nanos) {
+			this.nanos = nanos;
+		}
+
+		@Override public long nowNanos() {
+			return nanos;
+		}
+	}
+
+	@Test
+	public void logicalTest() {
+		long start = 1558464307000000000L;
+		ManualClock physical = new ManualClock(start);
+		HybridLogicalClock clock = new HybridLogicalClock(physical);
+		assertEquals(start, clock.nowNanos());
+		assertEquals(0L, clock.getLogicalTimestampCount());
+
+		// Stalled
+		assertEquals(start + 1L, clock.nowNanos());
+		assertEquals(NanoDateTime.fromNanosecondsSinceEpoch(start + 2L), clock.now());
+		assertEquals(2L, clock.getLogicalTimestampCount());
+		assertEquals(NanoTimeDelta.fromNanoseconds(2L), clock.getMaxLead());
+
+		// Backwards
+		physical.nanos = start - 1000L;
+		assertEquals(start + 3L, clock.nowNanos());
+		assertEquals(NanoTimeDelta.fromNanoseconds(1003L), clock.getMaxLead());
+
+		physical.nanos = start + 1000L;
+		assertEquals(start + 1000L, clock.nowNanos());
+		assertEquals(3L, clock.getLogicalTimestampCount());
+
+		// Received from a clock ahead, and behind
+		assertEquals(start + 5001L, clock.update(start + 5000L));
+		assertEquals(start + 5002L, clock.update(start));
+		assertEquals(NanoDateTime.fromNanosecondsSinceEpoch(start + 5003L),
+				clock.update(NanoDateTime.fromNanosecondsSinceEpoch(start + 5001L)));
+		physical.nanos = start + 10000L;
+		assertEquals(start + 10000L, clock.update(start + 5000L));
+		assertEquals(6L, clock.getLogicalTimestampCount());
+		assertEquals(NanoTimeDelta.fromNanoseconds(4003L), clock.getMaxLead());
+	}
+
+	@Test
+	public void driftTest() {
+		long start = 1558464307000000000L;
+		ManualClock physical = new ManualClock(start);
+		HybridLogicalClock clock = new HybridLogicalClock(physical, NanoTimeDelta.fromSeconds(1L));
+		assertEquals(start + 1000000001L, clock.update(start + 1000000000L));
+		try {
+			clock.update(start + 1000000001L);
+			fail();
+		} catch (IllegalArgumentException e) {
+			// Expected
+		}
+		assertEquals(start + 1000000002L, clock.nowNanos());
+
+		// Without a maximum drift, a timestamp would wrap around from the last one
+		HybridLogicalClock unboundedClock = new HybridLogicalClock(physical);
+		try {
+			unboundedClock.update(Long.MAX_VALUE);
+			fail();
+		} catch (IllegalArgumentException e) {
+			// Expected
+		}
+		assertEquals(start, unboundedClock.nowNanos());
+		assertEquals(Long.MAX_VALUE, unboundedClock.update(Long.MAX_VALUE - 1L));
+		try {
+			unboundedClock.nowNanos();
+			fail();
+		} catch (IllegalStateException e) {
+			// Expected
+		}
+		physical.nanos = Long.MAX_VALUE;
+		try {
+			unboundedClock.update(start);
+			fail();
+		} catch (IllegalStateException e) {
+			// Expected
+		}
+	}
+
+	@Test
+	public void concurrentTest() throws Exception {
+		final HybridLogicalClock clock = new HybridLogicalClock();
+		final int timestamps = 50000;
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		long[] all = new long[4 * timestamps];
+		try {
+			List<Future<long[]>> futures = new ArrayList<>();
+			for (int i = 0; i < 4; ++i) {
+				futures.add(executor.submit(new Callable<long[]>() {
+					@Override public long[] call() {
+						long[] nanos = new long[timestamps];
+						for (int j = 0; j < timestamps; ++j) {
+							nanos[j] = clock.nowNanos();
+							assertTrue(j == 0 || nanos[j] > nanos[j - 1]);
+						}
+						return nanos;
+					}
+				}));
+			}
+			for (int i = 0; i < futures.size(); ++i) {
+				System.arraycopy(futures.get(i).get(), 0, all, i * timestamps, timestamps);
+			}
+		} finally {
+			executor.shutdown();
+		}
+		Arrays.sort(all);
+		for (int i = 1; i < all.length; ++i) {
+			assertTrue(all[i] > all[i - 1]);
+		}
+		assertTrue(clock.nowNanos() > all[all.length - 1]);
+	}
+}
@@ -0,0 +1,71 @@
+package com.thalesians.nanotemporals;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class InterningStrategyTest {
+	
+	private static final long NANOS = 1517417643357123456L;
+	
+	@After
+	public void restoreDefaults() {
+		NanoDateTime.setInterningStrategy(InterningStrategy.BOUNDED_CACHE);
+		ZonedNanoDateTime.setInterningStrategy(InterningStrategy.BOUNDED_CACHE);
+	}
+	
+	@Test
+	public void noneTest() {
+		NanoDateTime.setInterningStrategy(InterningStrategy.NONE);
+		assertEquals(InterningStrategy.NONE, NanoDateTime.getInterningStrategy());
+		NanoDateTime first = NanoDateTime.fromNanosecondsSinceEpoch(NANOS);
+		NanoDateTime second = NanoDateTime.fromNanosecondsSinceEpoch(NANOS);
+		assertEquals(first, second);
+		assertNotSame(first, second);
+	}
+	
+	@Test
+	public void directMappedTest() {
+		NanoDateTime.setInterningStrategy(InterningStrategy.DIRECT_MAPPED);
+		NanoDateTime first = NanoDateTime.fromNanosecondsSinceEpoch(NANOS);
+		assertSame(first, NanoDateTime.fromNanosecondsSinceEpoch(NANOS));
+		for (long i = 1; i < 100000; ++i) {
+			assertEquals(NANOS + i, NanoDateTime.fromNanosecondsSinceEpoch(NANOS + i).getNanosecondsSinceEpoch());
+		}
+	}
+	
+	@Test
+	public void boundedCacheTest() {
+		NanoDateTime.setInterningStrategy(InterningStrategy.BOUNDED_CACHE);
+		NanoDateTime first = NanoDateTime.fromNanosecondsSinceEpoch(NANOS);
+		assertSame(first, NanoDateTime.fromNanosecondsSinceEpoch(NANOS));
+	}
+	
+	@Test
+	public void zonedTest() {
+		for (InterningStrategy strategy : InterningStrategy.values()) {
+			ZonedNanoDateTime.setInterningStrategy(strategy);
+			ZonedNanoDateTime utc = ZonedNanoDateTime.fromNanosecondsSinceEpoch(TemporalArithmetics.UTC, NANOS);
+			ZonedNanoDateTime newYork = ZonedNanoDateTime.fromNanosecondsSinceEpoch("America/New_York", NANOS);
+			assertEquals(TemporalArithmetics.UTC, utc.getTimeZoneId());
+			assertEquals("America/New_York", newYork.getTimeZoneId());
+		}
+	}
+	
+	@Test
+	public void configuredTest() {
+		String property = "com.thalesians.nanotemporals.InterningStrategyTest.interning";
+		try {
+			assertEquals(InterningStrategy.BOUNDED_CACHE, InterningStrategy.configured(InterningStrategyTest.class));
+			System.setProperty(property, " direct_mapped ");
+			assertEquals(InterningStrategy.DIRECT_MAPPED, InterningStrategy.configured(InterningStrategyTest.class));
+			System.setProperty(property, "DIRECT-MAPPED");
+			assertEquals(InterningStrategy.BOUNDED_CACHE, InterningStrategy.configured(InterningStrategyTest.class));
+		} finally {
+			System.clearProperty(property);
+		}
+	}
+}
@@ -0,0 +1,121 @@
+package com.thalesians.nanotemporals;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class Iso8601CodecTest {
+
+	@Test
+	public void formatTest() {
+		NanoDateTime dateTime = NanoDateTime.fromNanosecondsSinceEpoch(1558464307345920678L);
+		assertEquals("2019-05-21T18:45:07.345920678Z", Iso8601Codec.format(dateTime));
+		assertEquals("2019-05-21T19:45:07.345920678+01:00",
+				Iso8601Codec.format(ZonedNanoDateTime.fromDateTime("Europe/London", dateTime)));
+		assertEquals("2019-05-21T14:45:07.345920678-04:00",
+				Iso8601Codec.format(ZonedNanoDateTime.fromDateTime("America/New_York", dateTime)));
+		assertEquals("2019-05-21T18:45:07.345Z",
+				Iso8601Codec.format(NanoDateTime.fromNanosecondsSinceEpoch(1558464307345000000L)));
+		assertEquals("2019-05-21T18:45:07Z",
+				Iso8601Codec.format(NanoDateTime.fromNanosecondsSinceEpoch(1558464307000000000L)));
+		assertEquals("1900-01-01T00:00:00Z", Iso8601Codec.format(NanoDateTime.MIN));
+		assertEquals("2262-04-11T23:47:16.854775807Z", Iso8601Codec.format(NanoDateTime.MAX));
+
+		byte[] bytes = new byte[Iso8601Codec.MAX_LENGTH + 2];
+		int length = Iso8601Codec.format(dateTime, bytes, 2);
+		assertEquals("2019-05-21T18:45:07.345920678Z", new String(bytes, 2, length, StandardCharsets.US_ASCII));
+		try {
+			Iso8601Codec.format(dateTime, new byte[29], 0);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+		}
+	}
+
+	@Test
+	public void parseTest() throws ParseException {
+		long expected = 1558464307345920678L;
+		String[] texts = { "2019-05-21T18:45:07.345920678Z", "2019-05-21t18:45:07.345920678z",
+				"2019-05-21 18:45:07.345920678", "2019-05-21T19:45:07,345920678+01:00",
+				"2019-05-21T19:45:07.345920678+0100", "2019-05-21T19:45:07.345920678+01",
+				"2019-05-21T14:15:07.345920678-04:30" };
+		ParseCursor cursor = new ParseCursor();
+		for (String text : texts) {
+			assertEquals(text, expected, Iso8601Codec.parseNanosecondsSinceEpoch(text, cursor.reset(0)));
+			assertEquals(text, text.length(), cursor.getIndex());
+			byte[] bytes = (">" + text).getBytes(StandardCharsets.US_ASCII);
+			assertEquals(text, expected, Iso8601Codec.parseNanosecondsSinceEpoch(bytes, 1, bytes.length - 1, cursor));
+			assertEquals(text, bytes.length, cursor.getIndex());
+		}
+		assertEquals(1558464307300000000L,
+				Iso8601Codec.parseNanosecondsSinceEpoch("2019-05-21T18:45:07.3Z", cursor.reset(0)));
+		assertEquals(1558464307000000000L,
+				Iso8601Codec.parseNanosecondsSinceEpoch("2019-05-21T18:45:07Z;", cursor.reset(0)));
+		assertEquals(20, cursor.getIndex());
+
+		assertEquals(NanoDateTime.fromNanosecondsSinceEpoch(expected), Iso8601Codec.parseDateTime(texts[3]));
+		ZonedNanoDateTime zoned = Iso8601Codec.parseZonedDateTime(texts[6]);
+		assertEquals("GMT-04:30", zoned.getTimeZoneId());
+		assertEquals(expected, zoned.getNanosecondsSinceEpoch());
+		assertEquals(texts[6], Iso8601Codec.format(zoned));
+		assertEquals(TemporalArithmetics.UTC, Iso8601Codec.parseZonedDateTime(texts[0]).getTimeZoneId());
+	}
+
+	@Test
+	public void parseErrorTest() {
+		String[] texts = { "2019-05-21X18:45:07Z", "2019-13-21T18:45:07Z", "2019-02-29T18:45:07Z",
+				"2019-05-21T24:00:00Z", "2019-05-21T18:45:60Z", "2019-05-21T18:45:07.Z", "2019-05-21T18:45:07.1234567890Z",
+				"2019-05-21T18:45:07+19:00", "2019-05-21T18:45:07+01:60", "2019-5-21T18:45:07Z", "2019-05-21T18:45",
+				"2262-04-11T23:47:16.854775808Z" };
+		int[] errorIndexes = { 10, 5, 8, 11, 17, 20, 29, 20, 23, 6, 16, 0 };
+		ParseCursor cursor = new ParseCursor();
+		for (int i = 0; i < texts.length; ++i) {
+			assertEquals(texts[i], Long.MIN_VALUE, Iso8601Codec.parseNanosecondsSinceEpoch(texts[i], cursor.reset(0)));
+			assertEquals(texts[i], errorIndexes[i], cursor.getErrorIndex());
+		}
+		try {
+			Iso8601Codec.parseDateTime("2019-05-21T18:45:07Z ");
+			fail();
+		} catch (ParseException e) {
+			assertEquals(20, e.getErrorOffset());
+		}
+		try {
+			Iso8601Codec.parseDateTime("1899-12-31T23:59:59Z");
+			fail();
+		} catch (ParseException e) {
+		}
+	}
+
+	@Test
+	public void likeJavaTimeTest() {
+		String[] timeZoneIds = { TemporalArithmetics.UTC, "Europe/London", "America/New_York", "Asia/Kolkata",
+				"Australia/Lord_Howe" };
+		Random random = new Random(11L);
+		ParseCursor cursor = new ParseCursor();
+		for (int i = 0; i < 10000; ++i) {
+			long nanos = NanoDateTime.MIN.getNanosecondsSinceEpoch() + (long) (random.nextDouble() * 4000000000000000000L);
+			switch (random.nextInt(3)) {
+			case 0:
+				nanos -= nanos % 1000000000L;
+				break;
+			case 1:
+				nanos -= nanos % 1000L;
+				break;
+			}
+			String timeZoneId = timeZoneIds[random.nextInt(timeZoneIds.length)];
+			String text = Iso8601Codec.format(ZonedNanoDateTime.fromNanosecondsSinceEpoch(timeZoneId, nanos));
+			Instant instant = Instant.ofEpochSecond(Math.floorDiv(nanos, 1000000000L), Math.floorMod(nanos, 1000000000L));
+			OffsetDateTime dateTime = OffsetDateTime.parse(text);
+			assertEquals(text, instant, dateTime.toInstant());
+			assertEquals(text, ZoneId.of(timeZoneId).getRules().getOffset(instant), dateTime.getOffset());
+			assertEquals(text, nanos, Iso8601Codec.parseNanosecondsSinceEpoch(text, cursor.reset(0)));
+		}
+	}
+}
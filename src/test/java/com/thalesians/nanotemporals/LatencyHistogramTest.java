@@ -0,0 +1,129 @@
+package com.thalesians.nanotemporals;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void bucketTest() {
+		for (int bits = 2; bits <= 16; ++bits) {
+			int count = LatencyHistogram.bucketCount(bits);
+			assertEquals(count - 1, LatencyHistogram.bucketIndex(Long.MAX_VALUE, bits));
+			assertEquals(Long.MAX_VALUE, LatencyHistogram.bucketHighest(count - 1, bits));
+			assertEquals(0, LatencyHistogram.bucketIndex(-5L, bits));
+			for (int i = 0; i < count; ++i) {
+				long lowest = LatencyHistogram.bucketLowest(i, bits);
+				long highest = LatencyHistogram.bucketHighest(i, bits);
+				assertEquals(i, LatencyHistogram.bucketIndex(lowest, bits));
+				assertEquals(i, LatencyHistogram.bucketIndex(highest, bits));
+				if (i > 0) {
+					assertEquals(lowest - 1, LatencyHistogram.bucketHighest(i - 1, bits));
+				}
+				assertTrue(highest - lowest <= lowest >> (bits - 1));
+			}
+		}
+	}
+
+	@Test
+	public void percentileTest() {
+		Random random = new Random(17L);
+		long[] values = new long[100000];
+		LatencyHistogram histogram = LatencyHistogram.builder().build();
+		for (int i = 0; i < values.length; ++i) {
+			// Log-normal, around 20 microseconds
+			values[i] = (long) Math.exp(10.0 + 1.5 * random.nextGaussian());
+			histogram.record(NanoTimeDelta.fromNanoseconds(values[i]));
+		}
+		Arrays.sort(values);
+		LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+		assertEquals(values.length, snapshot.getTotalCount());
+		for (double percentile : new double[] { 0.0, 1.0, 25.0, 50.0, 90.0, 99.0, 99.9, 99.99, 100.0 }) {
+			long expected = values[Math.max((int) Math.ceil(percentile / 100.0 * values.length), 1) - 1];
+			long actual = snapshot.getValueAtPercentile(percentile).toWholeNanoseconds();
+			assertTrue(percentile + ": " + expected + " " + actual, actual >= expected && actual - expected <= expected / 128);
+		}
+		assertTrue(snapshot.getMin().toWholeNanoseconds() <= values[0]);
+		assertEquals(snapshot.getValueAtPercentile(100.0), snapshot.getMax());
+		double mean = 0.0;
+		for (long value : values) {
+			mean += value / (double) values.length;
+		}
+		assertEquals(mean, snapshot.getMean().toWholeNanoseconds(), mean / 256.0);
+
+		LatencyHistogram.Snapshot empty = LatencyHistogram.builder().build().snapshot();
+		assertTrue(empty.isEmpty());
+		assertEquals(NanoTimeDelta.ZERO, empty.getValueAtPercentile(99.0));
+	}
+
+	@Test
+	public void intervalAndMergeTest() {
+		LatencyHistogram histogram = LatencyHistogram.builder().significantBits(4).build();
+		LatencyHistogram all = LatencyHistogram.builder().significantBits(4).build();
+		LatencyHistogram.Snapshot merged = histogram.snapshot();
+		Random random = new Random(19L);
+		for (int interval = 0; interval < 10; ++interval) {
+			for (int i = 0; i < 1000; ++i) {
+				long value = random.nextInt(1000000);
+				histogram.record(value);
+				all.record(value);
+			}
+			LatencyHistogram.Snapshot snapshot = histogram.intervalSnapshot();
+			assertEquals(1000, snapshot.getTotalCount());
+			merged = merged.merge(snapshot);
+		}
+		assertTrue(histogram.snapshot().isEmpty());
+		LatencyHistogram.Snapshot expected = all.snapshot();
+		assertEquals(expected.getTotalCount(), merged.getTotalCount());
+		for (double percentile = 0.0; percentile <= 100.0; percentile += 0.5) {
+			assertEquals(expected.getValueAtPercentile(percentile), merged.getValueAtPercentile(percentile));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void mergeMismatchTest() {
+		LatencyHistogram.builder().significantBits(4).build().snapshot().merge(
+				LatencyHistogram.builder().build().snapshot());
+	}
+
+	@Test
+	public void stripedTest() throws Exception {
+		final LatencyHistogram histogram = LatencyHistogram.builder().striped(3).build();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Future<?>[] futures = new Future<?>[8];
+			for (int i = 0; i < futures.length; ++i) {
+				final int thread = i;
+				futures[i] = executor.submit(new Callable<Void>() {
+					@Override public Void call() {
+						for (int j = 0; j < 100000; ++j) {
+							histogram.record(thread * 1000L + j % 1000);
+						}
+						return null;
+					}
+				});
+			}
+			long intervalCounts = 0L;
+			for (Future<?> future : futures) {
+				intervalCounts += histogram.intervalSnapshot().getTotalCount();
+				future.get();
+			}
+			intervalCounts += histogram.intervalSnapshot().getTotalCount();
+			assertEquals(800000L, intervalCounts);
+		} finally {
+			executor.shutdown();
+		}
+		histogram.reset();
+		histogram.record(NanoTimeDelta.fromMilliseconds(5L));
+		assertEquals(1, histogram.snapshot().getTotalCount());
+	}
+}
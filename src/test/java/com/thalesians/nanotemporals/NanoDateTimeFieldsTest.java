@@ -0,0 +1,68 @@
+package com.thalesians.nanotemporals;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+public class NanoDateTimeFieldsTest {
+
+	@Test
+	public void dateTimeTest() {
+		NanoDateTime dateTime = NanoDateTime.fromDateAndTime(
+				NanoDate.builder().year(2016).month(12).day(31).build(),
+				NanoTime.builder().hour(23).minute(59).second(58).nanosecond(123456789).build());
+		NanoDateTimeFields fields = new NanoDateTimeFields();
+		assertSame(fields, TemporalArithmetics.decompose(dateTime, fields));
+		assertEquals(2016, fields.getYear());
+		assertEquals(12, fields.getMonth());
+		assertEquals(31, fields.getDayOfMonth());
+		assertEquals(Calendar.SATURDAY, fields.getDayOfWeek());
+		assertEquals(366, fields.getDayOfYear());
+		assertEquals(23, fields.getHour());
+		assertEquals(59, fields.getMinute());
+		assertEquals(58, fields.getSecond());
+		assertEquals(123456789, fields.getNanosecond());
+		assertEquals(dateTime.toString(), fields.toString());
+
+		// Reused for another decomposition, in local time
+		TemporalArithmetics.decompose(ZonedNanoDateTime.fromDateTime("America/New_York", dateTime), fields);
+		assertEquals("2016.12.31T18:59:58.123456789", fields.toString());
+	}
+
+	@Test
+	public void dateTest() {
+		NanoDateTimeFields fields = new NanoDateTimeFields();
+		TemporalArithmetics.decompose(TemporalArithmetics.UTC, NanoDate.builder().year(2019).month(3).day(1).build(),
+				fields);
+		assertEquals("2019.03.01T00:00:00.000000000", fields.toString());
+		assertEquals(Calendar.FRIDAY, fields.getDayOfWeek());
+		assertEquals(60, fields.getDayOfYear());
+	}
+
+	@Test
+	public void agreesWithCalendarTest() {
+		String timeZoneId = "Europe/London";
+		Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone(timeZoneId));
+		NanoDateTimeFields fields = new NanoDateTimeFields();
+		long step = 13 * TemporalUnit.HOUR.getWholeNanoseconds() + 987654321L;
+		for (long nanos = NanoDateTime.MIN.getNanosecondsSinceEpoch(); nanos < 4102444800000000000L; nanos += step) {
+			calendar.setTimeInMillis(Math.floorDiv(nanos, TemporalUnit.MILLISECOND.getWholeNanoseconds()));
+			NanoEpoch.decompose(timeZoneId, nanos, fields);
+			assertEquals(calendar.get(Calendar.YEAR), fields.getYear());
+			assertEquals(calendar.get(Calendar.MONTH) + 1, fields.getMonth());
+			assertEquals(calendar.get(Calendar.DAY_OF_MONTH), fields.getDayOfMonth());
+			assertEquals(calendar.get(Calendar.DAY_OF_WEEK), fields.getDayOfWeek());
+			assertEquals(calendar.get(Calendar.DAY_OF_YEAR), fields.getDayOfYear());
+			assertEquals(calendar.get(Calendar.HOUR_OF_DAY), fields.getHour());
+			assertEquals(calendar.get(Calendar.MINUTE), fields.getMinute());
+			assertEquals(calendar.get(Calendar.SECOND), fields.getSecond());
+			assertEquals(calendar.get(Calendar.MILLISECOND),
+					fields.getNanosecond() / TemporalUnit.MILLISECOND.getWholeNanoseconds());
+		}
+	}
+}
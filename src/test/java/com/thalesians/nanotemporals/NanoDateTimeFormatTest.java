@@ -1,11 +1,33 @@
 package com.thalesians.nanotemporals;
 
+import static com.thalesians.nanotemporals.NanoDateTimeFormat.DEFAULT_DATETIME_PATTERN;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.DateFormat;
+import java.text.FieldPosition;
 import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Test;
 
+import com.google.common.base.Strings;
+
 import com.thalesians.nanotemporals.NanoDate;
 import com.thalesians.nanotemporals.NanoDateTimeFormat;
 
@@ -86,14 +108,13 @@ public class NanoDateTimeFormatTest {
 		NanoDateTimeFormat format = NanoDateTimeFormat.of(TemporalArithmetics.UTC, "HH:mm:ss.NNNNNNNNN", false);
 		assertEquals("18:45:07.345920678", format.format(time));
 	}
-	
-	// TODO Learn to parse datetimes and times with nanoseconds
 
-//	@Test
-//	public void parseTimeTest2() throws ParseException {
-//		NanoDateTimeFormat format = NanoDateTimeFormat.of(TemporalArithmetics.UTC, "HH:mm:ss.NNNNNNNNN");
-//		assertEquals("1970.01.01T18:45:07.345920678", format.parseObject("18:45:07.345920678").toString());
-//	}
+	@Test
+	public void parseTimeTest2() throws ParseException {
+		NanoDateTimeFormat format = NanoDateTimeFormat.of(TemporalArithmetics.UTC, "HH:mm:ss.NNNNNNNNN", false);
+		assertEquals("1970.01.01T18:45:07.345920678", format.parseObject("18:45:07.345920678").toString());
+		assertEquals("1970.01.01T18:45:07.345000000", format.parseObject("18:45:07.345").toString());
+	}
 
 	@Test
 	public void formatTimeTest3() {
@@ -109,10 +130,299 @@ public class NanoDateTimeFormatTest {
 		assertEquals("18:45:07.345920", format.format(time));
 	}
 
+	@Test
+	public void parseTimeTest4() throws ParseException {
+		NanoDateTimeFormat format = NanoDateTimeFormat.of(TemporalArithmetics.UTC, "HHmmssCCCCCCNNNNNNNNN", false);
+		assertEquals("1970.01.01T18:45:07.000123456", format.parseObject("184507345920000123456").toString());
+	}
+
 	@Test
 	public void formatTimeTest5() {
 		NanoTime time = NanoTime.builder().hour(18).minute(45).second(7).nanosecond(345920678).build();
 		NanoDateTimeFormat format = NanoDateTimeFormat.of(TemporalArithmetics.UTC, "HH:mm:ss.CCCCCC.'CCCCCC'.NNNNNNNNN.'NNNNNNNNN'", false);
 		assertEquals("18:45:07.345920.CCCCCC.345920678.NNNNNNNNN", format.format(time));
 	}
+
+	@Test
+	public void formatLikeSimpleDateFormatTest() {
+		String[] patterns = { "yyyy.MM.dd'T'HH:mm:ss.SSS", "yy-M-d h:m:s.S a", "EEE, d MMM yyyy HH:mm:ss Z",
+				"EEEE d MMMM yyy D F u k K 'o''clock'", "yyyy-MM-dd'T'HH:mm:ss.SSSXXX", "X XX" };
+		String[] timeZoneIds = { TemporalArithmetics.UTC, "America/New_York", "Asia/Kolkata" };
+		Locale[] locales = { Locale.US, Locale.FRANCE, new Locale("ar", "EG") };
+		Random random = new Random(11L);
+		for (String pattern : patterns) {
+			for (String timeZoneId : timeZoneIds) {
+				for (Locale locale : locales) {
+					NanoDateTimeFormat format = NanoDateTimeFormat.of(timeZoneId, pattern, locale, false);
+					SimpleDateFormat simpleDateFormat = new SimpleDateFormat(pattern, locale);
+					simpleDateFormat.setTimeZone(TimeZone.getTimeZone(timeZoneId));
+					for (int i = 0; i < 100; ++i) {
+						long millis = (long) ((random.nextDouble() - .5) * 4000000000000L);
+						assertEquals(simpleDateFormat.format(new java.util.Date(millis)),
+								format.format(NanoDateTime.fromMillisecondsSinceEpoch(millis)));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void formatFieldPositionTest() {
+		NanoDateTime dateTime = NanoDateTime.fromDateAndTime(
+				NanoDate.builder().year(2019).month(5).day(21).build(),
+				NanoTime.builder().hour(18).minute(45).second(7).nanosecond(345920678).build());
+		NanoDateTimeFormat format = NanoDateTimeFormat.of(TemporalArithmetics.UTC, "yyyy.MM.dd HH:mm:ss.NNNNNNNNN",
+				false);
+		FieldPosition pos = new FieldPosition(DateFormat.MINUTE_FIELD);
+		StringBuffer sb = format.format(dateTime, new StringBuffer("> "), pos);
+		assertEquals("> 2019.05.21 18:45:07.345920678", sb.toString());
+		assertEquals("45", sb.substring(pos.getBeginIndex(), pos.getEndIndex()));
+	}
+
+	@Test
+	public void parseDateTimeTest3() throws ParseException {
+		NanoDateTimeFormat format = NanoDateTimeFormat.of("Europe/Paris", "EEEE d MMMM yyyy HH:mm:ss.NNNNNNNNN",
+				Locale.FRANCE, false);
+		NanoDateTime dateTime = NanoDateTime.fromDateAndTime(
+				NanoDate.builder().year(2019).month(5).day(21).build(),
+				NanoTime.builder().hour(16).minute(45).second(7).nanosecond(345920678).build());
+		assertEquals(dateTime, format.parseObject("MARDI 21 mai 2019 18:45:07.345920678"));
+		assertEquals(dateTime, format.parseObject(format.format(dateTime)));
+
+		NanoDateTimeFormat zonedFormat = NanoDateTimeFormat.of("Europe/Paris", "yyyy-MM-dd'T'HH:mm:ss.NNNNNNNNNXXX",
+				true);
+		assertEquals(ZonedNanoDateTime.fromNanosecondsSinceEpoch("Europe/Paris", dateTime.getNanosecondsSinceEpoch()),
+				zonedFormat.parseObject("2019-05-21T12:45:07.345920678-04:00"));
+	}
+
+	@Test(expected = ParseException.class)
+	public void parseMismatchTest() throws ParseException {
+		NanoDateTimeFormat.of(TemporalArithmetics.UTC, "yyyy.MM.dd", false).parseObject("2019-05-21");
+	}
+
+	@Test
+	public void tryParseTest() {
+		NanoDateTimeFormat format = NanoDateTimeFormat.of("Europe/London", "yyyy-MM-dd HH:mm:ss.SSS", false);
+		ParseCursor cursor = new ParseCursor();
+		assertEquals(1558460707345000000L, format.tryParse("2019-05-21 18:45:07.345", cursor));
+		assertFalse(cursor.isError());
+		assertEquals(1558460707345000000L, format.tryParse("VOD.L 2019-05-21 18:45:07.345", cursor.reset(6)));
+		assertEquals(29, cursor.getIndex());
+		String[] texts = { "2019-05-21 18:45:07.345 ", "2019-05-21 18:45", "2019-05-21T18:45:07.345", "" };
+		int[] errorIndexes = { 23, 16, 10, 0 };
+		for (int i = 0; i < texts.length; ++i) {
+			assertEquals(texts[i], Long.MIN_VALUE, format.tryParse(texts[i], cursor.reset(0)));
+			assertEquals(texts[i], errorIndexes[i], cursor.getErrorIndex());
+		}
+
+		// The era is not compiled, so that the SimpleDateFormat parses the text
+		NanoDateTimeFormat eraFormat = NanoDateTimeFormat.of(TemporalArithmetics.UTC, "G yyyy.MM.dd", false);
+		assertEquals(1558396800000000000L, eraFormat.tryParse("AD 2019.05.21", cursor.reset(0)));
+		assertEquals(Long.MIN_VALUE, eraFormat.tryParse("AD 2019.05.21.", cursor.reset(0)));
+		assertEquals(13, cursor.getErrorIndex());
+	}
+
+	@Test
+	public void parseLikeSimpleDateFormatTest() throws ParseException {
+		String[] patterns = { "yyyy.MM.dd'T'HH:mm:ss.SSS", "yy-M-d h:m:s.S a", "EEE, d MMM yyyy HH:mm:ss Z",
+				"EEEE d MMMM yyy", "yyyy-MM-dd'T'HH:mm:ss.SSSXXX", "yyyyMMddHHmmssSSS", "D yyyy hh a" };
+		String[] timeZoneIds = { TemporalArithmetics.UTC, "America/New_York", "Asia/Kolkata" };
+		Locale[] locales = { Locale.US, Locale.FRANCE, new Locale("ar", "EG") };
+		Random random = new Random(13L);
+		for (String pattern : patterns) {
+			for (String timeZoneId : timeZoneIds) {
+				for (Locale locale : locales) {
+					NanoDateTimeFormat format = NanoDateTimeFormat.of(timeZoneId, pattern, locale, false);
+					SimpleDateFormat simpleDateFormat = new SimpleDateFormat(pattern, locale);
+					simpleDateFormat.setTimeZone(TimeZone.getTimeZone(timeZoneId));
+					for (int i = 0; i < 100; ++i) {
+						long millis = (long) ((random.nextDouble() - .5) * 4000000000000L);
+						String text = simpleDateFormat.format(new java.util.Date(millis));
+						assertEquals(text, simpleDateFormat.parse(text).getTime(),
+								((NanoDateTime) format.parseObject(text)).getMillisecondsSinceEpoch());
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void parseBlanksAndSignsTest() throws ParseException {
+		// As SimpleDateFormat, an abutting number is read in as many characters as there are digits in the pattern,
+		// counting the blanks before it
+		String pattern = "yyyyMMddHHmmssSSS";
+		SimpleDateFormat simpleDateFormat = new SimpleDateFormat(pattern, Locale.US);
+		simpleDateFormat.setTimeZone(TimeZone.getTimeZone(TemporalArithmetics.UTC));
+		NanoDateTimeFormat format = NanoDateTimeFormat.of(TemporalArithmetics.UTC, pattern, false);
+		for (String text : new String[] { "2093111519 951975", "2093111519 95197", "2093 1 5 9 9 51975" }) {
+			assertEquals(text, simpleDateFormat.parse(text).getTime(),
+					((NanoDateTime) format.parseObject(text)).getMillisecondsSinceEpoch());
+		}
+		ParseCursor cursor = new ParseCursor();
+		assertEquals(Long.MIN_VALUE, format.tryParse("20931115199519", cursor));
+		assertEquals(14, cursor.getErrorIndex());
+
+		// Unlike SimpleDateFormat, the numbers are unsigned
+		NanoDateTimeFormat signedFormat = NanoDateTimeFormat.of(TemporalArithmetics.UTC, "yyyy.MM.dd'T'HH:mm:ss.SSS",
+				false);
+		assertEquals(Long.MIN_VALUE, signedFormat.tryParse("2017.12.-4T06:49:37.583", cursor.reset(0)));
+		assertEquals(8, cursor.getErrorIndex());
+		assertEquals(Long.MIN_VALUE, signedFormat.tryParse("2017.+1.04T06:49:37.583", cursor.reset(0)));
+		assertEquals(5, cursor.getErrorIndex());
+	}
+
+	@Test
+	public void registryTest() {
+		NanoDateTimeFormat format = NanoDateTimeFormat.of("Asia/Tokyo", "yyyy.MM.dd", false);
+		assertSame(format, NanoDateTimeFormat.of("Asia/Tokyo", "yyyy.MM.dd", false));
+		assertNotSame(format, NanoDateTimeFormat.of("Asia/Tokyo", "yyyy.MM.dd", true));
+		assertNotSame(format, NanoDateTimeFormat.of("Asia/Tokyo", "yyyy.MM.dd", Locale.JAPAN, false));
+	}
+
+	@Test
+	public void concurrentTest() throws Exception {
+		// The era is not compiled, so that one of the formats goes through SimpleDateFormat
+		final NanoDateTimeFormat[] formats = {
+				NanoDateTimeFormat.of("America/New_York", "yyyy.MM.dd'T'HH:mm:ss.NNNNNNNNN", false),
+				NanoDateTimeFormat.of("America/New_York", "G yyyy.MM.dd'T'HH:mm:ss.SSS", false) };
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Future<?>[] futures = new Future<?>[8];
+			for (int i = 0; i < futures.length; ++i) {
+				final long seed = i;
+				futures[i] = executor.submit(new Callable<Void>() {
+					@Override public Void call() throws ParseException {
+						Random random = new Random(seed);
+						for (int j = 0; j < 2000; ++j) {
+							NanoDateTimeFormat format = formats[j % formats.length];
+							// The texts are compared, as the local times repeated in the autumn are parsed as the later
+							String text = format.format(NanoDateTime.fromMillisecondsSinceEpoch(
+									(long) (random.nextDouble() * 4000000000000L)));
+							assertEquals(text, format.format(format.parseObject(text)));
+						}
+						return null;
+					}
+				});
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void formatToBytesTest() throws IOException {
+		NanoDateTime dateTime = NanoDateTime.fromDateAndTime(
+				NanoDate.builder().year(2019).month(5).day(21).build(),
+				NanoTime.builder().hour(18).minute(45).second(7).nanosecond(345920678).build());
+		NanoDateTimeFormat[] formats = { NanoDateTimeFormat.of("Europe/London", "yyyyMMdd HH:mm:ss.CCCCCC XX", false),
+				NanoDateTimeFormat.of("Europe/London", "G yyyy.MM.dd", false),
+				NanoDateTimeFormat.of("Europe/Paris", "d MMM yyyy", Locale.FRANCE, false) };
+		String[] expected = { "20190521 19:45:07.345920 +0100", "AD 2019.05.21", "21 mai 2019" };
+		for (int i = 0; i < formats.length; ++i) {
+			byte[] bytes = new byte[expected[i].length() + 2];
+			assertEquals(expected[i].length(), formats[i].format(dateTime, bytes, 2));
+			assertArrayEquals(("\0\0" + expected[i]).getBytes(StandardCharsets.US_ASCII), bytes);
+
+			ByteBuffer buffer = ByteBuffer.allocate(64);
+			buffer.put((byte) '>');
+			assertEquals(expected[i].length(), formats[i].format(dateTime, buffer));
+			assertEquals(expected[i].length() + 1, buffer.position());
+
+			StringBuilder sb = new StringBuilder("> ");
+			assertEquals(expected[i].length(), formats[i].format(dateTime, sb));
+			assertEquals("> " + expected[i], sb.toString());
+		}
+		assertEquals("f?vr. 2019", new String(formatToArray(
+				NanoDateTimeFormat.of("Europe/Paris", "MMM yyyy", Locale.FRANCE, false),
+				NanoDate.builder().year(2019).month(2).day(1).build()), StandardCharsets.US_ASCII));
+	}
+
+	@Test
+	public void formatToNestedAppendableTest() throws IOException {
+		final NanoDateTimeFormat format = NanoDateTimeFormat.of(TemporalArithmetics.UTC, "yyyy.MM.dd", false);
+		final NanoDate date = NanoDate.builder().year(2019).month(5).day(21).build();
+		final StringBuilder inner = new StringBuilder();
+		// Formats the same date, on the same thread, for each char appended
+		Appendable outer = new Appendable() {
+			private final StringBuilder sb = new StringBuilder();
+
+			@Override public Appendable append(CharSequence csq) {
+				return append(csq, 0, csq.length());
+			}
+
+			@Override public Appendable append(CharSequence csq, int start, int end) {
+				sb.append(csq, start, end);
+				return this;
+			}
+
+			@Override public Appendable append(char c) throws IOException {
+				sb.append(c);
+				format.format(TemporalArithmetics.plusDays(date, 1), inner);
+				inner.append(' ');
+				return this;
+			}
+
+			@Override public String toString() {
+				return sb.toString();
+			}
+		};
+		assertEquals(10, format.format(date, outer));
+		assertEquals("2019.05.21", outer.toString());
+		assertEquals(Strings.repeat("2019.05.22 ", 10), inner.toString());
+	}
+
+	private static byte[] formatToArray(NanoDateTimeFormat format, Object obj) {
+		byte[] bytes = new byte[16];
+		return Arrays.copyOf(bytes, format.format(obj, bytes, 0));
+	}
+
+	@Test(expected = BufferOverflowException.class)
+	public void formatToBufferOverflowTest() {
+		NanoDateTimeFormat.of(TemporalArithmetics.UTC, "yyyy.MM.dd", false).format(
+				NanoDate.builder().year(2019).month(5).day(21).build(), ByteBuffer.allocate(9));
+	}
+
+	@Test
+	public void parseFromBytesTest() {
+		NanoDateTimeFormat format = NanoDateTimeFormat.of(TemporalArithmetics.UTC, DEFAULT_DATETIME_PATTERN, false);
+		long expected = NanoDateTime.fromDateAndTime(
+				NanoDate.builder().year(2019).month(5).day(21).build(),
+				NanoTime.builder().hour(18).minute(45).second(7).nanosecond(345920678).build())
+				.getNanosecondsSinceEpoch();
+		String line = "EURUSD,2019.05.21T18:45:07.345920678,1.1162";
+		byte[] bytes = line.getBytes(StandardCharsets.US_ASCII);
+		ParseCursor cursor = new ParseCursor();
+		assertEquals(expected, format.parseNanosecondsSinceEpoch(bytes, 7, 29, cursor));
+		assertEquals(36, cursor.getIndex());
+		assertEquals(Long.MIN_VALUE, format.parseNanosecondsSinceEpoch(bytes, 7, 20, cursor));
+		assertEquals(27, cursor.getErrorIndex());
+
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		buffer.position(7);
+		assertEquals(expected, format.parseNanosecondsSinceEpoch(buffer, cursor));
+		assertEquals(36, buffer.position());
+		assertFalse(cursor.isError());
+
+		cursor.reset(7);
+		assertEquals(expected, format.parseNanosecondsSinceEpoch(new StringBuilder(line), cursor));
+		assertEquals(36, cursor.getIndex());
+
+		// The era is not compiled, so the SimpleDateFormat parses the bytes, down to the milliseconds
+		NanoDateTimeFormat eraFormat = NanoDateTimeFormat.of(TemporalArithmetics.UTC, "G yyyy.MM.dd HH:mm:ss.SSS",
+				false);
+		byte[] eraBytes = "; AD 2019.05.21 18:45:07.345".getBytes(StandardCharsets.US_ASCII);
+		assertEquals(expected - 920678L, eraFormat.parseNanosecondsSinceEpoch(eraBytes, 2, eraBytes.length - 2, cursor));
+		assertEquals(eraBytes.length, cursor.getIndex());
+		byte[] badEraBytes = "; AD 2019.05.21 18:45".getBytes(StandardCharsets.US_ASCII);
+		assertEquals(Long.MIN_VALUE, eraFormat.parseNanosecondsSinceEpoch(badEraBytes, 2, badEraBytes.length - 2,
+				cursor));
+		assertEquals(badEraBytes.length, cursor.getErrorIndex());
+		ByteBuffer eraBuffer = ByteBuffer.wrap(eraBytes);
+		eraBuffer.position(2);
+		assertEquals(expected - 920678L, eraFormat.parseNanosecondsSinceEpoch(eraBuffer, cursor));
+		assertEquals(eraBytes.length, eraBuffer.position());
+	}
 }
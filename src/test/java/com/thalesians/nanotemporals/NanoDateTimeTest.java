@@ -5,6 +5,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.text.ParseException;
+import java.util.Random;
 
 import org.junit.Test;
 
@@ -50,4 +51,60 @@ public class NanoDateTimeTest {
 		NanoDateTime actual = NanoDateTime.parse("2018.01.31T16:54:03.357");
 		assertEquals(expected, actual);
 	}
+	
+	@Test
+	public void tryParseTest() {
+		ParseCursor cursor = new ParseCursor();
+		assertEquals(1517417643357000000L, NanoDateTime.tryParse("2018.01.31T16:54:03.357", cursor));
+		assertFalse(cursor.isError());
+		assertEquals(23, cursor.getIndex());
+		assertEquals(Long.MIN_VALUE, NanoDateTime.tryParse("2018.01.31T16:54:03.357;", cursor.reset(0)));
+		assertEquals(23, cursor.getErrorIndex());
+		assertEquals(Long.MIN_VALUE, NanoDateTime.tryParse("2018.01.31 16:54:03.357", cursor.reset(0)));
+		assertEquals(10, cursor.getErrorIndex());
+		assertEquals(Long.MIN_VALUE, NanoDateTime.tryParse("1899.12.31T23:59:59.999", cursor.reset(0)));
+		assertEquals(0, cursor.getErrorIndex());
+		// Beyond the range of epoch nanoseconds, rather than wrapping around into it
+		assertEquals(Long.MIN_VALUE, NanoDateTime.tryParse("2628.01.29T17:55:45.303", cursor.reset(0)));
+		assertEquals(0, cursor.getErrorIndex());
+		assertEquals(Long.MIN_VALUE, NanoDateTime.tryParse("1035.10.12T18:42:23.72", cursor.reset(0)));
+		assertEquals(0, cursor.getErrorIndex());
+		assertEquals(Long.MIN_VALUE, NanoDateTime.tryParse("2262.04.11T23:47:16.854775808", cursor.reset(0)));
+		assertEquals(0, cursor.getErrorIndex());
+		assertEquals(Long.MIN_VALUE, NanoDateTime.tryParse(TemporalArithmetics.UTC, "> 31/1/2628", "d/M/yyyy",
+				cursor.reset(2)));
+		assertEquals(2, cursor.getErrorIndex());
+		assertEquals(Long.MIN_VALUE, NanoDateTime.tryParse("Asia/Tokyo", "AD 2628.01.29", "G yyyy.MM.dd",
+				cursor.reset(0)));
+		assertEquals(0, cursor.getErrorIndex());
+		assertEquals(1517356800000000000L,
+				NanoDateTime.tryParse(TemporalArithmetics.UTC, "> 31/1/2018", "d/M/yyyy", cursor.reset(2)));
+	}
+	
+	@Test
+	public void toStringTest() {
+		assertEquals("2018.01.31T16:54:03.357000001", NanoDateTime.fromNanosecondsSinceEpoch(1517417643357000001L).toString());
+		assertEquals("1969.12.31T23:59:59.999999999", NanoDateTime.fromNanosecondsSinceEpoch(-1L).toString());
+		assertEquals("1900.01.01T00:00:00.000000000", NanoDateTime.MIN.toString());
+		assertEquals("2262.04.11T23:47:16.854775807", NanoDateTime.MAX.toString());
+		assertEquals("2018.01.31", NanoDate.fromNanosecondsSinceEpoch(1517417643357000001L).toString());
+		
+		// The date is that of midnight UTC in the given time zone, and the time that of UTC
+		String[] timeZoneIds = { TemporalArithmetics.UTC, "Europe/London", "America/New_York", "Asia/Tokyo" };
+		Random random = new Random(3L);
+		NanoDateTimeFields fields = new NanoDateTimeFields();
+		for (int i = 0; i < 10000; ++i) {
+			long nanos = (long) (random.nextDouble() * 4000000000000000000L);
+			String timeZoneId = timeZoneIds[random.nextInt(timeZoneIds.length)];
+			NanoDateTime dateTime = NanoDateTime.fromNanosecondsSinceEpoch(nanos);
+			TemporalArithmetics.decompose(timeZoneId, dateTime.getDate(), fields);
+			NanoTime time = dateTime.getTime();
+			String expected = String.format("%04d.%02d.%02dT%02d:%02d:%02d.%09d",
+					fields.getYear(), fields.getMonth(), fields.getDayOfMonth(),
+					time.getHour(), time.getMinute(), time.getSecond(), time.getNanosecond());
+			assertEquals(expected, dateTime.toString(timeZoneId));
+			assertEquals(expected.substring(0, 10), dateTime.getDate().toString(timeZoneId));
+			assertEquals(expected, ZonedNanoDateTime.fromDateTime(timeZoneId, dateTime).toString());
+		}
+	}
 }
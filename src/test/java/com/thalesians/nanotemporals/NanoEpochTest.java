@@ -0,0 +1,155 @@
+package com.thalesians.nanotemporals;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+public class NanoEpochTest {
+
+	private static final NanoDateTime DATETIME = NanoDateTime.fromDateAndTime(
+			NanoDate.builder().year(2018).month(1).day(31).build(),
+			NanoTime.builder().hour(16).minute(54).second(3).nanosecond(357123456).build());
+
+	@Test
+	public void dateTimeTest() {
+		long nanos = DATETIME.getNanosecondsSinceEpoch();
+
+		assertEquals(TemporalArithmetics.plusDays(DATETIME, 45).getNanosecondsSinceEpoch(),
+				NanoEpoch.plusDays(nanos, 45));
+		assertEquals(TemporalArithmetics.minusDays(DATETIME, 45).getNanosecondsSinceEpoch(),
+				NanoEpoch.minusDays(nanos, 45));
+		assertEquals(TemporalArithmetics.plusMonths(DATETIME, 1).getNanosecondsSinceEpoch(),
+				NanoEpoch.plusMonths(nanos, 1));
+		assertEquals(TemporalArithmetics.minusMonths(DATETIME, 14).getNanosecondsSinceEpoch(),
+				NanoEpoch.minusMonths(nanos, 14));
+		assertEquals(TemporalArithmetics.plusYears(DATETIME, 2).getNanosecondsSinceEpoch(),
+				NanoEpoch.plusYears(nanos, 2));
+		assertEquals(TemporalArithmetics.plusSeconds(DATETIME, 357).getNanosecondsSinceEpoch(),
+				NanoEpoch.plusSeconds(nanos, 357));
+		assertEquals(TemporalArithmetics.minusMilliseconds(DATETIME, 357).getNanosecondsSinceEpoch(),
+				NanoEpoch.minusMilliseconds(nanos, 357));
+		assertEquals(TemporalArithmetics.plusMicroseconds(DATETIME, 357).getNanosecondsSinceEpoch(),
+				NanoEpoch.plusMicroseconds(nanos, 357));
+		assertEquals(TemporalArithmetics.minusNanoseconds(DATETIME, 357).getNanosecondsSinceEpoch(),
+				NanoEpoch.minusNanoseconds(nanos, 357));
+		assertEquals(TemporalArithmetics.plusCalendarUnit(DATETIME, Calendar.WEEK_OF_YEAR, 3)
+				.getNanosecondsSinceEpoch(), NanoEpoch.plusCalendarUnit(nanos, Calendar.WEEK_OF_YEAR, 3));
+		assertEquals(TemporalArithmetics.plusTemporalUnit(DATETIME, TemporalUnit.HOUR, -30)
+				.getNanosecondsSinceEpoch(), NanoEpoch.plusTemporalUnit(nanos, TemporalUnit.HOUR, -30));
+
+		assertEquals(DATETIME.getDate().getNanosecondsSinceEpoch(), NanoEpoch.toDate(nanos));
+		assertEquals(DATETIME.getTime().getNanosecondsSinceMidnight(), NanoEpoch.toTime(nanos));
+	}
+
+	@Test
+	public void zonedDateTimeTest() {
+		String timeZoneId = "America/New_York";
+		ZonedNanoDateTime dateTime = ZonedNanoDateTime.fromDateTime(timeZoneId, DATETIME);
+		long nanos = dateTime.getNanosecondsSinceEpoch();
+
+		assertEquals(TemporalArithmetics.plusDays(dateTime, 60).getNanosecondsSinceEpoch(),
+				NanoEpoch.plusDays(timeZoneId, nanos, 60));
+		assertEquals(TemporalArithmetics.plusMonths(dateTime, 3).getNanosecondsSinceEpoch(),
+				NanoEpoch.plusMonths(timeZoneId, nanos, 3));
+		assertEquals(TemporalArithmetics.minusYears(dateTime, 1).getNanosecondsSinceEpoch(),
+				NanoEpoch.minusYears(timeZoneId, nanos, 1));
+	}
+
+	@Test
+	public void dateTest() {
+		NanoDate date = NanoDate.builder().year(2019).month(1).day(31).build();
+		long nanos = date.getNanosecondsSinceEpoch();
+
+		assertEquals(nanos, NanoEpoch.yearMonthDayToDate(2019, 1, 31));
+		assertEquals(2019, NanoEpoch.getYear(nanos));
+		assertEquals(1, NanoEpoch.getMonth(nanos));
+		assertEquals(31, NanoEpoch.getDayOfMonth(nanos));
+		assertEquals(Calendar.THURSDAY, NanoEpoch.getDayOfWeek(nanos));
+
+		assertEquals(TemporalArithmetics.plusMonths(date, 1).getNanosecondsSinceEpoch(),
+				NanoEpoch.datePlusMonths(nanos, 1));
+		assertEquals(NanoEpoch.yearMonthDayToDate(2019, 2, 28), NanoEpoch.datePlusMonths(nanos, 1));
+		assertEquals(TemporalArithmetics.minusDays(date, 31).getNanosecondsSinceEpoch(),
+				NanoEpoch.dateMinusDays(nanos, 31));
+		assertEquals(TemporalArithmetics.minusDays(TemporalArithmetics.UTC, date, 31).getNanosecondsSinceEpoch(),
+				NanoEpoch.dateMinusDays(TemporalArithmetics.UTC, nanos, 31));
+		assertEquals(TemporalArithmetics.plusYears(date, 1).getNanosecondsSinceEpoch(),
+				NanoEpoch.datePlusYears(nanos, 1));
+	}
+
+	@Test
+	public void timeTest() {
+		NanoTime time = NanoTime.builder().hour(21).minute(32).second(49).millisecond(195).build();
+		long nanos = time.getNanosecondsSinceMidnight();
+
+		assertEquals(TemporalArithmetics.minusSeconds(time, 357L).getNanosecondsSinceMidnight(),
+				NanoEpoch.timeMinusSeconds(nanos, 357L));
+		assertEquals(TemporalArithmetics.plusMicroseconds(time, 357753L).getNanosecondsSinceMidnight(),
+				NanoEpoch.timePlusMicroseconds(nanos, 357753L));
+		assertEquals(TemporalArithmetics.plusCalendarUnit(time, Calendar.MINUTE, 5L).getNanosecondsSinceMidnight(),
+				NanoEpoch.timePlusCalendarUnit(nanos, Calendar.MINUTE, 5L));
+	}
+
+	@Test
+	public void durationTest() {
+		NanoDateTime later = TemporalArithmetics.plusDuration(DATETIME, NanoTimeDelta.fromSeconds(10));
+		assertEquals(NanoEpoch.plusSeconds(DATETIME.getNanosecondsSinceEpoch(), 10), later.getNanosecondsSinceEpoch());
+		assertEquals(TemporalUnit.SECOND.getWholeNanoseconds() * 10,
+				NanoEpoch.difference(DATETIME.getNanosecondsSinceEpoch(), later.getNanosecondsSinceEpoch()));
+
+		NanoTimeDelta second = NanoTimeDelta.fromSeconds(1);
+		assertEquals(NanoEpoch.minusSeconds(DATETIME.getNanosecondsSinceEpoch(), 1),
+				TemporalArithmetics.minusDuration(DATETIME, second).getNanosecondsSinceEpoch());
+		assertEquals(NanoDateTime.MAX, TemporalArithmetics.plusDuration(DATETIME, NanoTimeDelta.MAX));
+		assertEquals(NanoDateTime.MIN, TemporalArithmetics.plusDuration(DATETIME, NanoTimeDelta.MIN));
+		assertEquals(NanoDateTime.MIN, TemporalArithmetics.minusDuration(DATETIME, NanoTimeDelta.MAX));
+		assertEquals(NanoDateTime.MAX, TemporalArithmetics.minusDuration(DATETIME, NanoTimeDelta.MIN));
+		assertEquals(NanoDateTime.MAX.getNanosecondsSinceEpoch(),
+				NanoEpoch.plusDuration(DATETIME.getNanosecondsSinceEpoch(), Long.MAX_VALUE));
+		assertEquals(NanoDateTime.MIN.getNanosecondsSinceEpoch(),
+				NanoEpoch.minusDuration(DATETIME.getNanosecondsSinceEpoch(), Long.MAX_VALUE));
+
+		ZonedNanoDateTime zoned = ZonedNanoDateTime.fromNanosecondsSinceEpoch("Europe/London",
+				DATETIME.getNanosecondsSinceEpoch());
+		ZonedNanoDateTime zonedLater = TemporalArithmetics.plusDuration(zoned, second);
+		assertEquals("Europe/London", zonedLater.getTimeZoneId());
+		assertEquals(NanoEpoch.plusSeconds(zoned.getNanosecondsSinceEpoch(), 1), zonedLater.getNanosecondsSinceEpoch());
+		assertEquals(zoned, TemporalArithmetics.minusDuration(zonedLater, second));
+		assertEquals(NanoDateTime.MAX.getNanosecondsSinceEpoch(),
+				TemporalArithmetics.plusDuration(zoned, NanoTimeDelta.MAX).getNanosecondsSinceEpoch());
+		assertEquals(NanoDateTime.MIN.getNanosecondsSinceEpoch(),
+				TemporalArithmetics.minusDuration(zoned, NanoTimeDelta.MAX).getNanosecondsSinceEpoch());
+	}
+
+	@Test
+	public void monthsAgreeWithCalendarTest() {
+		Random random = new Random(7L);
+		long start = NanoEpoch.yearMonthDayToDate(1950, 1, 1);
+		long range = NanoEpoch.yearMonthDayToDate(2037, 1, 1) - start;
+		for (String timeZoneId : new String[] { TemporalArithmetics.UTC, "America/New_York", "Australia/Lord_Howe" }) {
+			Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone(timeZoneId));
+			calendar.setLenient(false);
+			for (int i = 0; i < 20000; ++i) {
+				long nanos = start + (long) (random.nextDouble() * range);
+				int calendarUnit = random.nextBoolean() ? Calendar.MONTH : Calendar.YEAR;
+				int quantity = random.nextInt(61) - 30;
+				calendar.setTimeInMillis(nanos / TemporalUnit.MILLISECOND.getWholeNanoseconds());
+				calendar.add(calendarUnit, quantity);
+				assertEquals(calendar.getTimeInMillis() * TemporalUnit.MILLISECOND.getWholeNanoseconds()
+						+ nanos % TemporalUnit.MILLISECOND.getWholeNanoseconds(),
+						NanoEpoch.plusCalendarUnit(timeZoneId, nanos, calendarUnit, quantity));
+			}
+		}
+		// Clamped to the end of the month, with the time of day kept to the nanosecond
+		long endOfJanuary = NanoEpoch.yearMonthDayToDate(2020, 1, 31) + 123456789L;
+		assertEquals(NanoEpoch.yearMonthDayToDate(2020, 2, 29) + 123456789L, NanoEpoch.plusMonths(endOfJanuary, 1));
+		assertEquals(NanoEpoch.yearMonthDayToDate(2021, 2, 28) + 123456789L, NanoEpoch.plusMonths(endOfJanuary, 13));
+		assertEquals(NanoEpoch.yearMonthDayToDate(2019, 2, 28) + 123456789L,
+				NanoEpoch.minusYears(NanoEpoch.yearMonthDayToDate(2020, 2, 29) + 123456789L, 1));
+	}
+}
@@ -0,0 +1,89 @@
+package com.thalesians.nanotemporals;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.text.ParseException;
+
+import org.junit.Test;
+
+public class NanoTimeDeltaTest {
+
+	@Test
+	public void parseTest() throws ParseException {
+		assertEquals(NanoTimeDelta.fromSeconds(5400L), NanoTimeDelta.parse("1h30m"));
+		assertEquals(NanoTimeDelta.fromSeconds(1800L), NanoTimeDelta.parse("1H-30MIN"));
+		assertEquals(NanoTimeDelta.fromNanoseconds(2001003L), NanoTimeDelta.parse("2ms1us3ns"));
+		assertEquals(NanoTimeDelta.fromNanoseconds(8000000005L), NanoTimeDelta.parse("5nanoseconds8seconds"));
+		assertEquals(NanoTimeDelta.create(TemporalUnit.DAY, 3L), NanoTimeDelta.parse("3days"));
+		try {
+			NanoTimeDelta.parse("1h30");
+			fail();
+		} catch (ParseException e) {
+			assertEquals(4, e.getErrorOffset());
+		}
+	}
+
+	@Test
+	public void tryParseTest() {
+		ParseCursor cursor = new ParseCursor();
+		assertEquals(-90000000000L, NanoTimeDelta.tryParse("-90s", cursor));
+		assertFalse(cursor.isError());
+		assertEquals(4, cursor.getIndex());
+		assertEquals(60000000000L, NanoTimeDelta.tryParse("every 1min", cursor.reset(6)));
+		assertEquals(10, cursor.getIndex());
+
+		assertEquals(2147483648000000000L, NanoTimeDelta.tryParse("2147483648s", cursor.reset(0)));
+		assertEquals(Long.MIN_VALUE, NanoTimeDelta.tryParse("-9223372036854775808ns", cursor.reset(0)));
+		assertFalse(cursor.isError());
+		assertEquals(Long.MAX_VALUE, NanoTimeDelta.tryParse("9223372036854775806ns1ns", cursor.reset(0)));
+
+		String[] texts = { "", "h", "1", "1hour2", "1x", "1mins", "1mi", "1h 30m", "1h-m", "1.5s",
+				"9223372036854775808ns", "-9223372036854775809ns", "106752d", "9223372036854775807ns1ns",
+				"-1ns-9223372036854775808ns" };
+		int[] errorIndexes = { 0, 0, 1, 6, 1, 1, 1, 2, 3, 1, 0, 1, 0, 21, 5 };
+		for (int i = 0; i < texts.length; ++i) {
+			assertEquals(texts[i], Long.MIN_VALUE, NanoTimeDelta.tryParse(texts[i], cursor.reset(0)));
+			assertEquals(texts[i], errorIndexes[i], cursor.getErrorIndex());
+		}
+	}
+
+	@Test
+	public void toCompactStringTest() throws ParseException {
+		assertEquals("1h30m", NanoTimeDelta.fromSeconds(5400L).toCompactString());
+		assertEquals("-1h-30m", NanoTimeDelta.fromSeconds(-5400L).toCompactString());
+		assertEquals("0s", NanoTimeDelta.ZERO.toCompactString());
+		assertEquals("2d3s4ms5us6ns", NanoTimeDelta.fromNanoseconds(172803004005006L).toCompactString());
+		assertEquals("106751d23h47m16s854ms775us807ns", NanoTimeDelta.MAX.toCompactString());
+		long[] nanoseconds = { 0L, 1L, -1L, 999999999L, 86400000000000L, Long.MAX_VALUE, Long.MIN_VALUE,
+				Long.MIN_VALUE + 1L };
+		for (long n : nanoseconds) {
+			NanoTimeDelta delta = NanoTimeDelta.fromNanoseconds(n);
+			assertEquals(delta.toCompactString(), delta, NanoTimeDelta.parse(delta.toCompactString()));
+		}
+	}
+
+	@Test
+	public void parseCacheTest() throws ParseException {
+		boolean enabled = NanoTimeDelta.isParseCacheEnabled();
+		try {
+			NanoTimeDelta.setParseCacheEnabled(true);
+			NanoTimeDelta delta = NanoTimeDelta.parse("15min");
+			assertSame(delta, NanoTimeDelta.parse(new String("15min")));
+			assertEquals(NanoTimeDelta.fromSeconds(900L), delta);
+			try {
+				NanoTimeDelta.parse("15mn");
+				fail();
+			} catch (ParseException e) {
+				assertEquals(2, e.getErrorOffset());
+			}
+			NanoTimeDelta.setParseCacheEnabled(false);
+			assertNotSame(delta, NanoTimeDelta.parse("15min"));
+		} finally {
+			NanoTimeDelta.setParseCacheEnabled(enabled);
+		}
+	}
+}
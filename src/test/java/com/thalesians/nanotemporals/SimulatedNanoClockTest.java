@@ -0,0 +1,89 @@
+package com.thalesians.nanotemporals;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class SimulatedNanoClockTest {
+
+	private static final long START = 1558464307000000000L;
+	private static final long SECOND = TemporalUnit.SECOND.getWholeNanoseconds();
+
+	@Test
+	public void timersTest() {
+		final SimulatedNanoClock clock = new SimulatedNanoClock(START);
+		final List<String> fired = new ArrayList<>();
+		clock.schedule(START + 3 * SECOND, new Runnable() {
+			@Override public void run() {
+				fired.add("c@" + (clock.nowNanos() - START) / SECOND);
+			}
+		});
+		clock.schedule(START + SECOND, new Runnable() {
+			@Override public void run() {
+				fired.add("a@" + (clock.nowNanos() - START) / SECOND);
+				// Due within the same advance
+				clock.schedule(NanoTimeDelta.fromSeconds(1L), new Runnable() {
+					@Override public void run() {
+						fired.add("d@" + (clock.nowNanos() - START) / SECOND);
+					}
+				});
+			}
+		});
+		clock.schedule(START + SECOND, new Runnable() {
+			@Override public void run() {
+				fired.add("b@" + (clock.nowNanos() - START) / SECOND);
+			}
+		});
+		SimulatedNanoClock.Timer cancelled = clock.schedule(NanoDateTime.fromNanosecondsSinceEpoch(START + 2 * SECOND),
+				new Runnable() {
+					@Override public void run() {
+						fired.add("x");
+					}
+				});
+		assertEquals(4, clock.getPendingTimerCount());
+		assertTrue(cancelled.cancel());
+		assertFalse(cancelled.cancel());
+
+		clock.advanceBy(NanoTimeDelta.fromMilliseconds(500L));
+		assertTrue(fired.isEmpty());
+		assertEquals(START + SECOND / 2, clock.nowNanos());
+		clock.advanceTo(START + 10 * SECOND);
+		assertEquals("[a@1, b@1, d@2, c@3]", fired.toString());
+		assertEquals(NanoDateTime.fromNanosecondsSinceEpoch(START + 10 * SECOND), clock.now());
+		assertEquals(0, clock.getPendingTimerCount());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void backwardsTest() {
+		new SimulatedNanoClock(START).advanceTo(START - 1L);
+	}
+
+	@Test
+	public void replayTest() {
+		SimulatedNanoClock clock = new SimulatedNanoClock(NanoDateTime.fromNanosecondsSinceEpoch(START));
+		TodayDateRule rule = new TodayDateRule(clock);
+		HybridLogicalClock eventClock = new HybridLogicalClock(clock);
+		final int[] days = new int[1];
+		final NanoDate[] lastDate = { rule.getDate() };
+		long previous = Long.MIN_VALUE;
+		// A year of ticks, every 10 seconds
+		for (long nanos = START; nanos < START + 365L * 86400L * SECOND; nanos += 10L * SECOND) {
+			clock.advanceTo(nanos);
+			NanoDate date = rule.getDate();
+			if (!date.equals(lastDate[0])) {
+				++days[0];
+				lastDate[0] = date;
+			}
+			long stamp = eventClock.nowNanos();
+			assertTrue(stamp > previous);
+			previous = stamp;
+		}
+		assertEquals(365, days[0]);
+		assertEquals(0L, eventClock.getLogicalTimestampCount());
+	}
+}
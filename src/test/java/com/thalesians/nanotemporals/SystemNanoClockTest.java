@@ -0,0 +1,83 @@
+package com.thalesians.nanotemporals;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Instant;
+
+import org.junit.Test;
+
+import com.google.common.base.Ticker;
+
+public class SystemNanoClockTest {
+
+	private static final long SECOND = TemporalUnit.SECOND.getWholeNanoseconds();
+	private static final long MILLISECOND = TemporalUnit.MILLISECOND.getWholeNanoseconds();
+
+	private static final class FakeTicker extends Ticker {
+		long nanos;
+
+		FakeTicker(long nanos) {
+			this.nanos = nanos;
+		}
+
+		@Override public long read() {
+			return nanos;
+		}
+	}
+
+	@Test
+	public void systemTest() {
+		NanoClock clock = NanoClock.system();
+		Instant instant = Instant.now();
+		long wall = instant.getEpochSecond() * SECOND + instant.getNano();
+		long nanos = clock.nowNanos();
+		assertTrue(Math.abs(nanos - wall) < 50 * MILLISECOND);
+		long previous = nanos;
+		for (int i = 0; i < 100000; ++i) {
+			long next = clock.nowNanos();
+			assertTrue(next >= previous);
+			previous = next;
+		}
+		NanoDateTime now = NanoDateTime.now();
+		assertTrue(now.getNanosecondsSinceEpoch() >= previous);
+		ZonedNanoDateTime zonedNow = ZonedNanoDateTime.now("Europe/London");
+		assertEquals("Europe/London", zonedNow.getTimeZoneId());
+		assertTrue(zonedNow.getNanosecondsSinceEpoch() >= now.getNanosecondsSinceEpoch());
+	}
+
+	@Test
+	public void recalibrationTest() {
+		long start = 1558464307000000000L;
+		FakeTicker monotonic = new FakeTicker(-5L * SECOND);
+		FakeTicker wall = new FakeTicker(start);
+		SystemNanoClock clock = new SystemNanoClock(NanoTimeDelta.fromSeconds(1L), monotonic, wall);
+		assertEquals(start, clock.nowNanos());
+		monotonic.nanos += 300 * MILLISECOND;
+		wall.nanos += 310 * MILLISECOND;
+		assertEquals(start + 300 * MILLISECOND, clock.nowNanos());
+
+		// The wall clock, found ahead at the recalibration, is followed from the end of the previous period
+		monotonic.nanos += 900 * MILLISECOND;
+		wall.nanos += 900 * MILLISECOND;
+		assertEquals(start + 1210 * MILLISECOND, clock.nowNanos());
+		assertEquals(start + 1210 * MILLISECOND, clock.now().getNanosecondsSinceEpoch());
+
+		// The wall clock steps back: the clock slows down so as to meet it in a period
+		monotonic.nanos += SECOND;
+		wall.nanos += 800 * MILLISECOND;
+		long previous = clock.nowNanos();
+		assertEquals(start + 2210 * MILLISECOND, previous);
+		for (int i = 0; i < 1000; ++i) {
+			monotonic.nanos += MILLISECOND;
+			wall.nanos += MILLISECOND;
+			long nanos = clock.nowNanos();
+			assertTrue(nanos >= previous);
+			previous = nanos;
+		}
+		assertEquals(wall.nanos, previous, MILLISECOND);
+		monotonic.nanos += SECOND;
+		wall.nanos += SECOND;
+		assertEquals(wall.nanos, clock.nowNanos());
+	}
+}
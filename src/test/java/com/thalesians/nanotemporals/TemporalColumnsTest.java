@@ -0,0 +1,78 @@
+package com.thalesians.nanotemporals;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class TemporalColumnsTest {
+
+	private static final String TIME_ZONE_ID = "America/New_York";
+
+	private static long[] randomColumn(int length) {
+		Random random = new Random(42L);
+		long start = NanoEpoch.yearMonthDayToDate(1990, 1, 1);
+		long range = NanoEpoch.yearMonthDayToDate(2040, 1, 1) - start;
+		long[] column = new long[length];
+		for (int i = 0; i < length; ++i) {
+			column[i] = start + (long) (random.nextDouble() * range);
+		}
+		return column;
+	}
+
+	@Test
+	public void plusTest() {
+		long[] src = randomColumn(20000);
+		long[] dest = new long[src.length + 2];
+
+		TemporalColumns.parallelPlusMonths(TIME_ZONE_ID, src, 0, dest, 2, src.length, 7);
+		for (int i = 0; i < src.length; ++i) {
+			assertEquals(NanoEpoch.plusMonths(TIME_ZONE_ID, src[i], 7), dest[i + 2]);
+		}
+
+		TemporalColumns.plusDays(TIME_ZONE_ID, src, 0, dest, 0, src.length, -45);
+		for (int i = 0; i < src.length; ++i) {
+			assertEquals(NanoEpoch.plusDays(TIME_ZONE_ID, src[i], -45), dest[i]);
+		}
+
+		long[] column = src.clone();
+		TemporalColumns.plusYears(column, 3);
+		for (int i = 0; i < src.length; ++i) {
+			assertEquals(NanoEpoch.plusYears(src[i], 3), column[i]);
+		}
+
+		TemporalColumns.parallelPlusNanoseconds(column, 0, column, 0, column.length, -1L);
+		for (int i = 0; i < src.length; ++i) {
+			assertEquals(NanoEpoch.plusYears(src[i], 3) - 1L, column[i]);
+		}
+	}
+
+	@Test
+	public void fieldsTest() {
+		long[] src = randomColumn(10000);
+		int[] dayOfWeek = new int[src.length];
+		int[] month = new int[src.length];
+		TemporalColumns.parallelGetDayOfWeek(TIME_ZONE_ID, src, 0, dayOfWeek, 0, src.length);
+		TemporalColumns.getMonth(TemporalArithmetics.UTC, src, 0, month, 0, src.length);
+		for (int i = 0; i < src.length; ++i) {
+			assertEquals(NanoEpoch.getDayOfWeek(TIME_ZONE_ID, src[i]), dayOfWeek[i]);
+			assertEquals(NanoEpoch.getMonth(src[i]), month[i]);
+		}
+	}
+
+	@Test
+	public void differenceTest() {
+		long[] start = { 0L, 100L, -5L };
+		long[] end = { 1L, 50L, 5L, 0L };
+		long[] dest = new long[3];
+		TemporalColumns.difference(start, 0, end, 0, dest, 0, 3);
+		assertArrayEquals(new long[] { 1L, -50L, 10L }, dest);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void rangeTest() {
+		TemporalColumns.plusDays(TemporalArithmetics.UTC, new long[10], 5, new long[10], 0, 6, 1L);
+	}
+}
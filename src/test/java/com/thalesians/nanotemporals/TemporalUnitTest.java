@@ -27,4 +27,23 @@ public class TemporalUnitTest {
 		assertEquals("MINUTE", TemporalUnit.MINUTE.toString());
 		assertEquals("DAY", TemporalUnit.DAY.toString());
 	}
+	
+	@Test
+	public void fromStringTest() {
+		for (TemporalUnit unit : TemporalUnit.values()) {
+			assertEquals(unit, TemporalUnit.fromString(unit.name().toLowerCase() + "s"));
+		}
+		for (String alias : TemporalUnit.ALL_ALIASES) {
+			assertEquals(alias, TemporalUnit.fromString(alias), TemporalUnit.fromString(" " + alias.toUpperCase()));
+		}
+		assertEquals(TemporalUnit.MILLISECOND, TemporalUnit.fromString("ms"));
+		assertEquals(TemporalUnit.MINUTE, TemporalUnit.fromString("min"));
+		assertEquals(TemporalUnit.MICROSECOND, TemporalUnit.fromString("micros"));
+		assertEquals(TemporalUnit.NANOSECOND, TemporalUnit.fromString("nanos"));
+	}
+	
+	@Test(expected = IllegalStateException.class)
+	public void fromStringErrorTest() {
+		TemporalUnit.fromString("mi");
+	}
 }
@@ -1,6 +1,9 @@
 package com.thalesians.nanotemporals;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
 
 import java.text.ParseException;
 
@@ -46,4 +49,32 @@ public class TenorTest {
 		
 		assertEquals(expectedTenor, parsedTenor);
 	}
+
+	@Test
+	public void tryParseTest() {
+		ParseCursor cursor = new ParseCursor();
+		assertEquals(Tenor.builder().set(Tenor.Unit.YEAR, 1).set(Tenor.Unit.MONTH, 6).build(),
+				Tenor.tryParse("1y6M", cursor));
+		assertFalse(cursor.isError());
+		assertEquals(4, cursor.getIndex());
+		assertEquals(Tenor.ONE_DAY, Tenor.tryParse("0d1d", cursor.reset(0)));
+		assertEquals(Tenor.create(Tenor.Unit.DAY, Integer.MIN_VALUE), Tenor.tryParse("-2147483648d", cursor.reset(0)));
+		assertEquals(Tenor.builder().set(Tenor.Unit.BUSINESS_DAY, 1).set(Tenor.Unit.DAY, 2).set(Tenor.Unit.WEEK, -3)
+				.set(Tenor.Unit.MONTH, 4).set(Tenor.Unit.YEAR, 5).build(),
+				Tenor.tryParse("5Y4m-3w2D1b", cursor.reset(0)));
+
+		String[] texts = { "", "1", "y", "1y2", "1x", "1y-m", "1m2m", "1y 2m", "2147483648d", "1b2B", "1d2d", "1w1W",
+				"1y1m1y" };
+		int[] errorIndexes = { 0, 1, 0, 3, 1, 3, 2, 2, 0, 2, 2, 2, 4 };
+		for (int i = 0; i < texts.length; ++i) {
+			assertNull(texts[i], Tenor.tryParse(texts[i], cursor.reset(0)));
+			assertEquals(texts[i], errorIndexes[i], cursor.getErrorIndex());
+		}
+		try {
+			Tenor.parse("1m2m");
+			fail();
+		} catch (ParseException e) {
+			assertEquals(2, e.getErrorOffset());
+		}
+	}
 }
@@ -0,0 +1,149 @@
+package com.thalesians.nanotemporals;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+public class TimeZoneRulesTest {
+
+	private static final String[] TIME_ZONE_IDS = {
+			"America/New_York", "Europe/London", "Australia/Lord_Howe", "Asia/Kolkata", "Pacific/Apia", "London" };
+
+	private static final long NANOS_PER_MILLISECOND = TemporalUnit.MILLISECOND.getWholeNanoseconds();
+	private static final long NANOS_PER_HOUR = TemporalUnit.HOUR.getWholeNanoseconds();
+	private static final long NANOS_PER_DAY = TemporalUnit.DAY.getWholeNanoseconds();
+
+	private static Calendar newCalendar(String timeZoneId, long nanosecondsSinceEpoch) {
+		Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone(timeZoneId));
+		calendar.setTimeInMillis(Math.floorDiv(nanosecondsSinceEpoch, NANOS_PER_MILLISECOND));
+		return calendar;
+	}
+
+	@Test
+	public void offsetTest() {
+		for (String timeZoneId : TIME_ZONE_IDS) {
+			TimeZone timeZone = TimeZone.getTimeZone(timeZoneId);
+			TimeZoneRules rules = TimeZoneRules.of(timeZoneId);
+			assertTrue(rules == TimeZoneRules.of(timeZoneId));
+			long step = 7 * NANOS_PER_HOUR;
+			for (long nanos = Long.MIN_VALUE; nanos < Long.MAX_VALUE - step; nanos += step) {
+				assertEquals(timeZone.getOffset(Math.floorDiv(nanos, NANOS_PER_MILLISECOND)) * NANOS_PER_MILLISECOND,
+						rules.getOffset(nanos));
+			}
+		}
+	}
+
+	@Test
+	public void rangeEndsTest() {
+		// Within a day of either end of the range, where the local time is beyond the range of a long
+		long[] nanos = { NanoDateTime.MAX.getNanosecondsSinceEpoch(), Long.MAX_VALUE - NANOS_PER_HOUR,
+				NanoDateTime.MIN.getNanosecondsSinceEpoch(), Long.MIN_VALUE, Long.MIN_VALUE + NANOS_PER_HOUR };
+		String[] timeZoneIds = { "Asia/Tokyo", "Pacific/Apia", "America/New_York", "Pacific/Honolulu" };
+		for (String timeZoneId : timeZoneIds) {
+			NanoDateTimeFormat format = NanoDateTimeFormat.of(timeZoneId, "yyyy.MM.dd HH:mm:ss.SSS", false);
+			SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy.MM.dd HH:mm:ss.SSS");
+			simpleDateFormat.setTimeZone(TimeZone.getTimeZone(timeZoneId));
+			for (long n : nanos) {
+				if (n >= NanoDateTime.MIN.getNanosecondsSinceEpoch()) {
+					java.util.Date date = new java.util.Date(Math.floorDiv(n, NANOS_PER_MILLISECOND));
+					assertEquals(timeZoneId + " " + n, simpleDateFormat.format(date),
+							format.format(NanoDateTime.fromNanosecondsSinceEpoch(n)));
+				}
+				Calendar calendar = newCalendar(timeZoneId, n);
+				NanoDateTimeFields fields = NanoEpoch.decompose(timeZoneId, n, new NanoDateTimeFields());
+				assertEquals(calendar.get(Calendar.YEAR), NanoEpoch.getYear(timeZoneId, n));
+				assertEquals(calendar.get(Calendar.DAY_OF_MONTH), NanoEpoch.getDayOfMonth(timeZoneId, n));
+				assertEquals(calendar.get(Calendar.HOUR_OF_DAY), fields.getHour());
+				assertEquals(calendar.get(Calendar.MINUTE), fields.getMinute());
+			}
+		}
+		assertEquals("2262.04.12 08:47:16.854",
+				NanoDateTimeFormat.of("Asia/Tokyo", "yyyy.MM.dd HH:mm:ss.SSS", false).format(NanoDateTime.MAX));
+	}
+
+	@Test
+	public void fieldsTest() {
+		long start = NanoEpoch.yearMonthDayToDate(1900, 1, 1);
+		long end = NanoEpoch.yearMonthDayToDate(2040, 1, 1);
+		for (String timeZoneId : TIME_ZONE_IDS) {
+			for (long nanos = start; nanos < end; nanos += 5 * NANOS_PER_HOUR + 123456789L) {
+				Calendar calendar = newCalendar(timeZoneId, nanos);
+				assertEquals(calendar.get(Calendar.YEAR), NanoEpoch.getYear(timeZoneId, nanos));
+				assertEquals(calendar.get(Calendar.MONTH) + 1, NanoEpoch.getMonth(timeZoneId, nanos));
+				assertEquals(calendar.get(Calendar.DAY_OF_MONTH), NanoEpoch.getDayOfMonth(timeZoneId, nanos));
+				assertEquals(calendar.get(Calendar.DAY_OF_WEEK), NanoEpoch.getDayOfWeek(timeZoneId, nanos));
+			}
+		}
+	}
+
+	@Test
+	public void fromLocalTest() {
+		long start = NanoEpoch.yearMonthDayToDate(1950, 1, 1);
+		long end = NanoEpoch.yearMonthDayToDate(2030, 1, 1);
+		for (String timeZoneId : TIME_ZONE_IDS) {
+			TimeZoneRules rules = TimeZoneRules.of(timeZoneId);
+			Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone(timeZoneId));
+			// Every local half hour around each transition, so as to cover the gaps and overlaps
+			long nanos = start;
+			while (true) {
+				long transition = rules.nextTransition(nanos).or(Long.MAX_VALUE);
+				if (transition >= end) {
+					break;
+				}
+				long local = rules.toLocal(transition);
+				for (long l = local - 3 * NANOS_PER_HOUR; l <= local + 3 * NANOS_PER_HOUR; l += NANOS_PER_HOUR / 2) {
+					int date = CivilCalendar.fromEpochDay(Math.floorDiv(l, NANOS_PER_DAY));
+					int minute = (int) (Math.floorMod(l, NANOS_PER_DAY) / TemporalUnit.MINUTE.getWholeNanoseconds());
+					calendar.clear();
+					calendar.set(CivilCalendar.year(date), CivilCalendar.month(date) - 1,
+							CivilCalendar.dayOfMonth(date), minute / 60, minute % 60);
+					assertEquals(calendar.getTimeInMillis() * NANOS_PER_MILLISECOND, rules.fromLocal(l));
+				}
+				assertEquals(transition, (long) rules.previousTransition(transition).get());
+				nanos = transition;
+			}
+		}
+	}
+
+	@Test
+	public void plusDaysTest() {
+		long start = NanoEpoch.yearMonthDayToDate(2000, 1, 1) + 1234567L;
+		long end = NanoEpoch.yearMonthDayToDate(2030, 1, 1);
+		for (String timeZoneId : TIME_ZONE_IDS) {
+			for (long nanos = start; nanos < end; nanos += 11 * NANOS_PER_HOUR) {
+				for (int days : new int[] { 1, -1, 30, -365 }) {
+					Calendar calendar = newCalendar(timeZoneId, nanos);
+					calendar.add(Calendar.DAY_OF_MONTH, days);
+					assertEquals(calendar.getTimeInMillis() * NANOS_PER_MILLISECOND + 1234567L % NANOS_PER_MILLISECOND,
+							NanoEpoch.plusDays(timeZoneId, nanos, days));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void transitionsTest() {
+		TimeZoneRules rules = TimeZoneRules.of("America/New_York");
+		assertFalse(rules.isFixedOffset());
+		long nanos = NanoEpoch.yearMonthDayToDate(2019, 1, 1);
+		// The daylight saving time started on 2019.03.10 at 02:00 local time, 07:00 UTC, and ended on 2019.11.03
+		long start = NanoEpoch.yearMonthDayToDate(2019, 3, 10) + 7 * NANOS_PER_HOUR;
+		long end = NanoEpoch.yearMonthDayToDate(2019, 11, 3) + 6 * NANOS_PER_HOUR;
+		assertEquals(start, (long) rules.nextTransition(nanos).get());
+		assertEquals(end, (long) rules.nextTransition(start).get());
+		assertEquals(start, (long) rules.previousTransition(end - 1).get());
+		assertEquals(-4 * NANOS_PER_HOUR, rules.getOffset(start));
+		assertEquals(-5 * NANOS_PER_HOUR, rules.getOffset(start - 1));
+
+		assertTrue(TimeZoneRules.of(TemporalArithmetics.UTC).isFixedOffset());
+		assertFalse(TimeZoneRules.of(TemporalArithmetics.UTC).nextTransition(nanos).isPresent());
+		assertFalse(TimeZoneRules.of(TemporalArithmetics.UTC).previousTransition(nanos).isPresent());
+	}
+}
@@ -0,0 +1,155 @@
+package com.thalesians.nanotemporals;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class TimerWheelTest {
+
+	private static final long START = 1558464307000000000L;
+	private static final long MICROSECOND = TemporalUnit.MICROSECOND.getWholeNanoseconds();
+	private static final long YEAR = 365L * TemporalUnit.DAY.getWholeNanoseconds();
+
+	@Test
+	public void expireTest() {
+		final SimulatedNanoClock clock = new SimulatedNanoClock(START);
+		TimerWheel wheel = TimerWheel.builder().clock(clock).tickDuration(NanoTimeDelta.fromMicroseconds(1L)).build();
+		Random random = new Random(11L);
+		final List<Long> fired = new ArrayList<>();
+		List<Long> expected = new ArrayList<>();
+		for (int i = 0; i < 100000; ++i) {
+			// Deadlines from a microsecond to a year ahead, spread over the levels
+			final long deadline = START + (long) (Math.pow(random.nextDouble(), 4.0) * YEAR) + 1L;
+			TimerWheel.Timeout timeout = wheel.schedule(NanoDateTime.fromNanosecondsSinceEpoch(deadline),
+					new Runnable() {
+						@Override public void run() {
+							assertTrue(clock.nowNanos() >= deadline);
+							fired.add(deadline);
+						}
+					});
+			if (random.nextInt(10) == 0) {
+				assertTrue(timeout.cancel());
+				assertFalse(timeout.cancel());
+				assertFalse(timeout.isPending());
+			} else {
+				expected.add(deadline);
+			}
+		}
+		assertEquals(expected.size(), wheel.getTimerCount());
+
+		long[] expectedTicks = new long[expected.size()];
+		for (int i = 0; i < expectedTicks.length; ++i) {
+			expectedTicks[i] = tick(expected.get(i), true);
+		}
+		Arrays.sort(expectedTicks);
+
+		int due = 0;
+		while (clock.nowNanos() < START + YEAR + MICROSECOND) {
+			clock.advanceBy(NanoTimeDelta.fromNanoseconds((long) (Math.pow(random.nextDouble(), 8.0) * YEAR / 100.0)));
+			int before = fired.size();
+			assertEquals(wheel.expireTimers(), fired.size() - before);
+			// Every timer due by the tick reached fired, and none other
+			long nowTick = tick(clock.nowNanos(), false);
+			while (due < expectedTicks.length && expectedTicks[due] <= nowTick) {
+				++due;
+			}
+			assertEquals(due, fired.size());
+			assertEquals(expected.size() - due, wheel.getTimerCount());
+		}
+		assertEquals(0, wheel.getTimerCount());
+		assertEquals(expected.size(), fired.size());
+		for (int i = 1; i < fired.size(); ++i) {
+			assertTrue(tick(fired.get(i - 1), true) <= tick(fired.get(i), true));
+		}
+	}
+
+	private static long tick(long nanos, boolean roundUp) {
+		long ticks = (nanos - START) / MICROSECOND;
+		return roundUp && (nanos - START) % MICROSECOND != 0L ? ticks + 1L : ticks;
+	}
+
+	@Test
+	public void orderTest() {
+		SimulatedNanoClock clock = new SimulatedNanoClock(START);
+		final TimerWheel wheel = TimerWheel.builder().clock(clock).build();
+		final StringBuilder fired = new StringBuilder();
+		wheel.schedule(NanoTimeDelta.fromMilliseconds(2L), new Runnable() {
+			@Override public void run() {
+				fired.append('b');
+			}
+		});
+		wheel.schedule(NanoTimeDelta.fromMilliseconds(1L), new Runnable() {
+			@Override public void run() {
+				fired.append('a');
+				// Due already, so left for the next batch
+				wheel.schedule(NanoTimeDelta.ZERO, new Runnable() {
+					@Override public void run() {
+						fired.append('z');
+						wheel.schedule(NanoTimeDelta.ZERO, this);
+					}
+				});
+			}
+		});
+		wheel.schedule(NanoTimeDelta.fromMilliseconds(2L), new Runnable() {
+			@Override public void run() {
+				fired.append('c');
+			}
+		});
+		wheel.schedule(START - 1L, new Runnable() {
+			@Override public void run() {
+				fired.append('p');
+			}
+		});
+		assertEquals(1, wheel.expireTimers());
+		assertEquals("p", fired.toString());
+
+		clock.advanceBy(NanoTimeDelta.fromNanoseconds(500000L));
+		assertEquals(0, wheel.expireTimers());
+		clock.advanceBy(NanoTimeDelta.fromNanoseconds(500000L));
+		assertEquals(1, wheel.expireTimers());
+		assertEquals("pa", fired.toString());
+		assertEquals(1, wheel.expireTimers());
+		assertEquals("paz", fired.toString());
+
+		clock.advanceBy(NanoTimeDelta.fromMilliseconds(1L));
+		assertEquals(4, wheel.expireTimers());
+		assertEquals("pazzbcz", fired.toString());
+		assertEquals(1, wheel.getTimerCount());
+	}
+
+	@Test
+	public void farDeadlineTest() {
+		SimulatedNanoClock clock = new SimulatedNanoClock(START);
+		TimerWheel wheel = TimerWheel.builder().clock(clock).build();
+		final int[] fired = new int[1];
+		Runnable callback = new Runnable() {
+			@Override public void run() {
+				++fired[0];
+			}
+		};
+		long millisecond = TemporalUnit.MILLISECOND.getWholeNanoseconds();
+		long far = START + (Long.MAX_VALUE - START) / millisecond * millisecond;
+		wheel.schedule(far, callback);
+		// Saturated to the latest datetime, in the last tick
+		TimerWheel.Timeout latest = wheel.schedule(NanoTimeDelta.fromNanoseconds(Long.MAX_VALUE), callback);
+		assertEquals(NanoDateTime.fromNanosecondsSinceEpoch(Long.MAX_VALUE), latest.getDeadline());
+		clock.advanceTo(far - 1L);
+		assertEquals(0, wheel.expireTimers());
+		assertEquals(1, wheel.expireTimers(far));
+		assertEquals(1, fired[0]);
+		assertTrue(latest.isPending());
+		assertEquals(1, wheel.getTimerCount());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void tickDurationTest() {
+		TimerWheel.builder().tickDuration(NanoTimeDelta.fromNanoseconds(999L));
+	}
+}
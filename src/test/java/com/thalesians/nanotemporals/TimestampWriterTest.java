@@ -0,0 +1,85 @@
+package com.thalesians.nanotemporals;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class TimestampWriterTest {
+
+	private static final String[] PATTERNS = { NanoDateTimeFormat.DEFAULT_DATETIME_PATTERN,
+			"d/M/yyyy H:m:s.SSS a Z", "EEE h:mm:ss.SSSSSS XXX", "yyyy-MM-dd w" };
+
+	private static final String[] TIME_ZONE_IDS = { TemporalArithmetics.UTC, "Europe/London",
+			"Australia/Lord_Howe" };
+
+	// A sorted series around the change to and from daylight saving time, of small and large steps
+	private static long[] series(Random random, int size) {
+		long[] nanos = new long[size];
+		long time = 1553994000000000000L + (long) (random.nextDouble() * 1000000000000000L);
+		for (int i = 0; i < size; ++i) {
+			switch (random.nextInt(5)) {
+			case 0:
+				break;
+			case 1:
+				time += random.nextInt(1000);
+				break;
+			case 2:
+				time += random.nextInt(1000000000);
+				break;
+			case 3:
+				time += (long) random.nextInt(100000) * 1000000000L;
+				break;
+			default:
+				time += (long) random.nextInt(1000) * 1000000L;
+			}
+			nanos[i] = time;
+		}
+		return nanos;
+	}
+
+	@Test
+	public void writeTest() throws IOException {
+		Random random = new Random(5L);
+		long[] nanos = series(random, 5000);
+		for (String pattern : PATTERNS) {
+			for (String timeZoneId : TIME_ZONE_IDS) {
+				NanoDateTimeFormat format = NanoDateTimeFormat.of(timeZoneId, pattern, true);
+				StringBuilder expected = new StringBuilder();
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
+				try (TimestampWriter writer = new TimestampWriter(format, Channels.newChannel(out), 100)) {
+					for (int i = 0; i < nanos.length; ++i) {
+						ZonedNanoDateTime dateTime = ZonedNanoDateTime.fromNanosecondsSinceEpoch(timeZoneId, nanos[i]);
+						expected.append(format.format(dateTime)).append(',').append(i).append('\n');
+						writer.write(dateTime).append(',').append(Integer.toString(i)).append('\n');
+					}
+				}
+				assertEquals(pattern + " " + timeZoneId, expected.toString(),
+						new String(out.toByteArray(), StandardCharsets.US_ASCII));
+			}
+		}
+	}
+
+	@Test
+	public void outputStreamTest() throws IOException {
+		NanoDateTimeFormat format = NanoDateTimeFormat.of(TemporalArithmetics.UTC, true);
+		long[] nanos = series(new Random(3L), 100);
+		Arrays.sort(nanos);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		TimestampWriter writer = new TimestampWriter(format, out);
+		StringBuilder expected = new StringBuilder();
+		for (long n : nanos) {
+			expected.append(format.format(NanoDateTime.fromNanosecondsSinceEpoch(n))).append(' ');
+			writer.write(n).append(' ');
+		}
+		assertEquals(0, out.size());
+		writer.flush();
+		assertEquals(expected.toString(), new String(out.toByteArray(), StandardCharsets.US_ASCII));
+	}
+}